@@ -0,0 +1,276 @@
+package camera;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*****************************************************************************
+ * This <code>AssetPrefetcher</code> class loads assets (textures, archetypes,
+ * and etc.) for map regions the camera is about to reach, on a background
+ * thread. The camera's velocity and zoom target are used to predict where
+ * the view will be in a given number of frames. Every region covered by the
+ * current or predicted view has its assets loaded ahead of time.
+ * 
+ * Assets are registered per map position with <code>AddAsset()</code>. Call
+ * <code>Use()</code> when a Character actually needs an asset (e.g. right
+ * before <code>SetTexture()</code>) to count prefetch hits and misses.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class AssetPrefetcher
+{
+	/**
+	 * Loads a single asset. Called on the background thread.
+	 */
+	public interface AssetLoader
+	{
+		/**
+		 * Load asset so it is ready when needed.
+		 * @param asset Asset name (e.g. texture file name)
+		 */
+		public void Load(String asset);
+	}
+	
+	/* Local variables */
+	private AssetLoader mLoader;				// Loads assets
+	private float mRegionSize;					// Width and height of a region
+	private int mLookAhead;						// Number of frames to predict ahead
+	private long mLastVersion;					// Camera version at last prediction
+	private HashMap<Long, ArrayList<String>> mRegionAssets;	// Assets by region
+	private Set<String> mRequested;				// Assets sent to be loaded, removed if loading fails
+	private Set<String> mLoaded;				// Assets done loading
+	private AtomicInteger mFailures;			// Loads that threw
+	private ExecutorService mExecutor;			// Background loading thread
+	private int mHits;							// Used assets that were loaded
+	private int mMisses;						// Used assets that were not loaded
+	
+	/**
+	 * Constructor.
+	 * @param loader Loads assets on background thread
+	 * @param regionSize Width and height of a map region
+	 * @param lookAhead Number of frames to predict ahead
+	 */
+	public AssetPrefetcher(AssetLoader loader, float regionSize, int lookAhead)
+	{
+		mLoader = loader;
+		mRegionSize = regionSize;
+		mLookAhead = lookAhead;
+		mLastVersion = -1;
+		mRegionAssets = new HashMap<Long, ArrayList<String>>();
+		mRequested = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		mLoaded = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		mFailures = new AtomicInteger();
+		mExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			public Thread newThread(Runnable r)
+			{
+				Thread thread = new Thread(r, "AssetPrefetcher");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		mHits = 0;
+		mMisses = 0;
+	}
+	
+	/**
+	 * Register an asset needed at given map position.
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @param asset Asset name
+	 */
+	public void AddAsset(float x, float y, String asset)
+	{
+		Long key = RegionKey(RegionOf(x), RegionOf(y));
+		ArrayList<String> assets = mRegionAssets.get(key);
+		if (assets == null)
+		{
+			assets = new ArrayList<String>();
+			mRegionAssets.put(key, assets);
+		}
+		if (!assets.contains(asset))
+			assets.add(asset);
+	}
+	
+	/**
+	 * World origin moved, move registered assets with it. Shift is rounded to whole
+	 * regions, so use a world chunk size that is a multiple of region size.
+	 * @param dx Shift on x-axis
+	 * @param dy Shift on y-axis
+	 */
+	public void ShiftOrigin(float dx, float dy)
+	{
+		int dCol = Math.round(dx / mRegionSize);
+		int dRow = Math.round(dy / mRegionSize);
+		if (dCol == 0 && dRow == 0)
+			return;
+		
+		HashMap<Long, ArrayList<String>> regionAssets = new HashMap<Long, ArrayList<String>>();
+		for (Map.Entry<Long, ArrayList<String>> entry : mRegionAssets.entrySet())
+		{
+			long key = entry.getKey().longValue();
+			regionAssets.put(RegionKey((int)(key >> 32) - dCol, (int)key - dRow), entry.getValue());
+		}
+		mRegionAssets = regionAssets;
+		mLastVersion = -1;
+	}
+	
+	/**
+	 * Set number of frames to predict ahead.
+	 * @param lookAhead Number of frames
+	 */
+	public void SetLookAhead(int lookAhead)
+	{
+		mLookAhead = lookAhead;
+	}
+	
+	/**
+	 * Predict camera's view and prefetch assets of regions it covers. Call once
+	 * per frame after <code>Camera.UpdateCamera()</code>.
+	 * @param camera Camera to predict
+	 */
+	public void Update(Camera camera)
+	{
+		/* Camera has not moved, nothing new to predict */
+		if (camera.GetVersion() == mLastVersion)
+			return;
+		mLastVersion = camera.GetVersion();
+		
+		float width = camera.GetCameraWidth();
+		float height = camera.GetCameraHeight();
+		float centerX = camera.GetLowerLeft().X + width / 2;
+		float centerY = camera.GetLowerLeft().Y + height / 2;
+		
+		/* Predicted view, after moving at current velocity and finishing zoom */
+		float predictWidth = Math.max(width, camera.GetTargetCameraWidth());
+		float predictHeight = width > 0 ? predictWidth * (height / width) : height;
+		float predictX = centerX + camera.GetVelocityX() * mLookAhead;
+		float predictY = centerY + camera.GetVelocityY() * mLookAhead;
+		
+		/* Cover both current and predicted view */
+		float left = Math.min(centerX - width / 2, predictX - predictWidth / 2);
+		float right = Math.max(centerX + width / 2, predictX + predictWidth / 2);
+		float bottom = Math.min(centerY - height / 2, predictY - predictHeight / 2);
+		float top = Math.max(centerY + height / 2, predictY + predictHeight / 2);
+		
+		for (int col = RegionOf(left); col <= RegionOf(right); col++)
+		{
+			for (int row = RegionOf(bottom); row <= RegionOf(top); row++)
+			{
+				ArrayList<String> assets = mRegionAssets.get(RegionKey(col, row));
+				if (assets == null)
+					continue;
+				for (int i = 0; i < assets.size(); i++)
+					Request(assets.get(i));
+			}
+		}
+	}
+	
+	/**
+	 * Load asset on background thread, unless it was already requested. If
+	 * loading throws, the failure is counted (see <code>GetFailures()</code>)
+	 * and the asset is requested again the next time its region is covered.
+	 * @param asset Asset name
+	 */
+	public void Request(final String asset)
+	{
+		if (!mRequested.add(asset))
+			return;
+		
+		mExecutor.execute(new Runnable() {
+			public void run()
+			{
+				try
+				{
+					mLoader.Load(asset);
+					mLoaded.add(asset);
+				}
+				catch (RuntimeException e)
+				{
+					mFailures.incrementAndGet();
+					mRequested.remove(asset);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Record that an asset is needed now, counting a hit if it was prefetched.
+	 * @param asset Asset name
+	 * @return True = asset was already loaded
+	 */
+	public boolean Use(String asset)
+	{
+		if (mLoaded.contains(asset))
+		{
+			mHits++;
+			return true;
+		}
+		mMisses++;
+		return false;
+	}
+	
+	/**
+	 * @return Number of used assets that were already loaded
+	 */
+	public int GetHits()
+	{
+		return mHits;
+	}
+	
+	/**
+	 * @return Number of used assets that were not loaded yet
+	 */
+	public int GetMisses()
+	{
+		return mMisses;
+	}
+	
+	/**
+	 * @return Number of asset loads that threw
+	 */
+	public int GetFailures()
+	{
+		return mFailures.get();
+	}
+	
+	/** Reset hit and miss counters. */
+	public void ResetCounters()
+	{
+		mHits = 0;
+		mMisses = 0;
+	}
+	
+	/** Stop background thread. Assets still waiting are dropped. */
+	public void Unload()
+	{
+		mExecutor.shutdownNow();
+	}
+	
+	/**
+	 * @param coord x- or y-coordinate
+	 * @return Region column or row
+	 */
+	private int RegionOf(float coord)
+	{
+		return (int)Math.floor(coord / mRegionSize);
+	}
+	
+	/**
+	 * @param col Region column
+	 * @param row Region row
+	 * @return Key of region
+	 */
+	private static Long RegionKey(int col, int row)
+	{
+		return Long.valueOf(((long)col << 32) | (row & 0xffffffffL));
+	}
+}
@@ -1,9 +1,16 @@
 package camera;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Random;
+
 import GTCS1Lib_Java.JavaGTCS1Base;
 import GTCS1Lib_Java.Internal.JavaGTCS1Color;
 import GTCS1Lib_Java.Internal.JavaGTCS1Rectangle;
 import GTCS1Lib_Java.Internal.Vector2;
+import tween.Completion;
+import tween.TweenScheduler;
 
 /*****************************************************************************
  * This <code>Camera</code> class keeps a focus on the coordinate that is
@@ -12,7 +19,24 @@ import GTCS1Lib_Java.Internal.Vector2;
  * effects implemented. The concept of <code>Camera</code> is that it centers
  * on the coordinate given, and sets world size according to width of the
  * camera. Imagine the camera does not move, instead the background moves.
+ * Effects advance in fixed steps of 1/<code>REFRESH_RATE</code> second, so effect
+ * speeds (shift, zoom, fade, event box) are per step, or speed * 
+ * <code>REFRESH_RATE</code> per second, and shake duration is in seconds.
  * 
+ * 10/17 - Added ShiftOrigin, for floating origin on very large maps.
+ * 10/17 - Map bounds can start anywhere, see SetMapBounds(), for streamed worlds.
+ * 10/17 - Effect starts return a Completion, completed on the step the effect is done.
+ * 10/17 - Shift, Zoom, Fade, and Event effects run on a pooled TweenScheduler.
+ * 10/17 - Added MapChunkCache, map background is drawn from pre-composited chunks.
+ * 10/17 - Added ZoomLOD, lowers Character detail as camera zooms out.
+ * 10/17 - Added viewport, several cameras can share one ViewportCuller.
+ * 10/17 - Camera has its own seeded random generator, effect calls can be recorded.
+ * 10/17 - World coordinates and mask only update when camera changed, see GetVersion().
+ * 10/17 - Track camera velocity and zoom target, used by AssetPrefetcher.
+ * 10/17 - Added IsInView query, used by ViewportCuller.
+ * 10/17 - Effects are now CameraEffect objects in an ordered list, only running ones step.
+ * 10/17 - Added time-based UpdateCamera, effects advance in fixed steps.
+ * 10/17 - Camera update no longer allocates; effects work on fields in place.
  * 08/22 - Set default Encounter effect with fast zoom in.
  * 08/18 - Added Encounter effect.
  * 08/11 - Added accessors to Zoom and Shift.
@@ -31,70 +55,83 @@ import GTCS1Lib_Java.Internal.Vector2;
 public class Camera
 {
 	/* Constant variables */
+	static final int REFRESH_RATE = 30;		// Effect steps per second
 	private final float WORLD_RATIO = JavaGTCS1Base.World.WorldDimension().Y / JavaGTCS1Base.World.WorldDimension().X;
-	private final int REFRESH_RATE = 30;		// Game frame rate
-	private final float CHASE_SPEED = 0.05f;	// Focus chasing speed
-	private final float SHIFT_SPEED = 4f;		// Shift speed
-	private final int FADE_SPEED = 15;			// Fade speed
+	private final long STEP_NANOS = 1000000000L / REFRESH_RATE;	// Length of one effect step
+	private final int MAX_STEPS_PER_UPDATE = 5;	// Most steps to catch up in one update
+	
+	/* Fade mask colors, one per alpha value, shared so fading does not allocate */
+	private static final JavaGTCS1Color[] FADE_MASK_COLORS = new JavaGTCS1Color[256];
+	static
+	{
+		for (int i = 0; i < FADE_MASK_COLORS.length; i++)
+			FADE_MASK_COLORS[i] = new JavaGTCS1Color(255, 255, 255, i);
+	}
+	private static final JavaGTCS1Color CLEAR_MASK_COLOR = new JavaGTCS1Color(0, 0, 0, 0);
 	
 	/* Default variables */
 	private Vector2 mLowerLeft;			// Lower left corner
 	private Vector2 mEffectFocus;		// Focus when effects are ON
 	private float mCameraWidth;			// Camera width
 	private float mCameraHeight;		// Camera height
+	private float mAspect;				// Camera height to width ratio
+	private float mOrigCamWidth;		// Original camera width
+	private float mMapLeft;				// Map left x-coordinate
+	private float mMapBottom;			// Map bottom y-coordinate
 	private float mMapWidth;			// Map width
 	private float mMapHeight;			// Map height
-	private String mEffectMsg;			// Current effect
+	private long mStepAccumulator;		// Elapsed time not yet stepped (in nanoseconds)
+	private float mVelocityX;			// Camera center movement on x-axis, per update
+	private float mVelocityY;			// Camera center movement on y-axis, per update
+	private float mSteadyCenterX;		// Camera center x-coordinate before shake
+	private float mSteadyCenterY;		// Camera center y-coordinate before shake
+	private Random mRandom;				// Camera's own random generator, used by effects
+	private long mSeed;					// Seed of random generator
+	private int mTick;					// Number of effect steps done
 	
-	/* CHASE effect variables */
-	private boolean mGetOrigFocus;		// Get original focus
-	private boolean mChaseEffectStatus;	// Whether Chase effect is ON as well
-	private boolean mChaseEffectSwitch;
+	/* Recording variables */
+	private CameraRecorder mRecorder;	// Records effect calls, null when not recording
+	private int mRecordStartTick;		// Tick when recording started
+	private float mRecordedFocusX;		// Focus last recorded
+	private float mRecordedFocusY;
 	
-	/* SHAKE effect variables */
-	private float mShakeRadius;			// Radius of shake
-	private int mShakeType;				// Type of shake
-	private int mShakeDuration;			// Length of shake
-	private int mShakeTimer;			// Shake timer
-	private boolean mShakeEffectSwitch;
+	/* Viewport variables, in screen ratio (0 to 1) */
+	private float mViewportX;			// Viewport left
+	private float mViewportY;			// Viewport bottom
+	private float mViewportWidth;		// Viewport width
+	private float mViewportHeight;		// Viewport height
+	private boolean mDrivesWorld;		// Whether camera sets world coordinates
+	private MapChunkCache<?> mChunkCache;	// Draws map background, null if none
 	
-	/* SHIFT effect variables */
-	private Vector2 mShiftFocus;		// Shift focus
-	private float mShiftSpeed;			// Shift speed
-	private boolean mShowShift;			// Shift to new focus or shift back
-	private boolean mIsDoneShifting;		// Is done shifting?
-	private boolean mShiftEffectSwitch;
+	/* Change detection variables */
+	private long mVersion;				// Increases every time camera moves or zooms
+	private float mAppliedLeft;			// Lower left x-coordinate last set to world
+	private float mAppliedBottom;		// Lower left y-coordinate last set to world
+	private float mAppliedWidth;		// Camera width last set to world
 	
-	/* EVENT effect variables */
-	JavaGTCS1Rectangle mTopEventBox;	// Top event box
-	JavaGTCS1Rectangle mBottomEventBox;	// Bottom event box
-	private float mMaxBoxHeight;		// Max event box height
-	private float mBoxHeight;			// Event box height
-	private boolean mShowEventBox;		// Show event box
-	private boolean mEventEffectSwitch;	// Whether event is on or off
-	
-	/* ZOOM effect variables */
-	private float mOrigCamWidth;		// Original camera width
-	private float mPrevCamWidth;		// Previous camera width
-	private float mZoomAmount;			// Amount to zoom (- or +)
-	private float mZoomSpeed;			// Speed of zoom
-	private boolean mShowZoom;			// Show zoom
-	private boolean mIsDoneZooming;		// Is done zooming?
-	private boolean mZoomEffectSwitch;	// True = ON, false = OFF
-	
-	/* FADE effect variables */
-	private int alpha;
-	private int mFadeSpeed;
-	private boolean mIsFadeIn;
-	private boolean mFadeEffectSwitch;
+	/* Effect variables */
+	private ArrayList<CameraEffect> mEffects;	// Running effects, ordered by step order
+	private int mStepIndex;				// Index of effect being stepped, -1 when not stepping
+	private boolean mGetOrigFocus;		// Get original focus
+	private boolean mUseEffectFocus;	// Whether an effect moved the focus this step
+	private float mShakeOffsetX;		// Shake offset on x-axis this step
+	private float mShakeOffsetY;		// Shake offset on y-axis this step
+	private TweenScheduler mTweens;		// Tweens driving effects, stepped with effects
+	private ArrayList<Completion> mFinished;	// Completions of effects finished this step
 	
-	/* ENCOUNTER effect variable */
-	private float mPrevZoomSpeed;
-	private boolean mIsDoneEncounter;
-	private boolean mEncounterSwitch;
+	/* Built-in effects */
+	private ChaseEffect mChaseEffect;
+	private ShakeEffect mShakeEffect;
+	private ShiftEffect mShiftEffect;
+	private EventEffect mEventEffect;
+	private ZoomEffect mZoomEffect;
+	private FadeEffect mFadeEffect;
+	private EncounterEffect mEncounterEffect;
 	
 	/* mask variables */
 	private JavaGTCS1Rectangle mMask;   // Mask
+	private int mMaskAlpha;				// Alpha of mask color
+	private boolean mMaskHasLabel;		// Whether mask shows a label
 	
 	/**
 	 * Default Constructor for Camera class.
@@ -109,99 +146,165 @@ public class Camera
 		mLowerLeft = new Vector2();
 		mEffectFocus = new Vector2(focus.X, focus.Y);
 		
+		mAspect = WORLD_RATIO;
 		mCameraWidth = cameraWidth;
-		mCameraHeight = cameraWidth * WORLD_RATIO;
+		mCameraHeight = cameraWidth * mAspect;
+		mOrigCamWidth = mCameraWidth;
 		
+		/* Initialize viewport variables, full screen */
+		mViewportX = 0;
+		mViewportY = 0;
+		mViewportWidth = 1;
+		mViewportHeight = 1;
+		mDrivesWorld = true;
+		mChunkCache = null;
+		
+		mMapLeft = 0;
+		mMapBottom = 0;
 		mMapWidth = mapWidth;
 		mMapHeight = mapHeight;
-		mEffectMsg = "";
-		
-		/* Initialize CHASE effect variables */
-		mGetOrigFocus = true;
-		mChaseEffectSwitch = false;
-		mChaseEffectStatus = false;
-		
-		/* Initialize SHAKE effect variables */
-		mShakeRadius = 5;
-		mShakeType = 2;
-		mShakeDuration = 5;
-		mShakeTimer = 0;
-		mShakeEffectSwitch = false;
-		
-		/* Initialize SHIFT effect variables */
-		mShiftFocus = new Vector2(0, 0);
-		mShiftSpeed = SHIFT_SPEED;
-		mShowShift = true;
-		mIsDoneShifting = true;
-		mShiftEffectSwitch = false;
+		mStepAccumulator = 0;
+		mVelocityX = 0;
+		mVelocityY = 0;
+		mSteadyCenterX = focus.X;
+		mSteadyCenterY = focus.Y;
+		mRandom = new Random();
+		SetSeed(System.nanoTime());
+		mTick = 0;
+		mRecorder = null;
 		
-		/* Initialize EVENT effect variables */
-		mTopEventBox = new JavaGTCS1Rectangle(Vector2.Zero, mCameraWidth, 0);
-		mBottomEventBox = new JavaGTCS1Rectangle(Vector2.Zero, mCameraWidth, 0);
-		mTopEventBox.SetColor(new JavaGTCS1Color(0, 0, 0, 200));
-		mBottomEventBox.SetColor(new JavaGTCS1Color(0, 0, 0, 200));
-		mMaxBoxHeight = mCameraHeight / 8f;
-		mBoxHeight = 0;
-		mShowEventBox = false;
-		mEventEffectSwitch = false;
+		/* Initialize change detection variables, first update always applies */
+		mVersion = 0;
+		mAppliedLeft = Float.NaN;
+		mAppliedBottom = Float.NaN;
+		mAppliedWidth = Float.NaN;
 		
-		/* Initialize ZOOM effect variables */
-		mOrigCamWidth = mCameraWidth;
-		mPrevCamWidth = mCameraWidth;
-		mZoomAmount = 0;
-		mZoomSpeed = 3f;
-		mShowZoom = false;
-		mIsDoneZooming = true;
-		mZoomEffectSwitch = false;
-		
-		/* Initialize FADE effect variables */
-		alpha = 0;
-		mFadeSpeed = FADE_SPEED;
-		mIsFadeIn = true;
-		mFadeEffectSwitch = false;
+		/* Initialize effect variables */
+		mEffects = new ArrayList<CameraEffect>();
+		mStepIndex = -1;
+		mGetOrigFocus = true;
+		mTweens = new TweenScheduler();
+		mFinished = new ArrayList<Completion>();
+		ResetStepState();
 		
-		/* Initialize ENCOUNTER variable */
-		mPrevZoomSpeed = mZoomSpeed;
-		mIsDoneEncounter = true;
-		mEncounterSwitch = false;
+		/* Initialize built-in effects */
+		mChaseEffect = new ChaseEffect();
+		mShakeEffect = new ShakeEffect();
+		mShiftEffect = new ShiftEffect();
+		mEventEffect = new EventEffect(mCameraWidth, mCameraHeight);
+		mZoomEffect = new ZoomEffect();
+		mFadeEffect = new FadeEffect();
+		mEncounterEffect = new EncounterEffect(mZoomEffect, mFadeEffect);
 		
 		/* Initialize mask variables */
 		mMask = new JavaGTCS1Rectangle(focus, mCameraWidth, mCameraHeight);
-		mMask.SetColor(new JavaGTCS1Color(0, 0, 0, 0));
+		mMask.SetColor(CLEAR_MASK_COLOR);
+		mMaskAlpha = 0;
+		mMaskHasLabel = false;
 	}
 	
 	/** Load objects inside Camera */
 	public void Load()
 	{
 		mMask.AddToAutoDrawSet();
-		mTopEventBox.AddToAutoDrawSet();
-		mBottomEventBox.AddToAutoDrawSet();
+		mEventEffect.Load();
 	}
 	
 	/** Unload objects inside Camera */
 	public void Unload()
 	{
 		mMask.RemoveFromAutoDrawSet();
-		mTopEventBox.RemoveFromAutoDrawSet();
-		mBottomEventBox.RemoveFromAutoDrawSet();
+		mEventEffect.Unload();
 	}
 	
 	/**
-	 * Update camera
+	 * Update camera, advancing effects by one step. Use this when called once per
+	 * frame at <code>REFRESH_RATE</code>.
 	 * @param focus Camera focus
 	 */
     public void UpdateCamera(Vector2 focus)
     {
-    	/* Check for camera effect switches, true = ON, false = OFF */
-    	if (mChaseEffectSwitch) ChaseEffect(focus);
-    	if (mShiftEffectSwitch) ShiftEffect(focus);
-    	if (mEventEffectSwitch) EventEffect();
-    	if (mZoomEffectSwitch) ZoomEffect();
-    	if (mFadeEffectSwitch) FadeEffect();
-    	if (mEncounterSwitch) EncounterEffect(focus);
+    	StepEffects(focus);
+    	PositionCamera(focus);
+    }
+    
+    /**
+     * Update camera by elapsed time. Effects advance in fixed steps of 
+     * 1/<code>REFRESH_RATE</code> second, so they look the same at any frame rate.
+     * Leftover time is carried over to the next update. If the frame took too long,
+     * at most <code>MAX_STEPS_PER_UPDATE</code> steps are run and the rest is dropped.
+     * @param focus Camera focus
+     * @param elapsedNanos Time since last update (in nanoseconds)
+     */
+    public void UpdateCamera(Vector2 focus, long elapsedNanos)
+    {
+    	if (elapsedNanos > 0)
+    		mStepAccumulator += elapsedNanos;
+    	
+    	/* Step effects for every full step of elapsed time */
+    	int steps = 0;
+    	while (mStepAccumulator >= STEP_NANOS && steps < MAX_STEPS_PER_UPDATE)
+    	{
+    		StepEffects(focus);
+    		mStepAccumulator -= STEP_NANOS;
+    		steps++;
+    	}
+    	
+    	/* Too far behind, drop the backlog */
+    	if (mStepAccumulator >= STEP_NANOS)
+    		mStepAccumulator %= STEP_NANOS;
+    	
+    	PositionCamera(focus);
+    }
+    
+    /**
+     * Advance running camera effects by one step, in step order. Effects that are
+     * done are removed.
+     * @param focus Camera focus
+     */
+    private void StepEffects(Vector2 focus)
+    {
+    	if (mRecorder != null)
+    		RecordFocus(focus);
+    	mTick++;
+    	mTweens.Step();
     	
-    	/* Check if Chase or Shift effects are ON */
-    	if (mChaseEffectSwitch || mShiftEffectSwitch)
+    	if (mEffects.isEmpty())
+    		return;
+    	
+    	ResetStepState();
+    	for (mStepIndex = 0; mStepIndex < mEffects.size(); mStepIndex++)
+    	{
+    		CameraEffect effect = mEffects.get(mStepIndex);
+    		if (!effect.Step(this, focus))
+    			RemoveEffect(effect);
+    	}
+    	mStepIndex = -1;
+    	
+    	/* Complete finished effects once all have stepped, listeners may start new effects */
+    	for (int i = 0; i < mFinished.size(); i++)
+    		mFinished.get(i).Complete();
+    	mFinished.clear();
+    }
+    
+    /**
+     * Clear what effects set during a step.
+     */
+    private void ResetStepState()
+    {
+    	mUseEffectFocus = false;
+    	mShakeOffsetX = 0;
+    	mShakeOffsetY = 0;
+    }
+    
+    /**
+     * Position camera on focus (or effect focus) and apply current shake offset.
+     * @param focus Camera focus
+     */
+    private void PositionCamera(Vector2 focus)
+    {
+    	/* Check if an effect (e.g. Chase or Shift) moved the focus */
+    	if (mUseEffectFocus)
     	{
     		Default(mEffectFocus);
     	}
@@ -210,15 +313,43 @@ public class Camera
     		Default(focus);
     	}
     	
-    	/* Check if shake effect switch is ON */
-    	if (mShakeEffectSwitch) ShakeEffect();
+    	/* Track how fast camera center moves, leaving out shake */
+    	float centerX = mLowerLeft.X + mCameraWidth/2;
+    	float centerY = mLowerLeft.Y + mCameraHeight/2;
+    	mVelocityX = centerX - mSteadyCenterX;
+    	mVelocityY = centerY - mSteadyCenterY;
+    	mSteadyCenterX = centerX;
+    	mSteadyCenterY = centerY;
     	
-    	/* Update mask to play well with Loading screen */
-    	mMask.SetCenterX(mLowerLeft.X + mCameraWidth/2);
-    	mMask.SetCenterY(mLowerLeft.Y + mCameraHeight/2);
-    	mMask.TopOfAutoDrawSet();
+    	/* Apply shake offset */
+    	mLowerLeft.X += mShakeOffsetX;
+    	mLowerLeft.Y += mShakeOffsetY;
     	
-//        JavaGTCS1Base.EchoToTopStatus("Effect: " + mEffectMsg +
+    	/* Camera really moved or zoomed, update camera position and mask */
+    	if (mLowerLeft.X != mAppliedLeft || mLowerLeft.Y != mAppliedBottom || mCameraWidth != mAppliedWidth)
+    	{
+    		mAppliedLeft = mLowerLeft.X;
+    		mAppliedBottom = mLowerLeft.Y;
+    		mAppliedWidth = mCameraWidth;
+    		mVersion++;
+    		
+    		if (mDrivesWorld)
+    			JavaGTCS1Base.World.SetWorldCoordinates(mLowerLeft, mCameraWidth);
+    		mMask.SetCenterX(mLowerLeft.X + mCameraWidth/2);
+    		mMask.SetCenterY(mLowerLeft.Y + mCameraHeight/2);
+    		mMask.TopOfAutoDrawSet();
+    	}
+    	/* Keep a showing mask on top to play well with Loading screen */
+    	else if (mMaskAlpha > 0 || mMaskHasLabel)
+    	{
+    		mMask.TopOfAutoDrawSet();
+    	}
+    	
+    	/* Draw cached map chunks in view */
+    	if (mChunkCache != null)
+    		mChunkCache.Draw(this);
+    	
+//        JavaGTCS1Base.EchoToTopStatus("Effects: " + mEffects.size() +
 //        							  " E.Focus: " + (int)mEffectFocus.X + "," + (int)mEffectFocus.Y + ")" +
 //        							  " Hero (" + (int)focus.X + "," + (int)focus.Y + ")");
     }
@@ -230,10 +361,10 @@ public class Camera
     private void Default(Vector2 focus)
     {
     	/* Determine side bounds */
-    	float eastBound = mMapWidth - mCameraWidth / 2;
-    	float westBound = mCameraWidth / 2;
-    	float northBound = mMapHeight - mCameraHeight / 2;
-    	float southBound = mCameraHeight / 2;
+    	float eastBound = mMapLeft + mMapWidth - mCameraWidth / 2;
+    	float westBound = mMapLeft + mCameraWidth / 2;
+    	float northBound = mMapBottom + mMapHeight - mCameraHeight / 2;
+    	float southBound = mMapBottom + mCameraHeight / 2;
         
     	// Focus is inside bounds
         if (focus.X <= eastBound && focus.X >= westBound && focus.Y <= northBound && focus.Y >= southBound)
@@ -247,353 +378,365 @@ public class Camera
 	        // Reaching NE corner
 	        if (focus.X > eastBound && focus.Y > northBound)
 	        {
-	        	mLowerLeft.X = (mMapWidth - mCameraWidth / 2f) - (mCameraWidth / 2f);
-	    		mLowerLeft.Y = (mMapHeight - mCameraHeight / 2f) - (mCameraHeight / 2f);
+	        	mLowerLeft.X = eastBound - (mCameraWidth / 2f);
+	    		mLowerLeft.Y = northBound - (mCameraHeight / 2f);
 	        }
 	        // Reaching SE corner
 	        else if (focus.X > eastBound && focus.Y < southBound)
 	        {
-	        	mLowerLeft.X = (mMapWidth - mCameraWidth / 2f) - (mCameraWidth / 2f);
-	    		mLowerLeft.Y = mCameraHeight / 2f - (mCameraHeight / 2f);
+	        	mLowerLeft.X = eastBound - (mCameraWidth / 2f);
+	    		mLowerLeft.Y = southBound - (mCameraHeight / 2f);
 	        }
 	        // Reaching SW corner
 	        else if (focus.X < westBound && focus.Y < southBound)
 	        {
-	        	mLowerLeft.X = mCameraWidth / 2f - (mCameraWidth / 2f);
-	    		mLowerLeft.Y = mCameraHeight / 2f - (mCameraHeight / 2f);
+	        	mLowerLeft.X = westBound - (mCameraWidth / 2f);
+	    		mLowerLeft.Y = southBound - (mCameraHeight / 2f);
 	        }
 	        // Reaching NW corner
 	        else if (focus.X < westBound && focus.Y > northBound)
 	        {
-	        	mLowerLeft.X = mCameraWidth / 2f - (mCameraWidth / 2f);
-	    		mLowerLeft.Y = (mMapHeight - mCameraHeight / 2f) - (mCameraHeight / 2f);
+	        	mLowerLeft.X = westBound - (mCameraWidth / 2f);
+	    		mLowerLeft.Y = northBound - (mCameraHeight / 2f);
 	        }
 	        // Reaching east bound
 	        else if (focus.X > eastBound && (focus.Y > southBound || focus.Y < northBound))
 	    	{
-	    		mLowerLeft.X = (mMapWidth - mCameraWidth / 2f) - (mCameraWidth / 2f);
+	    		mLowerLeft.X = eastBound - (mCameraWidth / 2f);
 	    		mLowerLeft.Y = focus.Y - (mCameraHeight / 2f);
 	    	}
 	        // Reaching west bound
 	        else if (focus.X < westBound && (focus.Y > southBound || focus.Y < northBound))
 	    	{
-	    		mLowerLeft.X = mCameraWidth / 2f - (mCameraWidth / 2f);
+	    		mLowerLeft.X = westBound - (mCameraWidth / 2f);
 	    		mLowerLeft.Y = focus.Y - (mCameraHeight / 2f);
 	    	}
 	        // Reaching south bound
 	        else if (focus.Y < southBound && (focus.X < eastBound || focus.X > westBound))
 	    	{
 	    		mLowerLeft.X = focus.X - (mCameraWidth / 2f);
-	    		mLowerLeft.Y = mCameraHeight / 2f - (mCameraHeight / 2f);
+	    		mLowerLeft.Y = southBound - (mCameraHeight / 2f);
 	    	}
 	        // Reaching north bound
 	        else if (focus.Y > northBound && (focus.X < eastBound || focus.X > westBound))
 	    	{
 	    		mLowerLeft.X = focus.X - (mCameraWidth / 2f);
-	    		mLowerLeft.Y = (mMapHeight - mCameraHeight / 2f) - (mCameraHeight / 2f);
+	    		mLowerLeft.Y = northBound - (mCameraHeight / 2f);
 	    	}   	
         }
-        
-        /* Update camera position */
-        JavaGTCS1Base.World.SetWorldCoordinates(mLowerLeft, mCameraWidth);
     }
     
     /**
-     * Camera CHASE effect.
-     * @param focus Camera focus
+     * Add an effect to camera. It is stepped from next step on, in step order,
+     * until it is done. Adding an effect that is already running does nothing.
+     * @param effect Effect to add
      */
-    private void ChaseEffect(Vector2 focus)
+    public void AddEffect(CameraEffect effect)
     {
-    	mEffectMsg = "Chase";
+    	if (mEffects.contains(effect))
+    		return;
     	
-    	// Copy original focus
-    	if (mGetOrigFocus)
-    	{
-    		mEffectFocus = new Vector2(focus.X, focus.Y);
-    		mGetOrigFocus = false;
-    	}
-
-    	// Gradually chase focus
-    	mEffectFocus.X += (focus.X - mEffectFocus.X) * CHASE_SPEED;
-    	mEffectFocus.Y += (focus.Y - mEffectFocus.Y) * CHASE_SPEED;
+    	/* Insert after effects of same or lower order */
+    	int i = 0;
+    	while (i < mEffects.size() && mEffects.get(i).GetOrder() <= effect.GetOrder())
+    		i++;
+    	mEffects.add(i, effect);
+    	
+    	/* Effect added before the one being stepped, keep stepping position */
+    	if (i <= mStepIndex)
+    		mStepIndex++;
     }
     
     /**
-     * Camera SHAKE effect.
-     * @param focus Camera focus
+     * Remove an effect from camera.
+     * @param effect Effect to remove
      */
-    private void ShakeEffect()
+    public void RemoveEffect(CameraEffect effect)
     {
-    	mEffectMsg = "Shake";
+    	int i = mEffects.indexOf(effect);
+    	if (i < 0)
+    		return;
     	
-    	/* Shake for given duration */
-    	if (mShakeTimer < mShakeDuration * REFRESH_RATE)
-    	{
-	    	switch (mShakeType)
-	    	{
-	    	case 0:		// Left-Right shake
-	    		mLowerLeft.X += (JavaGTCS1Base.RandomFloat() * mShakeRadius * 2 - mShakeRadius);
-		    	break;
-	    	case 1:		// Up-Down shake
-	    		mLowerLeft.Y += (JavaGTCS1Base.RandomFloat() * mShakeRadius * 2 - mShakeRadius);
-		    	break;
-	    	case 2:		// Random shake
-	    		mLowerLeft.X += (JavaGTCS1Base.RandomFloat() * mShakeRadius * 2 - mShakeRadius);
-	    		mLowerLeft.Y += (JavaGTCS1Base.RandomFloat() * mShakeRadius * 2 - mShakeRadius);					
-	    		break;
-	    	}
-	    	JavaGTCS1Base.World.SetWorldCoordinates(mLowerLeft, mCameraWidth);
-	    	mShakeTimer++;
-    	}
-    	/* Done shaking */
-    	else 
-    	{
-    		mShakeTimer = 0;
-			mShakeEffectSwitch = false;
-		}
+    	mEffects.remove(i);
+    	
+    	/* Effect removed at or before the one being stepped, keep stepping position */
+    	if (i <= mStepIndex)
+    		mStepIndex--;
+    	if (mEffects.isEmpty())
+    		ResetStepState();
+    }
+    
+    /**
+     * @param effect Effect to check
+     * @return True = effect is running on camera
+     */
+    public boolean HasEffect(CameraEffect effect)
+    {
+    	return mEffects.contains(effect);
+    }
+    
+    /**
+     * @return True = no effects are running
+     */
+    public boolean IsIdle()
+    {
+    	return mEffects.isEmpty();
     }
     
     /**
-     * Camera SHIFT effect.
+     * Get tween scheduler stepped once per camera step, before effects. Effects
+     * use it for Shift, Zoom, Fade, and event boxes; scripted Character moves
+     * (see <code>Character.TweenTo()</code>) can share it to stay in step.
+     * @return Camera's tween scheduler
+     */
+    public TweenScheduler GetTweens()
+    {
+    	return mTweens;
+    }
+    
+    /**
+     * Complete an effect's completion on this step. While effects are stepping it is
+     * completed after the last one, so listeners can safely start new effects.
+     * @param completion Completion of finished effect, null is ignored
+     */
+    void Finish(Completion completion)
+    {
+    	if (completion == null)
+    		return;
+    	if (mStepIndex >= 0)
+    		mFinished.add(completion);
+    	else
+    		completion.Complete();
+    }
+    
+    /**
+     * Copy focus to effect focus if no effect has taken it yet. Used by effects
+     * that move the focus, e.g. Chase and Shift.
      * @param focus Camera focus
      */
-    private void ShiftEffect(Vector2 focus)
+    void TakeOriginalFocus(Vector2 focus)
     {
-    	mEffectMsg = "Shift";
-    	
-    	/* Set a previous focus to work on */
     	if (mGetOrigFocus)
     	{
-    		mEffectFocus = new Vector2(focus.X, focus.Y);
+    		mEffectFocus.X = focus.X;
+    		mEffectFocus.Y = focus.Y;
     		mGetOrigFocus = false;
     	}
-    	
-    	/* Shift to given coordinate */
-    	if (mShowShift)
+    }
+    
+    /**
+     * Let next effect that moves the focus take the focus again.
+     */
+    void ResetOriginalFocus()
+    {
+    	mGetOrigFocus = true;
+    }
+    
+    /**
+     * @return Focus moved by effects
+     */
+    Vector2 GetEffectFocus()
+    {
+    	return mEffectFocus;
+    }
+    
+    /**
+     * Position camera on effect focus this step, instead of camera focus.
+     */
+    void UseEffectFocus()
+    {
+    	mUseEffectFocus = true;
+    }
+    
+    /**
+     * Add to camera's shake offset for this step.
+     * @param offsetX offset on x-axis
+     * @param offsetY offset on y-axis
+     */
+    void AddShakeOffset(float offsetX, float offsetY)
+    {
+    	mShakeOffsetX += offsetX;
+    	mShakeOffsetY += offsetY;
+    }
+    
+    /**
+     * Pause Chase effect while another effect (e.g. Shift) moves the focus.
+     * @return True = Chase was ON and is paused
+     */
+    boolean PauseChase()
+    {
+    	if (!HasEffect(mChaseEffect))
+    		return false;
+    	RemoveEffect(mChaseEffect);
+    	return true;
+    }
+    
+    /**
+     * Turn Chase effect back ON after <code>PauseChase()</code>.
+     */
+    void ResumeChase()
+    {
+    	AddEffect(mChaseEffect);
+    }
+	
+    /**
+     * Seed camera's random generator, so effects like Shake repeat exactly.
+     * @param seed Seed
+     */
+    public void SetSeed(long seed)
+    {
+    	mSeed = seed;
+    	mRandom.setSeed(seed);
+    }
+    
+    /**
+     * @return Seed of camera's random generator
+     */
+    public long GetSeed()
+    {
+    	return mSeed;
+    }
+    
+    /**
+     * @return Random float from 0 to 1, from camera's own random generator
+     */
+    float RandomFloat()
+    {
+    	return mRandom.nextFloat();
+    }
+    
+    /**
+     * @return Number of effect steps done
+     */
+    public int GetTick()
+    {
+    	return mTick;
+    }
+    
+    /**
+     * Start recording focus and effect calls to a binary timeline, see 
+     * <code>CameraTimeline</code> for replay. Random generator restarts from
+     * its seed (see <code>SetSeed()</code>), which the timeline keeps so replay
+     * can reproduce it. Start right after creating the camera (or
+     * after <code>SetDefault()</code>) so replay starts from the same state.
+     * @param out Stream to write timeline to
+     * @throws IOException if timeline cannot be written
+     */
+    public void StartRecording(OutputStream out) throws IOException
+    {
+    	StopRecording();
+    	mRandom.setSeed(mSeed);
+    	mRecorder = new CameraRecorder(out, mSeed);
+    	mRecordStartTick = mTick;
+    	mRecordedFocusX = Float.NaN;
+    	mRecordedFocusY = Float.NaN;
+    }
+    
+    /**
+     * Stop recording and close timeline.
+     * @throws IOException if timeline cannot be written
+     */
+    public void StopRecording() throws IOException
+    {
+    	if (mRecorder == null)
+    		return;
+    	CameraRecorder recorder = mRecorder;
+    	mRecorder = null;
+    	recorder.Close();
+    	if (recorder.GetError() != null)
+    		throw recorder.GetError();
+    }
+    
+    /**
+     * @return True = recording effect calls
+     */
+    public boolean IsRecording()
+    {
+    	return mRecorder != null;
+    }
+    
+    /**
+     * @return Tick to stamp recorded calls with
+     */
+    private int GetRecordTick()
+    {
+    	return mTick - mRecordStartTick;
+    }
+    
+    /**
+     * Record focus if it changed since last recorded.
+     * @param focus Camera focus
+     */
+    private void RecordFocus(Vector2 focus)
+    {
+    	if (focus.X != mRecordedFocusX || focus.Y != mRecordedFocusY)
     	{
-    		/* Focus has not shifted completely */
-    		if (Math.abs((int)mShiftFocus.X - (int)mEffectFocus.X) > mShiftSpeed || Math.abs((int)mShiftFocus.Y - (int)mEffectFocus.Y) > mShiftSpeed) 
-    		{
-    	    	/* Gradually shift focus to given coordinate */
-    	    	mEffectFocus = Vector2.add(Vector2.multiply(Vector2.Normalize(Vector2.subtract(mShiftFocus, mEffectFocus)), mShiftSpeed), mEffectFocus);
-    		}
-    		/* Focus has shifted successfully */
-    		else
-    		{
-    			mIsDoneShifting = true;
-    		}
+    		mRecordedFocusX = focus.X;
+    		mRecordedFocusY = focus.Y;
+    		mRecorder.Record(GetRecordTick(), CameraRecorder.OP_FOCUS, focus.X, focus.Y);
     	}
-    	/* Shift back to original focus */
-    	else 
-    	{
-    		/* Focus has not shifted back completely */
-    		if (Math.abs((int)focus.X - (int)mEffectFocus.X) > mShiftSpeed || Math.abs((int)focus.Y - (int)mEffectFocus.Y) > mShiftSpeed)
-    		{
-    			/* Gradually shift focus back */
-    			mEffectFocus = Vector2.add(Vector2.multiply(Vector2.Normalize(Vector2.subtract(focus, mEffectFocus)), mShiftSpeed), mEffectFocus);
-    		}
-    		/* Focus has shifted successfully */
-    		else
-    		{
-    			mIsDoneShifting = true;
-    			
-    			/* Reset variables */
-    			mShiftEffectSwitch = false;
-    			mGetOrigFocus = true;
-    			
-				/* Return Chase effect switch to original state */
-				if (mChaseEffectStatus)
-					mChaseEffectSwitch = true;
-    		}
-		}
     }
-    	
-	/**
-	 * Camera EVENT effect. 
-	 * @param focus Camera focus
-	 */
-	private void EventEffect()
-	{
-		/* Set event box center */
-		mTopEventBox.SetCenter(new Vector2(mLowerLeft.X + mCameraWidth / 2, mLowerLeft.Y + mCameraHeight));
-		mBottomEventBox.SetCenter(new Vector2(mLowerLeft.X + mCameraWidth / 2, mLowerLeft.Y));		
-
-		/* Set event box height */
-		mTopEventBox.setHeight(mBoxHeight);
-		mBottomEventBox.setHeight(mBoxHeight);
-	
-		/* Event effect is ON */
-		if (mShowEventBox)
-		{
-			mEffectMsg = "Event ON";
-			
-			/* Gradually increase event box height */
-			if (mBoxHeight < mMaxBoxHeight * 2)
-			{
-				mTopEventBox.AddToAutoDrawSet();
-				mBottomEventBox.AddToAutoDrawSet();
-				mBoxHeight++;
-			}
-			else
-			{
-				mBoxHeight = mMaxBoxHeight * 2;
-			}
-		}
-		/* Event effect is OFF */
-		else
-		{
-			mEffectMsg = "Event OFF";
-			
-			/* Gradually decrease event box height */
-			if (mBoxHeight > 0)
-			{
-				mBoxHeight--;
-			}
-			else
-			{
-				mTopEventBox.RemoveFromAutoDrawSet();
-				mBottomEventBox.RemoveFromAutoDrawSet();
-				mEventEffectSwitch = false;
-			}
-		}		
-	}
-	
-	/**
-	 * Camera ZOOM effect.
-	 * @param focus Camera focus
-	 */
-	private void ZoomEffect()
-	{
-		/* Zoom effect is ON */
-		if (mShowZoom)
-		{
-			/* Gradually adjust camera width outward */
-			if (mZoomAmount > 0)
-			{
-				mEffectMsg = "Zoom OUT";
-				/* Zoom out and make sure it's within map width */
-				if (mCameraWidth < (mPrevCamWidth + mZoomAmount) && mCameraWidth < mMapWidth)
-				{
-					mCameraWidth += mZoomSpeed;
-					mCameraHeight = mCameraWidth * WORLD_RATIO;
-				}
-				/* Done zooming out, turn Zoom switch off */
-				else 
-				{
-					mIsDoneZooming = true;
-					mZoomEffectSwitch = false;
-				}
-			}
-			/* Gradually adjust camera width inward */
-			else if (mZoomAmount < 0)
-			{
-				mEffectMsg = "Zoom IN";
-				/* Zoom in and make sure camera width not below 100 */
-				if (mCameraWidth > (mPrevCamWidth + mZoomAmount) && mCameraWidth > 100)
-				{
-					mCameraWidth -= mZoomSpeed;
-					mCameraHeight = mCameraWidth * WORLD_RATIO;
-				}
-				/* Done zooming in, turn Zoom switch off */
-				else 
-				{
-					mIsDoneZooming = true;
-					mZoomEffectSwitch = false;
-				}
-			}
-			/* No zoom in/out needed, turn Zoom switch off */
-			else 
-			{
-				mIsDoneZooming = true;
-				mZoomEffectSwitch = false;
-			}
-		}
-		/* Zoom effect OFF, return to original camera width */
-		else
-		{
-			/* Check if current camera width not equals original width */
-			if (mCameraWidth != mOrigCamWidth)
-			{
-				mZoomAmount = -(mCameraWidth - mOrigCamWidth);
-				mShowZoom = true;
-			}
-			/* No zoom in/out needed, turn Zoom switch off */
-			else 
-			{
-				mIsDoneZooming = true;
-				mZoomAmount = 0;
-				mCameraWidth = mOrigCamWidth;
-				mCameraHeight = mCameraWidth * WORLD_RATIO;
-				mZoomEffectSwitch = false;
-			}
-		}
-	}
-	
-	/**
-	 * Camera FADE effect.
-	 */
-	private void FadeEffect()
-	{
-		/* Perform fade in */
-		if (mIsFadeIn)
-		{
-			if (alpha > 0)
-			{
-				alpha -= mFadeSpeed;
-				SetCameraMask(255, 255, 255, alpha);
-			}
-			else
-			{
-				mFadeEffectSwitch = false;
-			}
-		}
-		/* Perform fade out */
-		else
-		{
-			if (alpha < 255)
-			{
-				alpha += mFadeSpeed;
-				SetCameraMask(255, 255, 255, alpha);
-			}
-			else
-			{
-				mFadeEffectSwitch = false;
-			}
-		}
-	}
-	
-	/**
-	 * Camera ENCOUNTER effect.
-	 */
-	private void EncounterEffect(Vector2 focus)
-	{
-		if (mIsDoneZooming)
-		{
-			ResetZoom();
-			ResetFade();
-			mZoomSpeed = mPrevZoomSpeed;	// reset zoom speed
-			Default(focus);					// reset focus
-			mIsDoneEncounter = true;
-			mEncounterSwitch = false;
-		}
-	}
+    
+    /**
+     * Record effect call without arguments.
+     * @param op Op code
+     */
+    private void Record(byte op)
+    {
+    	if (mRecorder != null)
+    		mRecorder.Record(GetRecordTick(), op);
+    }
+    
+    /**
+     * Record effect call with an int argument.
+     * @param op Op code
+     * @param a Argument
+     */
+    private void Record(byte op, int a)
+    {
+    	if (mRecorder != null)
+    		mRecorder.Record(GetRecordTick(), op, a);
+    }
+    
+    /**
+     * Record effect call with a float argument.
+     * @param op Op code
+     * @param a Argument
+     */
+    private void Record(byte op, float a)
+    {
+    	if (mRecorder != null)
+    		mRecorder.Record(GetRecordTick(), op, a);
+    }
+    
+    /**
+     * Record effect call with two float arguments.
+     * @param op Op code
+     * @param a First argument
+     * @param b Second argument
+     */
+    private void Record(byte op, float a, float b)
+    {
+    	if (mRecorder != null)
+    		mRecorder.Record(GetRecordTick(), op, a, b);
+    }
 	
     /**
-     * Set camera default with no effects.
+     * Set camera default with no effects. Completions of a shift, zoom or
+     * event box slide in progress are cancelled.
      */
     public void SetDefault()
     {
-    	/* Turn all effect switches OFF */
-    	mChaseEffectSwitch = false;
-    	mShakeEffectSwitch = false;
-    	mShiftEffectSwitch = false;
-    	mEventEffectSwitch = false;
-    	mTopEventBox.RemoveFromAutoDrawSet();
-    	mBottomEventBox.RemoveFromAutoDrawSet();
-    	mBoxHeight = 0;
-    	mZoomEffectSwitch = false;
+    	Record(CameraRecorder.OP_SET_DEFAULT);
+    	/* Turn effects OFF */
+    	RemoveEffect(mChaseEffect);
+    	RemoveEffect(mShakeEffect);
+    	mShiftEffect.Reset(this);
+    	RemoveEffect(mEventEffect);
+    	mEventEffect.Hide();
+    	mZoomEffect.Reset(this);
     	mGetOrigFocus = true;
-    	mCameraWidth = mOrigCamWidth;
+    	ResizeCamera(mOrigCamWidth);
     }
     
     /**
@@ -610,7 +753,10 @@ public class Camera
      */
     public void SetChaseEffect(boolean effectSwitch)
     {
-    	mChaseEffectSwitch = effectSwitch;
+    	if (effectSwitch)
+    		TurnChaseON();
+    	else
+    		TurnChaseOFF();
     }
     
     /**
@@ -618,7 +764,8 @@ public class Camera
      */
     public void TurnChaseON()
     {
-    	mChaseEffectSwitch = true;
+    	Record(CameraRecorder.OP_CHASE_ON);
+    	AddEffect(mChaseEffect);
     }
     
     /**
@@ -626,7 +773,8 @@ public class Camera
      */
     public void TurnChaseOFF()
     {
-    	mChaseEffectSwitch = false;
+    	Record(CameraRecorder.OP_CHASE_OFF);
+    	RemoveEffect(mChaseEffect);
     }
     
     /**
@@ -637,13 +785,10 @@ public class Camera
      */
     public void SetShakeEffect(int type, int duration, float radius)
     {
-    	mShakeEffectSwitch = true;
-    	
-    	/* Set shake type, duration, and radius */
-    	if (type >= 0 && type <= 2)
-    		mShakeType = type;
-    	mShakeDuration = duration;
-    	mShakeRadius = radius;
+    	if (mRecorder != null)
+    		mRecorder.RecordShake(GetRecordTick(), type, duration, radius);
+    	mShakeEffect.Set(type, duration, radius);
+    	AddEffect(mShakeEffect);
     }
     
     /**
@@ -679,7 +824,9 @@ public class Camera
      */
     public void TurnShakeOFF()
     {
-    	mShakeEffectSwitch = false;
+    	Record(CameraRecorder.OP_SHAKE_OFF);
+    	RemoveEffect(mShakeEffect);
+    	mShakeEffect.Reset();
     }
     
     /**
@@ -691,29 +838,19 @@ public class Camera
      * 					   and is set to Vector2.Zero).
      * @param shiftFocus The coordinate to shift to
      * @param shiftSpeed Speed of shift (recommended at 2f)
+     * @return Completed when done shifting
      */
-    public void SetShiftEffect(boolean effectSwitch, Vector2 shiftFocus, float shiftSpeed)
+    public Completion SetShiftEffect(boolean effectSwitch, Vector2 shiftFocus, float shiftSpeed)
     {
     	if (effectSwitch)
     	{
-	    	mShiftEffectSwitch = true;
-	    	mShowShift = true;
-	    	mShiftFocus = new Vector2(shiftFocus.X, shiftFocus.Y);
-	    	mShiftSpeed = shiftSpeed;
-			
-	    	/* Turn off Chase effect temporarily if is currently ON */
-			if (mChaseEffectSwitch)
-			{
-				mChaseEffectStatus = true;
-				mChaseEffectSwitch = false;
-			}
+    		SetShiftSpeed(shiftSpeed);
+    		return TurnShiftON(shiftFocus);
     	}
     	else
     	{
-    		mShowShift = false;
-    		mShiftFocus = Vector2.Zero;
+    		return TurnShiftOFF();
     	}
-    	mIsDoneShifting = false;
     }
     
     /**
@@ -722,36 +859,34 @@ public class Camera
      */
     public void SetShiftSpeed(float shiftSpeed)
     {
-    	mShiftSpeed = shiftSpeed;
+    	Record(CameraRecorder.OP_SHIFT_SPEED, shiftSpeed);
+    	mShiftEffect.SetShiftSpeed(shiftSpeed);
     }
     
     /**
      * Turn SHIFT effect ON.
      * @param shiftFocus focus to shift
+     * @return Completed when focus reaches shift focus
      */
-    public void TurnShiftON(Vector2 shiftFocus)
+    public Completion TurnShiftON(Vector2 shiftFocus)
     {
-    	mShiftEffectSwitch = true;
-    	mShowShift = true;
-    	mShiftFocus = new Vector2(shiftFocus.X, shiftFocus.Y);
-    	mIsDoneShifting = false;
-    	
-    	/* Turn off Chase effect temporarily if is currently ON */
-		if (mChaseEffectSwitch)
-		{
-			mChaseEffectStatus = true;
-			mChaseEffectSwitch = false;
-		}
+    	Record(CameraRecorder.OP_SHIFT_ON, shiftFocus.X, shiftFocus.Y);
+    	Completion completion = mShiftEffect.ShiftTo(this, shiftFocus);
+    	AddEffect(mShiftEffect);
+    	return completion;
     }
     
     /**
      * Turn SHIFT effect OFF.
+     * @return Completed when focus is back on original target
      */
-    public void TurnShiftOFF()
+    public Completion TurnShiftOFF()
     {
-		mShowShift = false;
-		mShiftFocus = Vector2.Zero;
-		mIsDoneShifting = false;
+    	Record(CameraRecorder.OP_SHIFT_OFF);
+    	Completion completion = mShiftEffect.ShiftBack();
+    	if (!HasEffect(mShiftEffect))
+    		Finish(completion);		// not shifted, already back
+    	return completion;
     }
     
     /**
@@ -759,39 +894,45 @@ public class Camera
      */
     public boolean IsDoneShifting()
     {
-    	return mIsDoneShifting;
+    	return mShiftEffect.IsDone();
     }
     
     /**
      * Set camera with EVENT effect. This adds black transparent borders on Top and Bottom.
      * @param eventSwitch true = ON, false = OFF
+     * @return Completed when event boxes are done sliding
      */
-	public void SetEventEffect(boolean effectSwitch)
+	public Completion SetEventEffect(boolean effectSwitch)
 	{
-		if (effectSwitch) {
-			mEventEffectSwitch = true;
-			mShowEventBox = true;
-		}
-		else {
-			mShowEventBox = false;
-		}
+		if (effectSwitch)
+			return TurnEventON();
+		else
+			return TurnEventOFF();
 	}
 	
 	/**
 	 * Turn EVENT effect ON.
+	 * @return Completed when event boxes are fully shown
 	 */
-	public void TurnEventON()
+	public Completion TurnEventON()
 	{
-		mEventEffectSwitch = true;
-		mShowEventBox = true;
+		Record(CameraRecorder.OP_EVENT_ON);
+		Completion completion = mEventEffect.Show(true);
+		AddEffect(mEventEffect);
+		return completion;
 	}
 	
 	/**
 	 * Turn EVENT effect OFF.
+	 * @return Completed when event boxes are gone
 	 */
-	public void TurnEventOFF()
+	public Completion TurnEventOFF()
 	{
-		mShowEventBox = false;
+		Record(CameraRecorder.OP_EVENT_OFF);
+		Completion completion = mEventEffect.Show(false);
+		if (!HasEffect(mEventEffect))
+			Finish(completion);		// not shown, already gone
+		return completion;
 	}
 	
 	/**
@@ -799,10 +940,9 @@ public class Camera
 	 */
 	public void HideEventBox()
 	{
-		mTopEventBox.RemoveFromAutoDrawSet();
-		mBottomEventBox.RemoveFromAutoDrawSet();
-		mEventEffectSwitch = false;
-		mShowEventBox = false;
+		Record(CameraRecorder.OP_EVENT_HIDE);
+		RemoveEffect(mEventEffect);
+		mEventEffect.Hide();
 	}
 	
 	/**
@@ -811,7 +951,7 @@ public class Camera
 	 */
 	public boolean IsEventMode( )
 	{
-		return mShowEventBox;
+		return mEventEffect.IsShowing();
 	}
 	
 	/**
@@ -819,26 +959,15 @@ public class Camera
 	 * @param zoomSwitch true = ON, false = OFF (OFF will return camera to original width and height)
 	 * @param zoomAmt Amount to zoom (positive to zoom out, negative to zoom in, 0 when <code>zoomSwitch</code> is OFF)
 	 * @param zoomSpeed Speed of zoom (larger the faster, recommend 3f)
+	 * @return Completed when done zooming
 	 */
-	public void SetZoomEffect(boolean effectSwitch, float zoomAmt, float zoomSpeed)
+	public Completion SetZoomEffect(boolean effectSwitch, float zoomAmt, float zoomSpeed)
 	{
-		if (effectSwitch) {
-			mZoomEffectSwitch = effectSwitch;
-			mShowZoom = true;
-		}
-		else {
-			mZoomEffectSwitch = true;
-			mShowZoom = false;
-		}
-		mPrevCamWidth = mCameraWidth;
-		if (effectSwitch == true)
-			mZoomAmount = zoomAmt;
-		else 
-			mZoomAmount = 0;
-		if (zoomSpeed < 0)
-			zoomSpeed = 0;
-		mZoomSpeed = zoomSpeed;
-		mIsDoneZooming = false;
+		SetZoomSpeed(zoomSpeed);
+		if (effectSwitch)
+			return TurnZoomON(zoomAmt);
+		else
+			return TurnZoomOFF();
 	}
 	
 	/**
@@ -847,40 +976,39 @@ public class Camera
 	 */
 	public void SetZoomSpeed(float zoomSpeed)
 	{
-		mZoomSpeed = zoomSpeed;
+		Record(CameraRecorder.OP_ZOOM_SPEED, zoomSpeed);
+		mZoomEffect.SetZoomSpeed(zoomSpeed);
 	}
 	
 	/**
 	 * Turn ZOOM effect ON.
 	 * @param zoomAmt amount of zoom (negative to zoom in, positive to zoom out)
+	 * @return Completed when done zooming
 	 */
-	public void TurnZoomON(float zoomAmt)
+	public Completion TurnZoomON(float zoomAmt)
 	{
-		mZoomEffectSwitch = true;
-		mShowZoom = true;
-		mPrevCamWidth = mCameraWidth;
-		mZoomAmount = zoomAmt;
-		mIsDoneZooming = false;
+		Record(CameraRecorder.OP_ZOOM_ON, zoomAmt);
+		Completion completion = mZoomEffect.ZoomBy(zoomAmt);
+		AddEffect(mZoomEffect);
+		return completion;
 	}
 	
 	/**
 	 * Turn ZOOM effect OFF. Camera returns to original size.
+	 * @return Completed when back to original size
 	 */
-	public void TurnZoomOFF()
+	public Completion TurnZoomOFF()
 	{
-		mZoomEffectSwitch = true;
-		mShowZoom = false;
-		mPrevCamWidth = mCameraWidth;
-		mZoomAmount = 0;
-		mIsDoneZooming = false;
+		Record(CameraRecorder.OP_ZOOM_OFF);
+		Completion completion = mZoomEffect.ZoomBack();
+		AddEffect(mZoomEffect);
+		return completion;
 	}
 	
 	public void ResetZoom()
 	{
-		mZoomEffectSwitch = false;
-		mIsDoneZooming = true;
-		mCameraWidth = mOrigCamWidth;
-		mCameraHeight = mCameraWidth * WORLD_RATIO;
+		Record(CameraRecorder.OP_ZOOM_RESET);
+		mZoomEffect.Reset(this);
 	}
 	
 	/**
@@ -888,27 +1016,31 @@ public class Camera
 	 */
 	public boolean IsDoneZooming()
 	{
-		return mIsDoneZooming;
+		return mZoomEffect.IsDone();
 	}
 	
 	/**
 	 * Camera fades in gradually.
+	 * @return Completed when done fading
 	 */
-	public void FadeOut()
+	public Completion FadeOut()
 	{
-		alpha = 0;
-		mIsFadeIn = false;
-		mFadeEffectSwitch = true;
+		Record(CameraRecorder.OP_FADE_OUT);
+		Completion completion = mFadeEffect.FadeOut();
+		AddEffect(mFadeEffect);
+		return completion;
 	}
 	
 	/**
 	 * Camera fades out gradually.
+	 * @return Completed when done fading
 	 */
-	public void FadeIn()
+	public Completion FadeIn()
 	{
-		alpha = 255;
-		mIsFadeIn = true;
-		mFadeEffectSwitch = true;
+		Record(CameraRecorder.OP_FADE_IN);
+		Completion completion = mFadeEffect.FadeIn();
+		AddEffect(mFadeEffect);
+		return completion;
 	}
 	
 	/**
@@ -916,8 +1048,8 @@ public class Camera
 	 */
 	public void ResetFade()
 	{
-		SetCameraMask(0, 0, 0, 0);
-		mFadeEffectSwitch = false;
+		Record(CameraRecorder.OP_FADE_RESET);
+		mFadeEffect.Reset(this);
 	}
 	
 	/**
@@ -926,33 +1058,29 @@ public class Camera
 	 */
 	public void SetFadeSpeed(int fadeSpeed)
 	{
-		mFadeSpeed = fadeSpeed;
+		Record(CameraRecorder.OP_FADE_SPEED, fadeSpeed);
+		mFadeEffect.SetFadeSpeed(fadeSpeed);
 	}
 	
 	/**
 	 * Turn Camera's ENCOUNTER effect ON. Camera will zoom in and do fade in effect.
-	 * Use {@link #IsDoneEncounter()} to determine if effect is done.
+	 * Use {@link #IsDoneEncounter()} or the returned completion to determine if effect is done.
+	 * @return Completed when encounter is done
 	 */
-	public void TurnEncounterON()
+	public Completion TurnEncounterON()
 	{
-		mPrevZoomSpeed = mZoomSpeed;	// keep a record of current zoom speed
-		mZoomSpeed = 30f;				// set for fast zoom in effect
-		TurnZoomON(Integer.MIN_VALUE);
-		FadeOut();
-		
-		mIsDoneEncounter = false;
-		mEncounterSwitch = true;
+		return TurnEncounterON(Integer.MIN_VALUE);
 	}
 	
-	public void TurnEncounterON(int i)
+	/**
+	 * Turn Camera's ENCOUNTER effect ON, zooming by given amount.
+	 * @param i amount of zoom (negative to zoom in)
+	 * @return Completed when encounter is done
+	 */
+	public Completion TurnEncounterON(int i)
 	{
-		mPrevZoomSpeed = mZoomSpeed;	// keep a record of current zoom speed
-		mZoomSpeed = 30f;				// set for fast zoom in effect
-		TurnZoomON(i);
-		FadeOut();
-		
-		mIsDoneEncounter = false;
-		mEncounterSwitch = true;
+		Record(CameraRecorder.OP_ENCOUNTER_ON, i);
+		return mEncounterEffect.Start(this, i);
 	}
 	
 	/**
@@ -960,7 +1088,7 @@ public class Camera
 	 */
 	public boolean IsDoneEncounter()
 	{
-		return mIsDoneEncounter;
+		return mEncounterEffect.IsDone();
 	}
 	
     /**
@@ -968,9 +1096,129 @@ public class Camera
      * @param cameraWidth Camera width
      */
     public void SetCameraWidth(float cameraWidth)
+    {
+    	Record(CameraRecorder.OP_CAMERA_WIDTH, cameraWidth);
+    	ResizeCamera(cameraWidth);
+    }
+    
+    /**
+     * Set width of the camera without recording it, used by effects.
+     * @param cameraWidth Camera width
+     */
+    void ResizeCamera(float cameraWidth)
     {
     	mCameraWidth = cameraWidth;
-    	mCameraHeight = cameraWidth * WORLD_RATIO;
+    	mCameraHeight = cameraWidth * mAspect;
+    }
+    
+    /**
+     * Set the screen rectangle this camera renders to, in screen ratio (0 to 1).
+     * Camera height follows the viewport's shape. Use for split-screen or
+     * picture-in-picture, together with <code>SetDrivesWorld()</code>.
+     * @param x Viewport left
+     * @param y Viewport bottom
+     * @param width Viewport width
+     * @param height Viewport height
+     */
+    public void SetViewport(float x, float y, float width, float height)
+    {
+    	mViewportX = x;
+    	mViewportY = y;
+    	mViewportWidth = width;
+    	mViewportHeight = height;
+    	mAspect = WORLD_RATIO * height / width;
+    	ResizeCamera(mCameraWidth);
+    }
+    
+    public float GetViewportX()
+    {
+    	return mViewportX;
+    }
+    
+    public float GetViewportY()
+    {
+    	return mViewportY;
+    }
+    
+    public float GetViewportWidth()
+    {
+    	return mViewportWidth;
+    }
+    
+    public float GetViewportHeight()
+    {
+    	return mViewportHeight;
+    }
+    
+    /**
+     * Set whether this camera sets the global world coordinates. Only one camera
+     * should; others are read by the renderer through <code>GetLowerLeft()</code>,
+     * <code>GetCameraWidth()</code>, and viewport accessors. Camera's mask and event
+     * boxes are drawn in world space, so only <code>Load()</code> them on that camera.
+     * @param drivesWorld true = set world coordinates (default), false = leave them
+     */
+    public void SetDrivesWorld(boolean drivesWorld)
+    {
+    	mDrivesWorld = drivesWorld;
+    	mAppliedWidth = Float.NaN;		// apply on next update
+    }
+    
+    /**
+     * Set cache that draws the static map background on every camera update.
+     * @param chunkCache Map chunk cache, null for none
+     */
+    public void SetChunkCache(MapChunkCache<?> chunkCache)
+    {
+    	mChunkCache = chunkCache;
+    }
+    
+    /**
+     * World origin moved by given amount (see <code>world.WorldOrigin</code>). Every
+     * coordinate camera and its effects hold is shifted back by it.
+     * @param dx Shift on x-axis
+     * @param dy Shift on y-axis
+     */
+    public void ShiftOrigin(float dx, float dy)
+    {
+    	Record(CameraRecorder.OP_ORIGIN_SHIFT, dx, dy);
+    	mLowerLeft.X -= dx;
+    	mLowerLeft.Y -= dy;
+    	mEffectFocus.X -= dx;
+    	mEffectFocus.Y -= dy;
+    	mSteadyCenterX -= dx;
+    	mSteadyCenterY -= dy;
+    	mMapLeft -= dx;
+    	mMapBottom -= dy;
+    	mShiftEffect.ShiftOrigin(dx, dy);
+    	if (mChunkCache != null)
+    		mChunkCache.ShiftOrigin(dx, dy);
+    }
+    
+    /**
+     * Set area camera is kept inside of, e.g. the loaded maps of a streamed world
+     * (see <code>world.WorldStreamer</code>).
+     * @param left Left x-coordinate
+     * @param bottom Bottom y-coordinate
+     * @param width Width
+     * @param height Height
+     */
+    public void SetMapBounds(float left, float bottom, float width, float height)
+    {
+    	SetMapOrigin(left, bottom);
+    	SetMapWidth(width);
+    	SetMapHeight(height);
+    }
+    
+    /**
+     * Set lower left corner of the map. Default is (0, 0).
+     * @param left Left x-coordinate
+     * @param bottom Bottom y-coordinate
+     */
+    public void SetMapOrigin(float left, float bottom)
+    {
+    	Record(CameraRecorder.OP_MAP_ORIGIN, left, bottom);
+    	mMapLeft = left;
+    	mMapBottom = bottom;
     }
     
     /**
@@ -979,6 +1227,7 @@ public class Camera
      */
     public void SetMapWidth(float mapWidth)
     {
+    	Record(CameraRecorder.OP_MAP_WIDTH, mapWidth);
     	mMapWidth = mapWidth;
     }
     
@@ -988,6 +1237,7 @@ public class Camera
      */
     public void SetMapHeight(float mapHeight)
     {
+    	Record(CameraRecorder.OP_MAP_HEIGHT, mapHeight);
     	mMapHeight = mapHeight;
     }
     
@@ -998,26 +1248,52 @@ public class Camera
 	public void SetCameraMaskAlpha(int Alpha)
 	{
 		mMask.SetColor(new JavaGTCS1Color(0, 0, 0, Alpha));
+		mMaskAlpha = Alpha;
 	}
 	
 	public void SetCameraMaskR(int R)
 	{
 		mMask.SetColor(new JavaGTCS1Color(R, 0, 0, 0));
+		mMaskAlpha = 0;
 	}
 	
 	public void SetCameraMaskG(int G)
 	{
 		mMask.SetColor(new JavaGTCS1Color(0, G, 0, 0));
+		mMaskAlpha = 0;
 	}
 	
 	public void SetCameraMaskB(int B)
 	{
 		mMask.SetColor(new JavaGTCS1Color(0, 0, B, 0));
+		mMaskAlpha = 0;
 	}
 	
 	public void SetCameraMask(int R, int G, int B, int Alpha)
 	{
 		mMask.SetColor(new JavaGTCS1Color(R, G, B, Alpha));
+		mMaskAlpha = Alpha;
+	}
+	
+	/**
+	 * Clear camera mask.
+	 */
+	void ClearCameraMask()
+	{
+		mMask.SetColor(CLEAR_MASK_COLOR);
+		mMaskAlpha = 0;
+	}
+	
+	/**
+	 * Set camera mask to white with given alpha, using the shared fade colors.
+	 * @param Alpha Alpha color (clamped to 0-255)
+	 */
+	void SetFadeMask(int Alpha)
+	{
+		if (Alpha < 0) Alpha = 0;
+		if (Alpha > 255) Alpha = 255;
+		mMask.SetColor(FADE_MASK_COLORS[Alpha]);
+		mMaskAlpha = Alpha;
 	}
 	
 	/**
@@ -1027,6 +1303,7 @@ public class Camera
 	public void SetCameraMaskLabel(String text)
 	{
 		mMask.SetLabel(text);
+		mMaskHasLabel = text != null && text.length() > 0;
 	}
 	
 	/**
@@ -1062,6 +1339,59 @@ public class Camera
 		return mCameraHeight;
 	}
 	
+	/**
+	 * @return Returns camera width once running zoom is done, or current width if not zooming.
+	 */
+	public float GetTargetCameraWidth()
+	{
+		if (!HasEffect(mZoomEffect))
+			return mCameraWidth;
+		return mZoomEffect.GetTargetWidth(this);
+	}
+	
+	/**
+	 * @return Returns how far camera center moved on x-axis during last update.
+	 */
+	public float GetVelocityX()
+	{
+		return mVelocityX;
+	}
+	
+	/**
+	 * @return Returns how far camera center moved on y-axis during last update.
+	 */
+	public float GetVelocityY()
+	{
+		return mVelocityY;
+	}
+	
+	/**
+	 * @return Returns camera version. It increases every time the camera really moves
+	 * or zooms, so other systems only need to recompute when it changed.
+	 */
+	public long GetVersion()
+	{
+		return mVersion;
+	}
+	
+	/**
+	 * @return Returns camera's original width.
+	 */
+	public float GetOriginalCameraWidth()
+	{
+		return mOrigCamWidth;
+	}
+	
+	public float GetMapLeft()
+	{
+		return mMapLeft;
+	}
+	
+	public float GetMapBottom()
+	{
+		return mMapBottom;
+	}
+	
 	public float GetMapWidth()
 	{
 		return mMapWidth;
@@ -1086,6 +1416,21 @@ public class Camera
 	{
 		return mLowerLeft.Y + mCameraHeight;
 	}
+	
+	/**
+	 * Check if a circle overlaps the visible rectangle, grown by margin on every side.
+	 * @param centerX x-coordinate of center
+	 * @param centerY y-coordinate of center
+	 * @param radius Radius of circle
+	 * @param margin Extra space around visible rectangle
+	 * @return True = in view, False = out of view
+	 */
+	public boolean IsInView(float centerX, float centerY, float radius, float margin)
+	{
+		float reach = radius + margin;
+		return centerX + reach >= mLowerLeft.X && centerX - reach <= mLowerLeft.X + mCameraWidth &&
+			   centerY + reach >= mLowerLeft.Y && centerY - reach <= mLowerLeft.Y + mCameraHeight;
+	}
 
 	public void SetMaskLabelSize(float size)
 	{
@@ -0,0 +1,42 @@
+package camera;
+
+import GTCS1Lib_Java.Internal.Vector2;
+
+/*****************************************************************************
+ * This <code>CameraEffect</code> interface is implemented by every effect a
+ * <code>Camera</code> can run. Active effects are kept in an ordered list
+ * inside the camera and only running effects are stepped. Effects can be
+ * stacked (e.g. overlapping <code>ShakeEffect</code>s) or chained with
+ * <code>SequenceEffect</code> (e.g. zoom in, then zoom out).
+ * 
+ * Effects implemented: <code>ChaseEffect, ShiftEffect, EventEffect,
+ * ZoomEffect, FadeEffect, EncounterEffect, ShakeEffect</code>.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public interface CameraEffect
+{
+	/* Step order, effects with a lower order are stepped first */
+	public static final int ORDER_CHASE = 0;
+	public static final int ORDER_SHIFT = 1;
+	public static final int ORDER_EVENT = 2;
+	public static final int ORDER_ZOOM = 3;
+	public static final int ORDER_FADE = 4;
+	public static final int ORDER_ENCOUNTER = 5;
+	public static final int ORDER_SHAKE = 6;
+	
+	/**
+	 * Advance effect by one step.
+	 * @param camera Camera running the effect
+	 * @param focus Camera focus
+	 * @return True = keep running, False = effect is done and is removed from camera
+	 */
+	public boolean Step(Camera camera, Vector2 focus);
+	
+	/**
+	 * @return Order in which effect is stepped (see <code>ORDER_*</code>)
+	 */
+	public int GetOrder();
+}
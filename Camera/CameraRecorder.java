@@ -0,0 +1,225 @@
+package camera;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/*****************************************************************************
+ * This <code>CameraRecorder</code> class writes every effect call made on a
+ * <code>Camera</code>, together with the camera focus, to a compact binary
+ * timeline. Each entry is stamped with the step (tick) it happened before,
+ * counted from when recording started. Use <code>CameraTimeline</code> to
+ * replay it frame for frame.
+ * 
+ * Timeline format: int magic, int version, long seed, then entries of
+ * byte op code, int tick, and op code arguments.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class CameraRecorder
+{
+	/* Timeline header */
+	static final int MAGIC = 0x43544C4E;		// "CTLN"
+	static final int VERSION = 2;			// 2 = added OP_MAP_ORIGIN, OP_ORIGIN_SHIFT
+	
+	/* Op codes */
+	static final byte OP_FOCUS = 0;				// float x, float y
+	static final byte OP_SET_DEFAULT = 1;
+	static final byte OP_CHASE_ON = 2;
+	static final byte OP_CHASE_OFF = 3;
+	static final byte OP_SHAKE_ON = 4;			// int type, int duration, float radius
+	static final byte OP_SHAKE_OFF = 5;
+	static final byte OP_SHIFT_SPEED = 6;		// float speed
+	static final byte OP_SHIFT_ON = 7;			// float x, float y
+	static final byte OP_SHIFT_OFF = 8;
+	static final byte OP_EVENT_ON = 9;
+	static final byte OP_EVENT_OFF = 10;
+	static final byte OP_EVENT_HIDE = 11;
+	static final byte OP_ZOOM_SPEED = 12;		// float speed
+	static final byte OP_ZOOM_ON = 13;			// float amount
+	static final byte OP_ZOOM_OFF = 14;
+	static final byte OP_ZOOM_RESET = 15;
+	static final byte OP_FADE_OUT = 16;
+	static final byte OP_FADE_IN = 17;
+	static final byte OP_FADE_RESET = 18;
+	static final byte OP_FADE_SPEED = 19;		// int speed
+	static final byte OP_ENCOUNTER_ON = 20;		// int amount
+	static final byte OP_CAMERA_WIDTH = 21;		// float width
+	static final byte OP_MAP_WIDTH = 22;		// float width
+	static final byte OP_MAP_HEIGHT = 23;		// float height
+	static final byte OP_MAP_ORIGIN = 24;		// float left, float bottom
+	static final byte OP_ORIGIN_SHIFT = 25;		// float dx, float dy
+	
+	/* Local variables */
+	private DataOutputStream mOut;		// Timeline output, null when stopped
+	private IOException mError;			// Error that stopped recording
+	
+	/**
+	 * Constructor, writes timeline header.
+	 * @param out Stream to write timeline to
+	 * @param seed Seed of camera's random generator
+	 * @throws IOException if header cannot be written
+	 */
+	public CameraRecorder(OutputStream out, long seed) throws IOException
+	{
+		mOut = new DataOutputStream(new BufferedOutputStream(out));
+		mOut.writeInt(MAGIC);
+		mOut.writeInt(VERSION);
+		mOut.writeLong(seed);
+		mError = null;
+	}
+	
+	/**
+	 * Record call without arguments.
+	 * @param tick Tick number
+	 * @param op Op code
+	 */
+	void Record(int tick, byte op)
+	{
+		if (mOut == null)
+			return;
+		try
+		{
+			WriteHead(tick, op);
+		}
+		catch (IOException e)
+		{
+			Fail(e);
+		}
+	}
+	
+	/**
+	 * Record call with an int argument.
+	 * @param tick Tick number
+	 * @param op Op code
+	 * @param a Argument
+	 */
+	void Record(int tick, byte op, int a)
+	{
+		if (mOut == null)
+			return;
+		try
+		{
+			WriteHead(tick, op);
+			mOut.writeInt(a);
+		}
+		catch (IOException e)
+		{
+			Fail(e);
+		}
+	}
+	
+	/**
+	 * Record call with a float argument.
+	 * @param tick Tick number
+	 * @param op Op code
+	 * @param a Argument
+	 */
+	void Record(int tick, byte op, float a)
+	{
+		if (mOut == null)
+			return;
+		try
+		{
+			WriteHead(tick, op);
+			mOut.writeFloat(a);
+		}
+		catch (IOException e)
+		{
+			Fail(e);
+		}
+	}
+	
+	/**
+	 * Record call with two float arguments.
+	 * @param tick Tick number
+	 * @param op Op code
+	 * @param a First argument
+	 * @param b Second argument
+	 */
+	void Record(int tick, byte op, float a, float b)
+	{
+		if (mOut == null)
+			return;
+		try
+		{
+			WriteHead(tick, op);
+			mOut.writeFloat(a);
+			mOut.writeFloat(b);
+		}
+		catch (IOException e)
+		{
+			Fail(e);
+		}
+	}
+	
+	/**
+	 * Record SHAKE call.
+	 * @param tick Tick number
+	 * @param type Shake type
+	 * @param duration Shake duration
+	 * @param radius Shake radius
+	 */
+	void RecordShake(int tick, int type, int duration, float radius)
+	{
+		if (mOut == null)
+			return;
+		try
+		{
+			WriteHead(tick, OP_SHAKE_ON);
+			mOut.writeInt(type);
+			mOut.writeInt(duration);
+			mOut.writeFloat(radius);
+		}
+		catch (IOException e)
+		{
+			Fail(e);
+		}
+	}
+	
+	/**
+	 * Flush and close timeline.
+	 * @throws IOException if timeline cannot be written
+	 */
+	public void Close() throws IOException
+	{
+		if (mOut == null)
+			return;
+		DataOutputStream out = mOut;
+		mOut = null;
+		out.close();
+	}
+	
+	/**
+	 * @return Error that stopped recording, or null
+	 */
+	public IOException GetError()
+	{
+		return mError;
+	}
+	
+	/**
+	 * Write op code and tick of an entry.
+	 * @param tick Tick number
+	 * @param op Op code
+	 * @throws IOException if entry cannot be written
+	 */
+	private void WriteHead(int tick, byte op) throws IOException
+	{
+		mOut.writeByte(op);
+		mOut.writeInt(tick);
+	}
+	
+	/**
+	 * Stop recording after a write error.
+	 * @param e Write error
+	 */
+	private void Fail(IOException e)
+	{
+		mError = e;
+		mOut = null;
+	}
+}
@@ -0,0 +1,257 @@
+package camera;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import GTCS1Lib_Java.Internal.Vector2;
+
+/*****************************************************************************
+ * This <code>CameraTimeline</code> class replays a timeline written by
+ * <code>CameraRecorder</code>. It drives the camera step by step with the
+ * recorded focus and effect calls, without a game loop or user input, so
+ * cutscenes can be reproduced, profiled, and benchmarked frame for frame.
+ * 
+ * Replay on a camera in the same state as when recording started, e.g. a
+ * newly created camera with the same width and map size.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class CameraTimeline
+{
+	/** One recorded call. */
+	private static class Entry
+	{
+		int tick;
+		byte op;
+		int i0;
+		int i1;
+		float f0;
+		float f1;
+	}
+	
+	/* Local variables */
+	private long mSeed;					// Seed of camera's random generator
+	private ArrayList<Entry> mEntries;	// Recorded calls, in order
+	private int mIndex;					// Next entry to replay
+	private int mTick;					// Next tick to replay
+	private Vector2 mFocus;				// Recorded focus
+	
+	/**
+	 * Constructor.
+	 * @param seed Seed of camera's random generator
+	 * @param entries Recorded calls
+	 */
+	private CameraTimeline(long seed, ArrayList<Entry> entries)
+	{
+		mSeed = seed;
+		mEntries = entries;
+		mIndex = 0;
+		mTick = 0;
+		mFocus = new Vector2();
+	}
+	
+	/**
+	 * Read a timeline.
+	 * @param in Stream to read timeline from
+	 * @return Timeline
+	 * @throws IOException if timeline cannot be read or is not a camera timeline
+	 */
+	public static CameraTimeline Read(InputStream in) throws IOException
+	{
+		DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+		if (data.readInt() != CameraRecorder.MAGIC)
+			throw new IOException("Not a camera timeline");
+		int version = data.readInt();
+		if (version < 1 || version > CameraRecorder.VERSION)
+			throw new IOException("Unsupported camera timeline version " + version);
+		long seed = data.readLong();
+		
+		ArrayList<Entry> entries = new ArrayList<Entry>();
+		while (true)
+		{
+			int op = data.read();
+			if (op < 0)
+				break;
+			
+			Entry entry = new Entry();
+			entry.op = (byte)op;
+			entry.tick = data.readInt();
+			switch (entry.op)
+			{
+			case CameraRecorder.OP_FOCUS:
+			case CameraRecorder.OP_SHIFT_ON:
+			case CameraRecorder.OP_MAP_ORIGIN:
+			case CameraRecorder.OP_ORIGIN_SHIFT:
+				entry.f0 = data.readFloat();
+				entry.f1 = data.readFloat();
+				break;
+			case CameraRecorder.OP_SHAKE_ON:
+				entry.i0 = data.readInt();
+				entry.i1 = data.readInt();
+				entry.f0 = data.readFloat();
+				break;
+			case CameraRecorder.OP_SHIFT_SPEED:
+			case CameraRecorder.OP_ZOOM_SPEED:
+			case CameraRecorder.OP_ZOOM_ON:
+			case CameraRecorder.OP_CAMERA_WIDTH:
+			case CameraRecorder.OP_MAP_WIDTH:
+			case CameraRecorder.OP_MAP_HEIGHT:
+				entry.f0 = data.readFloat();
+				break;
+			case CameraRecorder.OP_FADE_SPEED:
+			case CameraRecorder.OP_ENCOUNTER_ON:
+				entry.i0 = data.readInt();
+				break;
+			default:
+				/* Op codes are unsigned, bytes of 128 and up are negative */
+				if ((entry.op & 0xff) > CameraRecorder.OP_ORIGIN_SHIFT)
+					throw new IOException("Unknown camera timeline op code " + op);
+				break;
+			}
+			entries.add(entry);
+		}
+		return new CameraTimeline(seed, entries);
+	}
+	
+	/**
+	 * Start replay from the beginning, seeding camera's random generator.
+	 * @param camera Camera to replay on
+	 */
+	public void Start(Camera camera)
+	{
+		camera.SetSeed(mSeed);
+		mIndex = 0;
+		mTick = 0;
+	}
+	
+	/**
+	 * Replay one step: apply calls recorded for this tick, then update camera.
+	 * @param camera Camera to replay on
+	 * @return True = more recorded calls remain
+	 */
+	public boolean Step(Camera camera)
+	{
+		while (mIndex < mEntries.size() && mEntries.get(mIndex).tick <= mTick)
+		{
+			Apply(camera, mEntries.get(mIndex));
+			mIndex++;
+		}
+		camera.UpdateCamera(mFocus);
+		mTick++;
+		return mIndex < mEntries.size();
+	}
+	
+	/**
+	 * @return Tick of last recorded call, plus one
+	 */
+	public int GetLength()
+	{
+		return mEntries.isEmpty() ? 0 : mEntries.get(mEntries.size() - 1).tick + 1;
+	}
+	
+	/**
+	 * @return Seed of camera's random generator
+	 */
+	public long GetSeed()
+	{
+		return mSeed;
+	}
+	
+	/**
+	 * Apply a recorded call to camera.
+	 * @param camera Camera to replay on
+	 * @param entry Recorded call
+	 */
+	private void Apply(Camera camera, Entry entry)
+	{
+		switch (entry.op)
+		{
+		case CameraRecorder.OP_FOCUS:
+			mFocus.X = entry.f0;
+			mFocus.Y = entry.f1;
+			break;
+		case CameraRecorder.OP_SET_DEFAULT:
+			camera.SetDefault();
+			break;
+		case CameraRecorder.OP_CHASE_ON:
+			camera.TurnChaseON();
+			break;
+		case CameraRecorder.OP_CHASE_OFF:
+			camera.TurnChaseOFF();
+			break;
+		case CameraRecorder.OP_SHAKE_ON:
+			camera.SetShakeEffect(entry.i0, entry.i1, entry.f0);
+			break;
+		case CameraRecorder.OP_SHAKE_OFF:
+			camera.TurnShakeOFF();
+			break;
+		case CameraRecorder.OP_SHIFT_SPEED:
+			camera.SetShiftSpeed(entry.f0);
+			break;
+		case CameraRecorder.OP_SHIFT_ON:
+			camera.TurnShiftON(new Vector2(entry.f0, entry.f1));
+			break;
+		case CameraRecorder.OP_SHIFT_OFF:
+			camera.TurnShiftOFF();
+			break;
+		case CameraRecorder.OP_EVENT_ON:
+			camera.TurnEventON();
+			break;
+		case CameraRecorder.OP_EVENT_OFF:
+			camera.TurnEventOFF();
+			break;
+		case CameraRecorder.OP_EVENT_HIDE:
+			camera.HideEventBox();
+			break;
+		case CameraRecorder.OP_ZOOM_SPEED:
+			camera.SetZoomSpeed(entry.f0);
+			break;
+		case CameraRecorder.OP_ZOOM_ON:
+			camera.TurnZoomON(entry.f0);
+			break;
+		case CameraRecorder.OP_ZOOM_OFF:
+			camera.TurnZoomOFF();
+			break;
+		case CameraRecorder.OP_ZOOM_RESET:
+			camera.ResetZoom();
+			break;
+		case CameraRecorder.OP_FADE_OUT:
+			camera.FadeOut();
+			break;
+		case CameraRecorder.OP_FADE_IN:
+			camera.FadeIn();
+			break;
+		case CameraRecorder.OP_FADE_RESET:
+			camera.ResetFade();
+			break;
+		case CameraRecorder.OP_FADE_SPEED:
+			camera.SetFadeSpeed(entry.i0);
+			break;
+		case CameraRecorder.OP_ENCOUNTER_ON:
+			camera.TurnEncounterON(entry.i0);
+			break;
+		case CameraRecorder.OP_CAMERA_WIDTH:
+			camera.SetCameraWidth(entry.f0);
+			break;
+		case CameraRecorder.OP_MAP_WIDTH:
+			camera.SetMapWidth(entry.f0);
+			break;
+		case CameraRecorder.OP_MAP_HEIGHT:
+			camera.SetMapHeight(entry.f0);
+			break;
+		case CameraRecorder.OP_MAP_ORIGIN:
+			camera.SetMapOrigin(entry.f0, entry.f1);
+			break;
+		case CameraRecorder.OP_ORIGIN_SHIFT:
+			mFocus.X -= entry.f0;
+			mFocus.Y -= entry.f1;
+			camera.ShiftOrigin(entry.f0, entry.f1);
+			break;
+		}
+	}
+}
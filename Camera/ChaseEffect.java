@@ -0,0 +1,52 @@
+package camera;
+
+import GTCS1Lib_Java.Internal.Vector2;
+
+/*****************************************************************************
+ * Camera CHASE effect. Camera slowly chases target's focus.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class ChaseEffect implements CameraEffect
+{
+	/* Constant variables */
+	private static final float CHASE_SPEED = 0.05f;	// Focus chasing speed
+	
+	/* Local variables */
+	private float mChaseSpeed;			// Portion of distance chased per step
+	
+	/** Default Constructor, with default chase speed. */
+	public ChaseEffect()
+	{
+		this(CHASE_SPEED);
+	}
+	
+	/**
+	 * Constructor.
+	 * @param chaseSpeed Portion of distance to focus chased per step (0 to 1)
+	 */
+	public ChaseEffect(float chaseSpeed)
+	{
+		mChaseSpeed = chaseSpeed;
+	}
+	
+	public boolean Step(Camera camera, Vector2 focus)
+	{
+		// Copy original focus
+		camera.TakeOriginalFocus(focus);
+		
+		// Gradually chase focus
+		Vector2 effectFocus = camera.GetEffectFocus();
+		effectFocus.X += (focus.X - effectFocus.X) * mChaseSpeed;
+		effectFocus.Y += (focus.Y - effectFocus.Y) * mChaseSpeed;
+		camera.UseEffectFocus();
+		return true;
+	}
+	
+	public int GetOrder()
+	{
+		return ORDER_CHASE;
+	}
+}
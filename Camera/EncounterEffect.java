@@ -0,0 +1,90 @@
+package camera;
+
+import GTCS1Lib_Java.Internal.Vector2;
+import tween.Completion;
+
+/*****************************************************************************
+ * Camera ENCOUNTER effect. Camera does a fast zoom in together with a fade
+ * out, then resets zoom and fade once zooming is done.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class EncounterEffect implements CameraEffect
+{
+	/* Constant variables */
+	private static final float ENCOUNTER_ZOOM_SPEED = 30f;	// Fast zoom in speed
+	
+	/* Local variables */
+	private ZoomEffect mZoomEffect;		// Zoom driven by encounter
+	private FadeEffect mFadeEffect;		// Fade driven by encounter
+	private float mPrevZoomSpeed;		// Zoom speed before encounter
+	private boolean mIsDoneEncounter;	// Is done with encounter?
+	private Completion mCompletion;		// Completed when done with encounter, null if none
+	
+	/**
+	 * Constructor.
+	 * @param zoomEffect Zoom to drive
+	 * @param fadeEffect Fade to drive
+	 */
+	public EncounterEffect(ZoomEffect zoomEffect, FadeEffect fadeEffect)
+	{
+		mZoomEffect = zoomEffect;
+		mFadeEffect = fadeEffect;
+		mPrevZoomSpeed = zoomEffect.GetZoomSpeed();
+		mIsDoneEncounter = true;
+		mCompletion = null;
+	}
+	
+	/**
+	 * Start encounter, adding zoom, fade, and this effect to camera.
+	 * @param camera Camera running the effect
+	 * @param zoomAmt Amount to zoom (negative to zoom in)
+	 * @return Completed when encounter is done
+	 */
+	public Completion Start(Camera camera, float zoomAmt)
+	{
+		mPrevZoomSpeed = mZoomEffect.GetZoomSpeed();	// keep a record of current zoom speed
+		mZoomEffect.SetZoomSpeed(ENCOUNTER_ZOOM_SPEED);	// set for fast zoom in effect
+		mZoomEffect.ZoomBy(zoomAmt);
+		camera.AddEffect(mZoomEffect);
+		mFadeEffect.FadeOut();
+		camera.AddEffect(mFadeEffect);
+		
+		mIsDoneEncounter = false;
+		camera.AddEffect(this);
+		
+		if (mCompletion != null)
+			mCompletion.Cancel();
+		mCompletion = new Completion();
+		return mCompletion;
+	}
+	
+	/**
+	 * @return True = encounter effect done, False = not done
+	 */
+	public boolean IsDone()
+	{
+		return mIsDoneEncounter;
+	}
+	
+	public boolean Step(Camera camera, Vector2 focus)
+	{
+		if (!mZoomEffect.IsDone())
+			return true;
+		
+		mZoomEffect.Reset(camera);
+		mFadeEffect.Reset(camera);
+		mZoomEffect.SetZoomSpeed(mPrevZoomSpeed);	// reset zoom speed
+		mIsDoneEncounter = true;
+		camera.Finish(mCompletion);
+		mCompletion = null;
+		return false;
+	}
+	
+	public int GetOrder()
+	{
+		return ORDER_ENCOUNTER;
+	}
+}
@@ -0,0 +1,175 @@
+package camera;
+
+import GTCS1Lib_Java.Internal.JavaGTCS1Color;
+import GTCS1Lib_Java.Internal.JavaGTCS1Rectangle;
+import GTCS1Lib_Java.Internal.Vector2;
+import tween.Completion;
+import tween.Easing;
+import tween.TweenScheduler;
+
+/*****************************************************************************
+ * Camera EVENT effect. This adds black transparent borders on Top and Bottom,
+ * which slide in when shown and slide out when hidden.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class EventEffect implements CameraEffect
+{
+	/* Local variables */
+	private JavaGTCS1Rectangle mTopEventBox;	// Top event box
+	private JavaGTCS1Rectangle mBottomEventBox;	// Bottom event box
+	private float mMaxBoxHeight;		// Max event box height
+	private float mBoxHeight;			// Event box height
+	private boolean mShowEventBox;		// Show event box
+	private int mEasing;				// Slide easing curve
+	private Completion mCompletion;		// Completed when done sliding, null if none
+	
+	/* Tween variables */
+	private int mTween;					// Event box height
+	private boolean mStartTween;		// Start tween on next step
+	
+	/**
+	 * Constructor.
+	 * @param cameraWidth Camera width
+	 * @param cameraHeight Camera height
+	 */
+	public EventEffect(float cameraWidth, float cameraHeight)
+	{
+		mTopEventBox = new JavaGTCS1Rectangle(Vector2.Zero, cameraWidth, 0);
+		mBottomEventBox = new JavaGTCS1Rectangle(Vector2.Zero, cameraWidth, 0);
+		mTopEventBox.SetColor(new JavaGTCS1Color(0, 0, 0, 200));
+		mBottomEventBox.SetColor(new JavaGTCS1Color(0, 0, 0, 200));
+		mMaxBoxHeight = cameraHeight / 8f;
+		mBoxHeight = 0;
+		mShowEventBox = false;
+		mEasing = Easing.LINEAR;
+		mCompletion = null;
+		mTween = TweenScheduler.NONE;
+		mStartTween = false;
+	}
+	
+	/** Load event boxes */
+	public void Load()
+	{
+		mTopEventBox.AddToAutoDrawSet();
+		mBottomEventBox.AddToAutoDrawSet();
+	}
+	
+	/** Unload event boxes */
+	public void Unload()
+	{
+		mTopEventBox.RemoveFromAutoDrawSet();
+		mBottomEventBox.RemoveFromAutoDrawSet();
+	}
+	
+	/**
+	 * Show or hide event boxes gradually.
+	 * @param show true = slide in, false = slide out
+	 * @return Completed when done sliding
+	 */
+	public Completion Show(boolean show)
+	{
+		mShowEventBox = show;
+		mStartTween = true;
+		return NewCompletion();
+	}
+	
+	/**
+	 * Set easing curve of next slide.
+	 * @param easing See <code>Easing</code>, default is <code>Easing.LINEAR</code>
+	 */
+	public void SetEasing(int easing)
+	{
+		mEasing = easing;
+	}
+	
+	/**
+	 * Hide event boxes completely.
+	 */
+	public void Hide()
+	{
+		Unload();
+		mBoxHeight = 0;
+		mShowEventBox = false;
+		mStartTween = true;
+		if (mCompletion != null)
+			mCompletion.Cancel();
+		mCompletion = null;
+	}
+	
+	/**
+	 * @return True = event boxes are shown (or sliding in)
+	 */
+	public boolean IsShowing()
+	{
+		return mShowEventBox;
+	}
+	
+	public boolean Step(Camera camera, Vector2 focus)
+	{
+		TweenScheduler tweens = camera.GetTweens();
+		Vector2 lowerLeft = camera.GetLowerLeft();
+		float cameraWidth = camera.GetCameraWidth();
+		
+		/* Start sliding in or out from current height, one unit per step */
+		if (mStartTween)
+		{
+			mStartTween = false;
+			float toHeight = mShowEventBox ? mMaxBoxHeight * 2 : 0;
+			tweens.Cancel(mTween);
+			mTween = tweens.Start(mBoxHeight, toHeight, (int)Math.ceil(Math.abs(toHeight - mBoxHeight)), mEasing, null);
+			if (mShowEventBox)
+				Load();
+		}
+		
+		/* Gradually change event box height */
+		boolean sliding = tweens.IsActive(mTween);
+		if (sliding)
+		{
+			mBoxHeight = tweens.GetValue(mTween);
+		}
+		else
+		{
+			mBoxHeight = mShowEventBox ? mMaxBoxHeight * 2 : 0;
+			camera.Finish(mCompletion);
+			mCompletion = null;
+		}
+		
+		/* Set event box center */
+		mTopEventBox.SetCenterX(lowerLeft.X + cameraWidth / 2);
+		mTopEventBox.SetCenterY(lowerLeft.Y + camera.GetCameraHeight());
+		mBottomEventBox.SetCenterX(lowerLeft.X + cameraWidth / 2);
+		mBottomEventBox.SetCenterY(lowerLeft.Y);
+		
+		/* Set event box height */
+		mTopEventBox.setHeight(mBoxHeight);
+		mBottomEventBox.setHeight(mBoxHeight);
+		
+		/* Event effect is ON, or still sliding out */
+		if (mShowEventBox || sliding)
+			return true;
+		
+		/* Event effect is OFF and boxes are gone */
+		Unload();
+		return false;
+	}
+	
+	public int GetOrder()
+	{
+		return ORDER_EVENT;
+	}
+	
+	/**
+	 * Cancel completion of replaced slide, and create one for the new slide.
+	 * @return New completion
+	 */
+	private Completion NewCompletion()
+	{
+		if (mCompletion != null)
+			mCompletion.Cancel();
+		mCompletion = new Completion();
+		return mCompletion;
+	}
+}
@@ -0,0 +1,139 @@
+package camera;
+
+import GTCS1Lib_Java.Internal.Vector2;
+import tween.Completion;
+import tween.Easing;
+import tween.TweenScheduler;
+
+/*****************************************************************************
+ * Camera FADE effect. Camera mask gradually fades to or from white.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class FadeEffect implements CameraEffect
+{
+	/* Constant variables */
+	private static final int FADE_SPEED = 15;	// Fade speed
+	
+	/* Local variables */
+	private int mFadeSpeed;				// Alpha change per step
+	private int mEasing;				// Fade easing curve
+	private boolean mIsFadeIn;			// Fade in or fade out
+	private Completion mCompletion;		// Completed when done fading, null if none
+	
+	/* Tween variables */
+	private int mTween;					// Mask alpha
+	private boolean mStartTween;		// Start tween on next step
+	
+	/** Default Constructor, with default fade speed. */
+	public FadeEffect()
+	{
+		mFadeSpeed = FADE_SPEED;
+		mEasing = Easing.LINEAR;
+		mIsFadeIn = true;
+		mCompletion = null;
+		mTween = TweenScheduler.NONE;
+		mStartTween = false;
+	}
+	
+	/**
+	 * Fade out, camera mask goes from clear to white.
+	 * @return Completed when mask is white
+	 */
+	public Completion FadeOut()
+	{
+		mIsFadeIn = false;
+		mStartTween = true;
+		return NewCompletion();
+	}
+	
+	/**
+	 * Fade in, camera mask goes from white to clear.
+	 * @return Completed when mask is clear
+	 */
+	public Completion FadeIn()
+	{
+		mIsFadeIn = true;
+		mStartTween = true;
+		return NewCompletion();
+	}
+	
+	/**
+	 * Remove fade and clear camera mask.
+	 * @param camera Camera running the effect
+	 */
+	public void Reset(Camera camera)
+	{
+		camera.GetTweens().Cancel(mTween);
+		if (mCompletion != null)
+			mCompletion.Cancel();
+		mCompletion = null;
+		mStartTween = false;
+		camera.ClearCameraMask();
+		camera.RemoveEffect(this);
+	}
+	
+	/**
+	 * Set fade speed.
+	 * @param fadeSpeed Fade speed, alpha change per step
+	 */
+	public void SetFadeSpeed(int fadeSpeed)
+	{
+		mFadeSpeed = fadeSpeed;
+	}
+	
+	/**
+	 * Set easing curve of next fade.
+	 * @param easing See <code>Easing</code>, default is <code>Easing.LINEAR</code>
+	 */
+	public void SetEasing(int easing)
+	{
+		mEasing = easing;
+	}
+	
+	public boolean Step(Camera camera, Vector2 focus)
+	{
+		TweenScheduler tweens = camera.GetTweens();
+		
+		/* Start fade, from white for fade in or clear for fade out */
+		if (mStartTween)
+		{
+			mStartTween = false;
+			int steps = mFadeSpeed > 0 ? (255 + mFadeSpeed - 1) / mFadeSpeed : Integer.MAX_VALUE;
+			tweens.Cancel(mTween);
+			mTween = tweens.Start(mIsFadeIn ? 255 : 0, mIsFadeIn ? 0 : 255, steps, mEasing, null);
+		}
+		
+		/* Perform fade */
+		if (tweens.IsActive(mTween))
+		{
+			camera.SetFadeMask((int)tweens.GetValue(mTween));
+			return true;
+		}
+		
+		/* Done fading */
+		camera.SetFadeMask(mIsFadeIn ? 0 : 255);
+		camera.Finish(mCompletion);
+		mCompletion = null;
+		return false;
+	}
+	
+	public int GetOrder()
+	{
+		return ORDER_FADE;
+	}
+	
+	/**
+	 * Cancel completion of replaced fade, and create one for the new fade.
+	 * @return New completion
+	 */
+	private Completion NewCompletion()
+	{
+		if (mCompletion != null)
+			mCompletion.Cancel();
+		mCompletion = new Completion();
+		return mCompletion;
+	}
+}
@@ -0,0 +1,293 @@
+package camera;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*****************************************************************************
+ * This <code>MapChunkCache</code> class keeps static tile layers as fixed
+ * size, pre-composited chunk images. The map is split into square chunks of
+ * <code>chunkSize</code> world units. A chunk is composed once per zoom bucket
+ * and then only drawn, so panning draws a handful of chunk images instead
+ * of every tile in view. Zoom bucket 0 is the camera's original width, each
+ * bucket after that is twice as wide, so a renderer can compose zoomed out
+ * chunks at lower resolution.
+ * 
+ * Chunks stay cached until tiles under them change (see <code>Invalidate</code>
+ * methods), or they are the least recently drawn when the cache is full.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class MapChunkCache<T>
+{
+	/**
+	 * Composes and draws chunk images. T is the renderer's image type.
+	 */
+	public interface ChunkRenderer<T>
+	{
+		/**
+		 * Compose static tile layers of a chunk into one image.
+		 * @param left Chunk's left x-coordinate
+		 * @param bottom Chunk's bottom y-coordinate
+		 * @param size Chunk's width and height
+		 * @param zoomBucket Zoom bucket, resolution can be halved per bucket
+		 * @return Chunk image
+		 */
+		public T Compose(float left, float bottom, float size, int zoomBucket);
+		
+		/**
+		 * Draw a chunk image.
+		 * @param image Chunk image
+		 * @param left Chunk's left x-coordinate
+		 * @param bottom Chunk's bottom y-coordinate
+		 * @param size Chunk's width and height
+		 */
+		public void Draw(T image, float left, float bottom, float size);
+		
+		/**
+		 * Free a chunk image no longer cached.
+		 * @param image Chunk image
+		 */
+		public void Release(T image);
+	}
+	
+	/* Constant variables */
+	private static final int MAX_ZOOM_BUCKET = 15;	// Widest zoom bucket
+	
+	/* Local variables */
+	private ChunkRenderer<T> mRenderer;		// Composes and draws chunks
+	private float mChunkSize;				// Width and height of a chunk
+	private int mCapacity;					// Most chunks to keep cached
+	private boolean mEnabled;				// False = compose every drawn chunk
+	private LinkedHashMap<Long, T> mChunks;	// Cached chunks, least recently drawn first
+	private int mComposeCount;				// Chunks composed
+	private int mDrawCount;					// Chunks drawn
+	
+	/**
+	 * Constructor.
+	 * @param renderer Composes and draws chunks
+	 * @param chunkSize Width and height of a chunk, a multiple of tile size
+	 * @param capacity Most chunks to keep cached
+	 */
+	public MapChunkCache(ChunkRenderer<T> renderer, float chunkSize, int capacity)
+	{
+		mRenderer = renderer;
+		mChunkSize = chunkSize;
+		mCapacity = capacity;
+		mEnabled = true;
+		mChunks = new LinkedHashMap<Long, T>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			
+			protected boolean removeEldestEntry(Map.Entry<Long, T> eldest)
+			{
+				if (size() <= mCapacity)
+					return false;
+				mRenderer.Release(eldest.getValue());
+				return true;
+			}
+		};
+		mComposeCount = 0;
+		mDrawCount = 0;
+	}
+	
+	/**
+	 * Draw chunks covering camera's view, composing those not cached.
+	 * @param camera Camera
+	 */
+	public void Draw(Camera camera)
+	{
+		float width = camera.GetCameraWidth();
+		float height = camera.GetCameraHeight();
+		float left = camera.GetLowerLeft().X;
+		float bottom = camera.GetLowerLeft().Y;
+		int bucket = ZoomBucket(width, camera.GetOriginalCameraWidth());
+		
+		for (int col = ChunkOf(left); col <= ChunkOf(left + width); col++)
+		{
+			for (int row = ChunkOf(bottom); row <= ChunkOf(bottom + height); row++)
+			{
+				float chunkLeft = col * mChunkSize;
+				float chunkBottom = row * mChunkSize;
+				
+				/* Uncached path, compose and free every time */
+				if (!mEnabled)
+				{
+					T image = mRenderer.Compose(chunkLeft, chunkBottom, mChunkSize, bucket);
+					mComposeCount++;
+					mRenderer.Draw(image, chunkLeft, chunkBottom, mChunkSize);
+					mRenderer.Release(image);
+					mDrawCount++;
+					continue;
+				}
+				
+				Long key = ChunkKey(bucket, col, row);
+				T image = mChunks.get(key);
+				if (image == null)
+				{
+					image = mRenderer.Compose(chunkLeft, chunkBottom, mChunkSize, bucket);
+					mComposeCount++;
+					mChunks.put(key, image);
+				}
+				mRenderer.Draw(image, chunkLeft, chunkBottom, mChunkSize);
+				mDrawCount++;
+			}
+		}
+	}
+	
+	/**
+	 * Tile at given coordinate changed, recompose its chunk at every zoom bucket.
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 */
+	public void Invalidate(float x, float y)
+	{
+		Invalidate(x, y, x, y);
+	}
+	
+	/**
+	 * Tiles in given area changed, recompose chunks touching it at every zoom bucket.
+	 * @param left Left x-coordinate
+	 * @param bottom Bottom y-coordinate
+	 * @param right Right x-coordinate
+	 * @param top Top y-coordinate
+	 */
+	public void Invalidate(float left, float bottom, float right, float top)
+	{
+		int minCol = ChunkOf(left);
+		int maxCol = ChunkOf(right);
+		int minRow = ChunkOf(bottom);
+		int maxRow = ChunkOf(top);
+		
+		Iterator<Map.Entry<Long, T>> it = mChunks.entrySet().iterator();
+		while (it.hasNext())
+		{
+			Map.Entry<Long, T> entry = it.next();
+			long key = entry.getKey().longValue();
+			int col = (int)(key << 16 >> 40);
+			int row = (int)(key << 40 >> 40);
+			if (col >= minCol && col <= maxCol && row >= minRow && row <= maxRow)
+			{
+				mRenderer.Release(entry.getValue());
+				it.remove();
+			}
+		}
+	}
+	
+	/**
+	 * World origin moved. Cached chunks are kept if the shift is whole chunks,
+	 * otherwise every chunk is recomposed.
+	 * @param dx Shift on x-axis
+	 * @param dy Shift on y-axis
+	 */
+	public void ShiftOrigin(float dx, float dy)
+	{
+		int dCol = Math.round(dx / mChunkSize);
+		int dRow = Math.round(dy / mChunkSize);
+		if (dCol * mChunkSize != dx || dRow * mChunkSize != dy)
+		{
+			InvalidateAll();
+			return;
+		}
+		
+		/* Move chunks to their new keys, keeping draw order */
+		ArrayList<Map.Entry<Long, T>> entries = new ArrayList<Map.Entry<Long, T>>(mChunks.entrySet());
+		mChunks.clear();
+		for (int i = 0; i < entries.size(); i++)
+		{
+			long key = entries.get(i).getKey().longValue();
+			int bucket = (int)(key >>> 48);
+			int col = (int)(key << 16 >> 40);
+			int row = (int)(key << 40 >> 40);
+			mChunks.put(ChunkKey(bucket, col - dCol, row - dRow), entries.get(i).getValue());
+		}
+	}
+	
+	/** Map changed, recompose every chunk. */
+	public void InvalidateAll()
+	{
+		for (T image : mChunks.values())
+			mRenderer.Release(image);
+		mChunks.clear();
+	}
+	
+	/**
+	 * Turn caching on or off, e.g. to compare frame time.
+	 * @param enabled False = compose every drawn chunk
+	 */
+	public void SetEnabled(boolean enabled)
+	{
+		mEnabled = enabled;
+		if (!enabled)
+			InvalidateAll();
+	}
+	
+	/**
+	 * @return Number of chunks cached
+	 */
+	public int GetCachedCount()
+	{
+		return mChunks.size();
+	}
+	
+	/**
+	 * @return Number of chunks composed
+	 */
+	public int GetComposeCount()
+	{
+		return mComposeCount;
+	}
+	
+	/**
+	 * @return Number of chunks drawn
+	 */
+	public int GetDrawCount()
+	{
+		return mDrawCount;
+	}
+	
+	/** Reset compose and draw counters. */
+	public void ResetCounters()
+	{
+		mComposeCount = 0;
+		mDrawCount = 0;
+	}
+	
+	/**
+	 * @param coord x- or y-coordinate
+	 * @return Chunk column or row
+	 */
+	private int ChunkOf(float coord)
+	{
+		return (int)Math.floor(coord / mChunkSize);
+	}
+	
+	/**
+	 * @param width Camera width
+	 * @param baseWidth Camera width of bucket 0
+	 * @return Zoom bucket, doubling width per bucket
+	 */
+	private static int ZoomBucket(float width, float baseWidth)
+	{
+		int bucket = 0;
+		while (width >= baseWidth * 2 && bucket < MAX_ZOOM_BUCKET)
+		{
+			baseWidth *= 2;
+			bucket++;
+		}
+		return bucket;
+	}
+	
+	/**
+	 * @param bucket Zoom bucket
+	 * @param col Chunk column
+	 * @param row Chunk row
+	 * @return Key of chunk, 16 bits bucket, 24 bits column and row
+	 */
+	private static Long ChunkKey(int bucket, int col, int row)
+	{
+		return Long.valueOf(((long)bucket << 48) | ((col & 0xffffffL) << 24) | (row & 0xffffffL));
+	}
+}
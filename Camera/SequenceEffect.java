@@ -0,0 +1,46 @@
+package camera;
+
+import GTCS1Lib_Java.Internal.Vector2;
+
+/*****************************************************************************
+ * Runs camera effects one after another, e.g. chained zooms. The next effect
+ * starts on the step after the previous one is done.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class SequenceEffect implements CameraEffect
+{
+	/* Local variables */
+	private CameraEffect[] mEffects;	// Effects in order
+	private int mCurrent;				// Index of running effect
+	
+	/**
+	 * Constructor.
+	 * @param effects Effects to run in order
+	 */
+	public SequenceEffect(CameraEffect... effects)
+	{
+		mEffects = effects;
+		mCurrent = 0;
+	}
+	
+	/** Start sequence over from first effect. */
+	public void Reset()
+	{
+		mCurrent = 0;
+	}
+	
+	public boolean Step(Camera camera, Vector2 focus)
+	{
+		if (mCurrent < mEffects.length && !mEffects[mCurrent].Step(camera, focus))
+			mCurrent++;
+		return mCurrent < mEffects.length;
+	}
+	
+	public int GetOrder()
+	{
+		return mEffects.length > 0 ? mEffects[0].GetOrder() : ORDER_CHASE;
+	}
+}
@@ -0,0 +1,104 @@
+package camera;
+
+import GTCS1Lib_Java.Internal.Vector2;
+
+/*****************************************************************************
+ * Camera SHAKE effect. Shake Left-Right, Up-Down, or Random (recommended).
+ * Several shakes can run at once, their offsets add up.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class ShakeEffect implements CameraEffect
+{
+	/* Shake types */
+	public static final int LEFT_RIGHT = 0;
+	public static final int UP_DOWN = 1;
+	public static final int RANDOM = 2;
+	
+	/* Local variables */
+	private float mShakeRadius;			// Radius of shake
+	private int mShakeType;				// Type of shake
+	private int mShakeDuration;			// Length of shake (in seconds)
+	private int mShakeTimer;			// Shake timer (in steps)
+	
+	/** Default Constructor, random shake for 5 seconds with 5f radius. */
+	public ShakeEffect()
+	{
+		this(RANDOM, 5, 5f);
+	}
+	
+	/**
+	 * Constructor.
+	 * @param type 0 = Left-Right, 1 = Up-Down, 2 = Random
+	 * @param duration Duration of shake (in seconds)
+	 * @param radius Radius of shake (recommended 10f)
+	 */
+	public ShakeEffect(int type, int duration, float radius)
+	{
+		mShakeType = RANDOM;
+		mShakeTimer = 0;
+		Set(type, duration, radius);
+	}
+	
+	/**
+	 * Set shake type, duration, and radius. Timer keeps running.
+	 * @param type 0 = Left-Right, 1 = Up-Down, 2 = Random
+	 * @param duration Duration of shake (in seconds)
+	 * @param radius Radius of shake (recommended 10f)
+	 */
+	public void Set(int type, int duration, float radius)
+	{
+		if (type >= LEFT_RIGHT && type <= RANDOM)
+			mShakeType = type;
+		mShakeDuration = duration;
+		mShakeRadius = radius;
+	}
+	
+	/** Restart shake timer. */
+	public void Reset()
+	{
+		mShakeTimer = 0;
+	}
+	
+	public boolean Step(Camera camera, Vector2 focus)
+	{
+		/* Done shaking */
+		if (mShakeTimer >= (long)mShakeDuration * Camera.REFRESH_RATE)
+		{
+			mShakeTimer = 0;
+			return false;
+		}
+		
+		/* Shake for given duration */
+		switch (mShakeType)
+		{
+		case LEFT_RIGHT:
+			camera.AddShakeOffset(RandomOffset(camera), 0);
+			break;
+		case UP_DOWN:
+			camera.AddShakeOffset(0, RandomOffset(camera));
+			break;
+		case RANDOM:
+			camera.AddShakeOffset(RandomOffset(camera), RandomOffset(camera));
+			break;
+		}
+		mShakeTimer++;
+		return true;
+	}
+	
+	public int GetOrder()
+	{
+		return ORDER_SHAKE;
+	}
+	
+	/**
+	 * @param camera Camera running the effect
+	 * @return Random offset within shake radius, from camera's random generator
+	 */
+	private float RandomOffset(Camera camera)
+	{
+		return camera.RandomFloat() * mShakeRadius * 2 - mShakeRadius;
+	}
+}
@@ -0,0 +1,230 @@
+package camera;
+
+import GTCS1Lib_Java.Internal.Vector2;
+import tween.Completion;
+import tween.Easing;
+import tween.TweenScheduler;
+
+/*****************************************************************************
+ * Camera SHIFT effect. Camera focus slowly shifts to the coordinate given,
+ * then holds there until told to shift back to original target. Chase effect
+ * is temporarily turned OFF while shifting (if it was ON).
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class ShiftEffect implements CameraEffect
+{
+	/* Constant variables */
+	private static final float SHIFT_SPEED = 4f;	// Shift speed
+	
+	/* Local variables */
+	private Vector2 mShiftFocus;		// Shift focus
+	private float mShiftSpeed;			// Shift speed
+	private int mEasing;				// Shift easing curve
+	private boolean mShowShift;			// Shift to new focus or shift back
+	private boolean mIsDoneShifting;	// Is done shifting?
+	private boolean mResumeChase;		// Turn Chase back ON when done
+	private Completion mCompletion;		// Completed when done shifting, null if none
+	
+	/* Tween variables */
+	private int mTween;					// Shift progress (0 to 1)
+	private boolean mStartTween;		// Start tween on next step
+	private float mFromX;				// Effect focus when shift started
+	private float mFromY;
+	
+	/** Default Constructor, with default shift speed. */
+	public ShiftEffect()
+	{
+		mShiftFocus = new Vector2(0, 0);
+		mShiftSpeed = SHIFT_SPEED;
+		mEasing = Easing.LINEAR;
+		mShowShift = true;
+		mIsDoneShifting = true;
+		mResumeChase = false;
+		mCompletion = null;
+		mTween = TweenScheduler.NONE;
+		mStartTween = false;
+	}
+	
+	/**
+	 * Shift to given coordinate. Pauses camera's Chase effect if it is ON.
+	 * @param camera Camera running the effect
+	 * @param shiftFocus The coordinate to shift to
+	 * @return Completed when focus reaches shift focus
+	 */
+	public Completion ShiftTo(Camera camera, Vector2 shiftFocus)
+	{
+		mShowShift = true;
+		mShiftFocus.X = shiftFocus.X;
+		mShiftFocus.Y = shiftFocus.Y;
+		mIsDoneShifting = false;
+		mStartTween = true;
+		
+		/* Turn off Chase effect temporarily if is currently ON */
+		if (camera.PauseChase())
+			mResumeChase = true;
+		return NewCompletion();
+	}
+	
+	/**
+	 * Shift back to original target.
+	 * @return Completed when focus is back on original target
+	 */
+	public Completion ShiftBack()
+	{
+		mShowShift = false;
+		mShiftFocus.X = 0;
+		mShiftFocus.Y = 0;
+		mIsDoneShifting = false;
+		mStartTween = true;
+		return NewCompletion();
+	}
+	
+	/**
+	 * Stop shifting at once, cancelling its completion. Camera goes back to
+	 * its original focus on its next step.
+	 * @param camera Camera running the effect
+	 */
+	public void Reset(Camera camera)
+	{
+		camera.RemoveEffect(this);
+		camera.GetTweens().Cancel(mTween);
+		mTween = TweenScheduler.NONE;
+		if (mCompletion != null)
+			mCompletion.Cancel();
+		mCompletion = null;
+		mStartTween = false;
+		mIsDoneShifting = true;
+		mResumeChase = false;
+	}
+	
+	/**
+	 * Set shift speed. Shift takes as many steps as it would moving at this speed.
+	 * @param shiftSpeed Shift speed (recommended at 2f)
+	 */
+	public void SetShiftSpeed(float shiftSpeed)
+	{
+		mShiftSpeed = shiftSpeed;
+	}
+	
+	/**
+	 * Set easing curve of next shift.
+	 * @param easing See <code>Easing</code>, default is <code>Easing.LINEAR</code>
+	 */
+	public void SetEasing(int easing)
+	{
+		mEasing = easing;
+	}
+	
+	/**
+	 * @return True = done shifting, False = not done shifting
+	 */
+	public boolean IsDone()
+	{
+		return mIsDoneShifting;
+	}
+	
+	/**
+	 * World origin moved, shift coordinates held by effect.
+	 * @param dx Shift on x-axis
+	 * @param dy Shift on y-axis
+	 */
+	void ShiftOrigin(float dx, float dy)
+	{
+		if (mShowShift)
+		{
+			mShiftFocus.X -= dx;
+			mShiftFocus.Y -= dy;
+		}
+		mFromX -= dx;
+		mFromY -= dy;
+	}
+	
+	public boolean Step(Camera camera, Vector2 focus)
+	{
+		TweenScheduler tweens = camera.GetTweens();
+		
+		/* Set a previous focus to work on */
+		camera.TakeOriginalFocus(focus);
+		Vector2 effectFocus = camera.GetEffectFocus();
+		
+		/* Shift to given coordinate, or back to original focus */
+		float toX = mShowShift ? mShiftFocus.X : focus.X;
+		float toY = mShowShift ? mShiftFocus.Y : focus.Y;
+		
+		/* Start shifting from where effect focus is now */
+		if (mStartTween)
+		{
+			mStartTween = false;
+			mFromX = effectFocus.X;
+			mFromY = effectFocus.Y;
+			float dx = toX - mFromX;
+			float dy = toY - mFromY;
+			tweens.Cancel(mTween);
+			mTween = tweens.Start(0f, 1f, StepsFor((float)Math.sqrt(dx * dx + dy * dy)), mEasing, null);
+		}
+		
+		/* Focus has not shifted completely, gradually shift focus */
+		if (tweens.IsActive(mTween))
+		{
+			float progress = tweens.GetValue(mTween);
+			effectFocus.X = mFromX + (toX - mFromX) * progress;
+			effectFocus.Y = mFromY + (toY - mFromY) * progress;
+			camera.UseEffectFocus();
+			return true;
+		}
+		
+		/* Focus has shifted successfully, hold there */
+		mIsDoneShifting = true;
+		camera.Finish(mCompletion);
+		mCompletion = null;
+		if (mShowShift)
+		{
+			effectFocus.X = toX;
+			effectFocus.Y = toY;
+			camera.UseEffectFocus();
+			return true;
+		}
+		
+		/* Shifted back to original focus */
+		camera.ResetOriginalFocus();
+		
+		/* Return Chase effect to original state */
+		if (mResumeChase)
+		{
+			mResumeChase = false;
+			camera.ResumeChase();
+		}
+		return false;
+	}
+	
+	public int GetOrder()
+	{
+		return ORDER_SHIFT;
+	}
+	
+	/**
+	 * @param distance Distance to shift
+	 * @return Number of steps to shift distance at shift speed
+	 */
+	private int StepsFor(float distance)
+	{
+		if (mShiftSpeed <= 0f)
+			return Integer.MAX_VALUE;
+		return (int)Math.ceil(distance / mShiftSpeed);
+	}
+	
+	/**
+	 * Cancel completion of replaced shift, and create one for the new shift.
+	 * @return New completion
+	 */
+	private Completion NewCompletion()
+	{
+		if (mCompletion != null)
+			mCompletion.Cancel();
+		mCompletion = new Completion();
+		return mCompletion;
+	}
+}
@@ -0,0 +1,325 @@
+package camera;
+
+import java.util.ArrayList;
+
+import Character.Character;
+
+/*****************************************************************************
+ * This <code>ViewportCuller</code> class takes Characters outside of every
+ * camera's view out of the auto-draw set, and puts them back when they come
+ * into view. Every Character is tested again when a camera pans or zooms (or
+ * after <code>Invalidate()</code>). While the cameras hold still, only
+ * Characters that moved since the last update are tested again.
+ * 
+ * Several cameras (e.g. split-screen) share one culling pass. Characters are
+ * first tested against the union of all views, and only those inside it are
+ * tested against each camera. Up to <code>MAX_CAMERAS</code> cameras.
+ * 
+ * Loop over <code>Get(i)</code> and <code>IsVisible(i)</code> to skip updating
+ * Characters nobody can see.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class ViewportCuller
+{
+	/* Constant variables */
+	public static final int MAX_CAMERAS = 32;			// One bit per camera
+	private static final float DEFAULT_MARGIN = 64f;	// Default margin around view
+	private static final int ALL_CAMERAS = -1;			// Visible to every camera
+	
+	/* Local variables */
+	private ArrayList<Camera> mCameras;			// Cameras to cull against
+	private long[] mLastVersions;				// Camera versions at last recompute
+	private ArrayList<Character> mCharacters;	// Culled Characters
+	private int[] mVisible;				// Bit per camera seeing Character, by index in mCharacters
+	private float[] mTestedX;			// Center when last tested, by index in mCharacters
+	private float[] mTestedY;
+	private int mVisibleCount;			// Number of Characters visible to any camera
+	private float mMargin;				// Extra space around views
+	private boolean mDirty;				// Recompute on next update
+	
+	/** Default Constructor, with default margin. */
+	public ViewportCuller()
+	{
+		this(DEFAULT_MARGIN);
+	}
+	
+	/**
+	 * Constructor.
+	 * @param margin Extra space around views
+	 */
+	public ViewportCuller(float margin)
+	{
+		mCameras = new ArrayList<Camera>();
+		mLastVersions = new long[MAX_CAMERAS];
+		mCharacters = new ArrayList<Character>();
+		mVisible = new int[16];
+		mTestedX = new float[16];
+		mTestedY = new float[16];
+		mVisibleCount = 0;
+		mMargin = margin;
+		mDirty = true;
+	}
+	
+	/**
+	 * Add camera to cull against.
+	 * @param camera Camera
+	 */
+	public void AddCamera(Camera camera)
+	{
+		if (mCameras.contains(camera) || mCameras.size() == MAX_CAMERAS)
+			return;
+		mCameras.add(camera);
+		mDirty = true;
+	}
+	
+	/**
+	 * Stop culling against camera.
+	 * @param camera Camera
+	 */
+	public void RemoveCamera(Camera camera)
+	{
+		if (mCameras.remove(camera))
+			mDirty = true;
+	}
+	
+	/**
+	 * @param camera Camera
+	 * @return Index of camera, for <code>IsVisible(int, int)</code>, or -1
+	 */
+	public int IndexOfCamera(Camera camera)
+	{
+		return mCameras.indexOf(camera);
+	}
+	
+	/**
+	 * Add Character to culling. It is assumed to be in the auto-draw set.
+	 * @param character Character to cull
+	 */
+	public void Add(Character character)
+	{
+		if (mCharacters.contains(character))
+			return;
+		
+		if (mCharacters.size() == mVisible.length)
+		{
+			int[] visible = new int[mVisible.length * 2];
+			System.arraycopy(mVisible, 0, visible, 0, mVisible.length);
+			mVisible = visible;
+			float[] testedX = new float[visible.length];
+			System.arraycopy(mTestedX, 0, testedX, 0, mTestedX.length);
+			mTestedX = testedX;
+			float[] testedY = new float[visible.length];
+			System.arraycopy(mTestedY, 0, testedY, 0, mTestedY.length);
+			mTestedY = testedY;
+		}
+		mVisible[mCharacters.size()] = ALL_CAMERAS;
+		mCharacters.add(character);
+		mVisibleCount++;
+		mDirty = true;
+	}
+	
+	/**
+	 * Remove Character from culling. Culled Characters are put back in the auto-draw set.
+	 * @param character Character to stop culling
+	 */
+	public void Remove(Character character)
+	{
+		int i = mCharacters.indexOf(character);
+		if (i < 0)
+			return;
+		
+		if (mVisible[i] != 0)
+			mVisibleCount--;
+		else
+			character.AddToAutoDrawSet();
+		
+		/* Move last Character into removed slot */
+		int last = mCharacters.size() - 1;
+		mCharacters.set(i, mCharacters.get(last));
+		mVisible[i] = mVisible[last];
+		mTestedX[i] = mTestedX[last];
+		mTestedY[i] = mTestedY[last];
+		mCharacters.remove(last);
+	}
+	
+	/**
+	 * Remove all Characters from culling, putting culled ones back in the auto-draw set.
+	 */
+	public void Clear()
+	{
+		for (int i = 0; i < mCharacters.size(); i++)
+		{
+			if (mVisible[i] == 0)
+				mCharacters.get(i).AddToAutoDrawSet();
+		}
+		mCharacters.clear();
+		mVisibleCount = 0;
+	}
+	
+	/**
+	 * Set extra space around views.
+	 * @param margin Margin
+	 */
+	public void SetMargin(float margin)
+	{
+		mMargin = margin;
+		mDirty = true;
+	}
+	
+	/**
+	 * Test every Character again on next update.
+	 */
+	public void Invalidate()
+	{
+		mDirty = true;
+	}
+	
+	/**
+	 * Update culling against a single camera, adding it if needed.
+	 * @param camera Camera to cull against
+	 */
+	public void Update(Camera camera)
+	{
+		if (!mCameras.contains(camera))
+			AddCamera(camera);
+		Update();
+	}
+	
+	/**
+	 * Update culling. Tests every Character when a camera panned or zoomed since
+	 * last time, otherwise only Characters that moved.
+	 */
+	public void Update()
+	{
+		boolean all = mDirty || CamerasChanged();
+		mDirty = false;
+		
+		/* Union of all views */
+		float left = Float.MAX_VALUE;
+		float bottom = Float.MAX_VALUE;
+		float right = -Float.MAX_VALUE;
+		float top = -Float.MAX_VALUE;
+		for (int c = 0; c < mCameras.size(); c++)
+		{
+			Camera camera = mCameras.get(c);
+			left = Math.min(left, camera.GetLowerLeft().X);
+			bottom = Math.min(bottom, camera.GetLowerLeft().Y);
+			right = Math.max(right, camera.GetTopX());
+			top = Math.max(top, camera.GetTopY());
+			mLastVersions[c] = camera.GetVersion();
+		}
+		
+		for (int i = 0; i < mCharacters.size(); i++)
+		{
+			Character character = mCharacters.get(i);
+			float x = character.GetCenterX();
+			float y = character.GetCenterY();
+			if (!all && x == mTestedX[i] && y == mTestedY[i])
+				continue;
+			mTestedX[i] = x;
+			mTestedY[i] = y;
+			float reach = character.GetRadius() + mMargin;
+			
+			/* Test against each camera only if inside union of views */
+			int visible = 0;
+			if (x + reach >= left && x - reach <= right && y + reach >= bottom && y - reach <= top)
+			{
+				for (int c = 0; c < mCameras.size(); c++)
+				{
+					if (mCameras.get(c).IsInView(x, y, character.GetRadius(), mMargin))
+						visible |= 1 << c;
+				}
+			}
+			
+			boolean wasVisible = mVisible[i] != 0;
+			mVisible[i] = visible;
+			if ((visible != 0) == wasVisible)
+				continue;
+			
+			/* Came into view */
+			if (visible != 0)
+			{
+				character.AddToAutoDrawSet();
+				mVisibleCount++;
+			}
+			/* Went out of every view */
+			else
+			{
+				character.RemoveFromAutoDrawSet();
+				mVisibleCount--;
+			}
+		}
+	}
+	
+	/**
+	 * @param i Index of Character, from 0 to <code>GetCount() - 1</code>
+	 * @return Culled Character at index
+	 */
+	public Character Get(int i)
+	{
+		return mCharacters.get(i);
+	}
+	
+	/**
+	 * @param i Index of Character, from 0 to <code>GetCount() - 1</code>
+	 * @return True = Character at index is in view of any camera
+	 */
+	public boolean IsVisible(int i)
+	{
+		return mVisible[i] != 0;
+	}
+	
+	/**
+	 * @param i Index of Character, from 0 to <code>GetCount() - 1</code>
+	 * @param cameraIndex Index of camera, see <code>IndexOfCamera()</code>
+	 * @return True = Character at index is in view of given camera
+	 */
+	public boolean IsVisible(int i, int cameraIndex)
+	{
+		return (mVisible[i] & (1 << cameraIndex)) != 0;
+	}
+	
+	/**
+	 * Check visibility of a Character. Looks the Character up, so use 
+	 * <code>IsVisible(int)</code> when looping over all Characters.
+	 * @param character Character to check
+	 * @return True = Character is in view of any camera (or not culled)
+	 */
+	public boolean IsVisible(Character character)
+	{
+		int i = mCharacters.indexOf(character);
+		return i < 0 || mVisible[i] != 0;
+	}
+	
+	/**
+	 * @return Number of Characters in view of any camera
+	 */
+	public int GetVisibleCount()
+	{
+		return mVisibleCount;
+	}
+	
+	/**
+	 * @return Number of Characters culled
+	 */
+	public int GetCount()
+	{
+		return mCharacters.size();
+	}
+	
+	/**
+	 * @return True = a camera changed since last recompute
+	 */
+	private boolean CamerasChanged()
+	{
+		for (int c = 0; c < mCameras.size(); c++)
+		{
+			if (mCameras.get(c).GetVersion() != mLastVersions[c])
+				return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,217 @@
+package camera;
+
+import GTCS1Lib_Java.Internal.Vector2;
+import tween.Completion;
+import tween.Easing;
+import tween.TweenScheduler;
+
+/*****************************************************************************
+ * Camera ZOOM effect. Camera is able to Zoom IN, OUT, and back to its
+ * original width. Chain zooms with <code>SequenceEffect</code>.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class ZoomEffect implements CameraEffect
+{
+	/* Constant variables */
+	private static final float ZOOM_SPEED = 3f;			// Zoom speed
+	private static final float MIN_CAMERA_WIDTH = 100f;	// Narrowest camera width
+	
+	/* Local variables */
+	private float mZoomAmount;			// Amount to zoom (- or +)
+	private float mZoomSpeed;			// Speed of zoom
+	private int mEasing;				// Zoom easing curve
+	private boolean mShowZoom;			// Zoom by amount, or return to original width
+	private boolean mIsDoneZooming;		// Is done zooming?
+	private Completion mCompletion;		// Completed when done zooming, null if none
+	
+	/* Tween variables */
+	private int mTween;					// Camera width
+	private boolean mStartTween;		// Start tween from camera width on next step
+	private float mTargetWidth;			// Camera width once tween is done
+	
+	/** Default Constructor, with default zoom speed. */
+	public ZoomEffect()
+	{
+		mZoomAmount = 0;
+		mZoomSpeed = ZOOM_SPEED;
+		mEasing = Easing.LINEAR;
+		mShowZoom = false;
+		mIsDoneZooming = true;
+		mCompletion = null;
+		mTween = TweenScheduler.NONE;
+		mStartTween = true;
+		mTargetWidth = 0;
+	}
+	
+	/**
+	 * Constructor, zoom by given amount.
+	 * @param zoomAmt Amount to zoom (positive to zoom out, negative to zoom in)
+	 * @param zoomSpeed Speed of zoom (larger the faster, recommend 3f)
+	 */
+	public ZoomEffect(float zoomAmt, float zoomSpeed)
+	{
+		this();
+		SetZoomSpeed(zoomSpeed);
+		ZoomBy(zoomAmt);
+	}
+	
+	/**
+	 * Zoom by given amount, starting from camera width on next step.
+	 * @param zoomAmt Amount to zoom (positive to zoom out, negative to zoom in)
+	 * @return Completed when done zooming
+	 */
+	public Completion ZoomBy(float zoomAmt)
+	{
+		mShowZoom = true;
+		mZoomAmount = zoomAmt;
+		mStartTween = true;
+		mIsDoneZooming = false;
+		return NewCompletion();
+	}
+	
+	/**
+	 * Return camera to its original width.
+	 * @return Completed when back to original width
+	 */
+	public Completion ZoomBack()
+	{
+		mShowZoom = false;
+		mZoomAmount = 0;
+		mStartTween = true;
+		mIsDoneZooming = false;
+		return NewCompletion();
+	}
+	
+	/**
+	 * Stop zooming and return camera to its original width at once.
+	 * @param camera Camera running the effect
+	 */
+	public void Reset(Camera camera)
+	{
+		camera.RemoveEffect(this);
+		camera.GetTweens().Cancel(mTween);
+		if (mCompletion != null)
+			mCompletion.Cancel();
+		mCompletion = null;
+		mStartTween = true;
+		mIsDoneZooming = true;
+		camera.ResizeCamera(camera.GetOriginalCameraWidth());
+	}
+	
+	/**
+	 * Set zoom speed. Zoom takes as many steps as it would changing width at this speed.
+	 * @param zoomSpeed Speed of zoom (negative is treated as 0)
+	 */
+	public void SetZoomSpeed(float zoomSpeed)
+	{
+		mZoomSpeed = zoomSpeed < 0 ? 0 : zoomSpeed;
+	}
+	
+	/**
+	 * @return Speed of zoom
+	 */
+	public float GetZoomSpeed()
+	{
+		return mZoomSpeed;
+	}
+	
+	/**
+	 * Set easing curve of next zoom.
+	 * @param easing See <code>Easing</code>, default is <code>Easing.LINEAR</code>
+	 */
+	public void SetEasing(int easing)
+	{
+		mEasing = easing;
+	}
+	
+	/**
+	 * @return True = done zooming, False = not done zooming
+	 */
+	public boolean IsDone()
+	{
+		return mIsDoneZooming;
+	}
+	
+	/**
+	 * @param camera Camera running the effect
+	 * @return Camera width once zoom is done
+	 */
+	public float GetTargetWidth(Camera camera)
+	{
+		if (!mStartTween)
+			return mTargetWidth;
+		if (!mShowZoom)
+			return camera.GetOriginalCameraWidth();
+		
+		float startWidth = camera.GetCameraWidth();
+		float targetWidth = startWidth + mZoomAmount;
+		if (mZoomAmount > 0)
+			return Math.max(startWidth, Math.min(targetWidth, camera.GetMapWidth()));
+		if (mZoomAmount < 0)
+			return Math.min(startWidth, Math.max(targetWidth, MIN_CAMERA_WIDTH));
+		return startWidth;
+	}
+	
+	public boolean Step(Camera camera, Vector2 focus)
+	{
+		TweenScheduler tweens = camera.GetTweens();
+		
+		/* Start zooming from camera width, within map width and min width */
+		if (mStartTween)
+		{
+			float cameraWidth = camera.GetCameraWidth();
+			mTargetWidth = GetTargetWidth(camera);
+			mStartTween = false;
+			tweens.Cancel(mTween);
+			mTween = tweens.Start(cameraWidth, mTargetWidth, StepsFor(Math.abs(mTargetWidth - cameraWidth)), mEasing, null);
+		}
+		
+		/* Gradually adjust camera width */
+		if (tweens.IsActive(mTween))
+		{
+			camera.ResizeCamera(tweens.GetValue(mTween));
+			return true;
+		}
+		
+		/* Done zooming, or no zoom in/out needed */
+		camera.ResizeCamera(mTargetWidth);
+		mIsDoneZooming = true;
+		mStartTween = true;
+		if (!mShowZoom)
+			mZoomAmount = 0;
+		camera.Finish(mCompletion);
+		mCompletion = null;
+		return false;
+	}
+	
+	public int GetOrder()
+	{
+		return ORDER_ZOOM;
+	}
+	
+	/**
+	 * @param change Change in camera width
+	 * @return Number of steps to change width at zoom speed
+	 */
+	private int StepsFor(float change)
+	{
+		if (mZoomSpeed <= 0f)
+			return Integer.MAX_VALUE;
+		return (int)Math.ceil(change / mZoomSpeed);
+	}
+	
+	/**
+	 * Cancel completion of replaced zoom, and create one for the new zoom.
+	 * @return New completion
+	 */
+	private Completion NewCompletion()
+	{
+		if (mCompletion != null)
+			mCompletion.Cancel();
+		mCompletion = new Completion();
+		return mCompletion;
+	}
+}
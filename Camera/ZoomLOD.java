@@ -0,0 +1,357 @@
+package camera;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import Character.CellMap;
+import Character.Character;
+import GTCS1Lib_Java.Internal.JavaGTCS1Color;
+import GTCS1Lib_Java.Internal.JavaGTCS1Rectangle;
+import GTCS1Lib_Java.Internal.Vector2;
+
+/*****************************************************************************
+ * This <code>ZoomLOD</code> class lowers Character detail as the camera
+ * zooms out. Past the freeze width sprite animation stops, past the low
+ * detail width Characters switch to their low resolution texture, and past
+ * the cluster width dense groups collapse into a single cluster marker that
+ * shows how many Characters it stands for. Work is only redone when the
+ * camera changes (or after <code>Invalidate()</code>), and clusters also
+ * when a Character moved into another cluster cell.
+ * 
+ * Characters hidden in a cluster are taken out of the auto-draw set, so do
+ * not also manage them with a <code>ViewportCuller</code>.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public class ZoomLOD
+{
+	/* Constant variables */
+	private static final float CLUSTER_CELL_RATIO = 0.08f;	// Cluster cell size, as ratio of camera width
+	private static final int MIN_CLUSTER_SIZE = 4;			// Fewest Characters to form a cluster
+	
+	/* Local variables */
+	private ArrayList<Character> mCharacters;	// Characters managed
+	private boolean[] mClustered;				// Hidden in a cluster, by index in mCharacters
+	private long[] mCellOf;						// Cluster cell when last clustered, by index in mCharacters
+	private float mFreezeWidth;					// Camera width to freeze animation at
+	private float mLowDetailWidth;				// Camera width to use low resolution texture at
+	private float mClusterWidth;				// Camera width to cluster at
+	private int mDetailLevel;					// Current detail level
+	private long mLastVersion;					// Camera version at last update
+	private boolean mDirty;						// Redo on next update
+	
+	/* Cluster variables */
+	private CellMap mCells;						// Index in cell arrays, by cell
+	private int[] mCellCount;					// Members, by cell index
+	private int[] mCellSumX;					// Sum of member centers, by cell index
+	private int[] mCellSumY;
+	private int mCellsUsed;						// Cell indexes in use
+	private ArrayList<JavaGTCS1Rectangle> mMarkers;	// Cluster markers, pooled
+	private int mMarkersShown;					// Markers in use
+	
+	/**
+	 * Constructor.
+	 * @param freezeWidth Camera width to freeze sprite animation at
+	 * @param lowDetailWidth Camera width to use low resolution textures at
+	 * @param clusterWidth Camera width to collapse dense groups at
+	 */
+	public ZoomLOD(float freezeWidth, float lowDetailWidth, float clusterWidth)
+	{
+		mCharacters = new ArrayList<Character>();
+		mClustered = new boolean[16];
+		mCellOf = new long[16];
+		mFreezeWidth = freezeWidth;
+		mLowDetailWidth = lowDetailWidth;
+		mClusterWidth = clusterWidth;
+		mDetailLevel = Character.DETAIL_FULL;
+		mLastVersion = -1;
+		mDirty = true;
+		mCells = new CellMap();
+		mCellCount = new int[16];
+		mCellSumX = new int[16];
+		mCellSumY = new int[16];
+		mCellsUsed = 0;
+		mMarkers = new ArrayList<JavaGTCS1Rectangle>();
+		mMarkersShown = 0;
+	}
+	
+	/**
+	 * Add Character to manage. It is assumed to be in the auto-draw set.
+	 * @param character Character
+	 */
+	public void Add(Character character)
+	{
+		if (mCharacters.contains(character))
+			return;
+		
+		if (mCharacters.size() == mClustered.length)
+		{
+			boolean[] clustered = new boolean[mClustered.length * 2];
+			System.arraycopy(mClustered, 0, clustered, 0, mClustered.length);
+			mClustered = clustered;
+			long[] cellOf = new long[clustered.length];
+			System.arraycopy(mCellOf, 0, cellOf, 0, mCellOf.length);
+			mCellOf = cellOf;
+		}
+		mClustered[mCharacters.size()] = false;
+		mCharacters.add(character);
+		character.SetDetailLevel(mDetailLevel);
+		mDirty = true;
+	}
+	
+	/**
+	 * Stop managing Character, returning it to full detail.
+	 * @param character Character
+	 */
+	public void Remove(Character character)
+	{
+		int i = mCharacters.indexOf(character);
+		if (i < 0)
+			return;
+		
+		if (mClustered[i])
+			character.AddToAutoDrawSet();
+		character.SetDetailLevel(Character.DETAIL_FULL);
+		
+		/* Move last Character into removed slot */
+		int last = mCharacters.size() - 1;
+		mCharacters.set(i, mCharacters.get(last));
+		mClustered[i] = mClustered[last];
+		mCellOf[i] = mCellOf[last];
+		mCharacters.remove(last);
+		mDirty = true;
+	}
+	
+	/**
+	 * Set camera widths at which detail is lowered.
+	 * @param freezeWidth Camera width to freeze sprite animation at
+	 * @param lowDetailWidth Camera width to use low resolution textures at
+	 * @param clusterWidth Camera width to collapse dense groups at
+	 */
+	public void SetThresholds(float freezeWidth, float lowDetailWidth, float clusterWidth)
+	{
+		mFreezeWidth = freezeWidth;
+		mLowDetailWidth = lowDetailWidth;
+		mClusterWidth = clusterWidth;
+		mDirty = true;
+	}
+	
+	/**
+	 * Redo detail and clusters on next update, e.g. after Characters moved far.
+	 */
+	public void Invalidate()
+	{
+		mDirty = true;
+	}
+	
+	/**
+	 * Update detail level and clusters for camera's current width.
+	 * @param camera Camera
+	 */
+	public void Update(Camera camera)
+	{
+		if (!mDirty && camera.GetVersion() == mLastVersion)
+		{
+			/* Camera held still, only clusters change as Characters move */
+			float width = camera.GetCameraWidth();
+			if (width >= mClusterWidth && CellsChanged(width * CLUSTER_CELL_RATIO))
+				Cluster(width * CLUSTER_CELL_RATIO);
+			return;
+		}
+		mLastVersion = camera.GetVersion();
+		mDirty = false;
+		
+		float width = camera.GetCameraWidth();
+		
+		/* Set detail level, only when it changed */
+		int level = Character.DETAIL_FULL;
+		if (width >= mLowDetailWidth)
+			level = Character.DETAIL_LOW;
+		else if (width >= mFreezeWidth)
+			level = Character.DETAIL_FROZEN;
+		if (level != mDetailLevel)
+		{
+			mDetailLevel = level;
+			for (int i = 0; i < mCharacters.size(); i++)
+				mCharacters.get(i).SetDetailLevel(level);
+		}
+		
+		if (width >= mClusterWidth)
+			Cluster(width * CLUSTER_CELL_RATIO);
+		else
+			Uncluster();
+	}
+	
+	/**
+	 * @return Current detail level
+	 */
+	public int GetDetailLevel()
+	{
+		return mDetailLevel;
+	}
+	
+	/**
+	 * @return Number of cluster markers shown
+	 */
+	public int GetClusterCount()
+	{
+		return mMarkersShown;
+	}
+	
+	/** Show all Characters and hide cluster markers. */
+	public void Unload()
+	{
+		Uncluster();
+		for (int i = 0; i < mMarkers.size(); i++)
+			mMarkers.get(i).RemoveFromAutoDrawSet();
+	}
+	
+	/**
+	 * Collapse cells with enough Characters into cluster markers.
+	 * @param cellSize Cell width and height
+	 */
+	private void Cluster(float cellSize)
+	{
+		/* Count members and sum positions per cell, cell arrays are kept between calls */
+		mCells.Clear();
+		mCellsUsed = 0;
+		for (int i = 0; i < mCharacters.size(); i++)
+		{
+			Character character = mCharacters.get(i);
+			mCellOf[i] = CellOf(character, cellSize);
+			int cell = mCells.Get(mCellOf[i]);
+			if (cell == CellMap.NONE)
+			{
+				cell = NewCell();
+				mCells.Put(mCellOf[i], cell);
+			}
+			mCellCount[cell]++;
+			mCellSumX[cell] += (int)character.GetCenterX();
+			mCellSumY[cell] += (int)character.GetCenterY();
+		}
+		
+		/* Hide members of dense cells, show the rest */
+		for (int i = 0; i < mCharacters.size(); i++)
+		{
+			Character character = mCharacters.get(i);
+			boolean clustered = mCellCount[mCells.Get(mCellOf[i])] >= MIN_CLUSTER_SIZE;
+			if (clustered == mClustered[i])
+				continue;
+			if (clustered)
+				character.RemoveFromAutoDrawSet();
+			else
+				character.AddToAutoDrawSet();
+			mClustered[i] = clustered;
+		}
+		
+		/* Place a marker on each dense cell */
+		int shown = 0;
+		for (int cell = 0; cell < mCellsUsed; cell++)
+		{
+			int count = mCellCount[cell];
+			if (count < MIN_CLUSTER_SIZE)
+				continue;
+			JavaGTCS1Rectangle marker = GetMarker(shown);
+			marker.SetCenterX((float)mCellSumX[cell] / count);
+			marker.SetCenterY((float)mCellSumY[cell] / count);
+			marker.SetLabel(Integer.toString(count));
+			if (shown >= mMarkersShown)
+				marker.AddToAutoDrawSet();
+			shown++;
+		}
+		HideMarkers(shown);
+	}
+	
+	/**
+	 * Take next cell index, growing cell arrays if needed.
+	 * @return Cell index, with no members
+	 */
+	private int NewCell()
+	{
+		if (mCellsUsed == mCellCount.length)
+		{
+			mCellCount = Arrays.copyOf(mCellCount, mCellsUsed * 2);
+			mCellSumX = Arrays.copyOf(mCellSumX, mCellsUsed * 2);
+			mCellSumY = Arrays.copyOf(mCellSumY, mCellsUsed * 2);
+		}
+		int cell = mCellsUsed++;
+		mCellCount[cell] = 0;
+		mCellSumX[cell] = 0;
+		mCellSumY[cell] = 0;
+		return cell;
+	}
+	
+	/**
+	 * @param cellSize Cell width and height
+	 * @return True = a Character moved into another cell since last clustered
+	 */
+	private boolean CellsChanged(float cellSize)
+	{
+		for (int i = 0; i < mCharacters.size(); i++)
+		{
+			if (CellOf(mCharacters.get(i), cellSize) != mCellOf[i])
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Show every clustered Character and hide all markers.
+	 */
+	private void Uncluster()
+	{
+		for (int i = 0; i < mCharacters.size(); i++)
+		{
+			if (mClustered[i])
+			{
+				mCharacters.get(i).AddToAutoDrawSet();
+				mClustered[i] = false;
+			}
+		}
+		HideMarkers(0);
+	}
+	
+	/**
+	 * Hide markers from given index on.
+	 * @param shown Number of markers to keep
+	 */
+	private void HideMarkers(int shown)
+	{
+		for (int i = shown; i < mMarkersShown; i++)
+			mMarkers.get(i).RemoveFromAutoDrawSet();
+		mMarkersShown = shown;
+	}
+	
+	/**
+	 * Get a pooled marker, creating it if needed. Markers are sized to half a
+	 * cell at the cluster width.
+	 * @param index Marker index
+	 * @return Marker
+	 */
+	private JavaGTCS1Rectangle GetMarker(int index)
+	{
+		if (index == mMarkers.size())
+		{
+			float size = mClusterWidth * CLUSTER_CELL_RATIO / 2;
+			JavaGTCS1Rectangle marker = new JavaGTCS1Rectangle(Vector2.Zero, size, size);
+			marker.SetColor(new JavaGTCS1Color(200, 40, 40, 200));
+			marker.SetLabelColor(new JavaGTCS1Color(255, 255, 255, 255));
+			mMarkers.add(marker);
+		}
+		return mMarkers.get(index);
+	}
+	
+	/**
+	 * @param character Character
+	 * @param cellSize Cell width and height
+	 * @return Key of cell Character is in
+	 */
+	private static long CellOf(Character character, float cellSize)
+	{
+		int col = (int)Math.floor(character.GetCenterX() / cellSize);
+		int row = (int)Math.floor(character.GetCenterY() / cellSize);
+		return CellMap.Key(col, row);
+	}
+}
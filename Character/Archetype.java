@@ -0,0 +1,119 @@
+package Character;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/*****************************************************************************
+ * This <code>Archetype</code> class describes a kind of Character: which
+ * class it is, its sprite sheet, sprite rows and monster type. Archetypes
+ * are loaded by <code>ArchetypeRegistry</code> and cannot change, so every
+ * Character of a kind shares the same one. A deserialized archetype is
+ * replaced by the default registry's one of the same name, if any.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public final class Archetype implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+	
+	/* Character class spawned */
+	public enum Kind
+	{
+		Hero,
+		NPC,
+		Monster
+	}
+	
+	/* Local variables */
+	private final Kind mKind;
+	private final String mName;				// Name spawned by, e.g. "Monster_Zombie"
+	private final String mTexture;			// Sprite sheet texture
+	private final int mColumns;				// Sprite sheet columns
+	private final int mRows;				// Sprite sheet rows
+	private final int mPadding;				// Sprite sheet padding
+	private final int[] mSprite;			// Sprite fields, indexed like CharacterStore.REST_BEGIN
+	private final String mMonsterType;		// Monster type, empty if none
+	
+	/**
+	 * Constructor.
+	 * @param kind Character class spawned
+	 * @param name Name spawned by
+	 * @param texture Sprite sheet texture
+	 * @param columns Sprite sheet columns
+	 * @param rows Sprite sheet rows
+	 * @param padding Sprite sheet padding
+	 * @param sprite Rest and walk columns, then rows facing S, E, N, W
+	 * @param monsterType Monster type, empty if none
+	 */
+	public Archetype(Kind kind, String name, String texture, int columns, int rows, int padding,
+					 int[] sprite, String monsterType)
+	{
+		if (sprite.length != CharacterStore.SPRITE_FIELDS)
+			throw new IllegalArgumentException("Archetype " + name + " needs " + CharacterStore.SPRITE_FIELDS + " sprite fields");
+		
+		mKind = kind;
+		mName = name;
+		mTexture = texture;
+		mColumns = columns;
+		mRows = rows;
+		mPadding = padding;
+		mSprite = sprite.clone();
+		mMonsterType = monsterType;
+	}
+	
+	public Kind GetKind()
+	{
+		return mKind;
+	}
+	
+	public String GetName()
+	{
+		return mName;
+	}
+	
+	public String GetTexture()
+	{
+		return mTexture;
+	}
+	
+	public int GetColumns()
+	{
+		return mColumns;
+	}
+	
+	public int GetRows()
+	{
+		return mRows;
+	}
+	
+	public int GetPadding()
+	{
+		return mPadding;
+	}
+	
+	/**
+	 * @param field Sprite field, e.g. <code>CharacterStore.REST_BEGIN</code>
+	 * @return Sprite column or row
+	 */
+	public int GetSprite(int field)
+	{
+		return mSprite[field];
+	}
+	
+	public String GetMonsterType()
+	{
+		return mMonsterType;
+	}
+	
+	/**
+	 * @return Default registry's archetype of same name, so Characters share it again
+	 * @throws ObjectStreamException never
+	 */
+	private Object readResolve() throws ObjectStreamException
+	{
+		Archetype shared = ArchetypeRegistry.GetDefault().Get(mName);
+		return shared != null && shared.mKind == mKind ? shared : this;
+	}
+}
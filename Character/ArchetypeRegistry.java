@@ -0,0 +1,229 @@
+package Character;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import Character.Hero.Hero;
+import Character.Monster.Monster;
+import Character.NPC.NPC;
+import GTCS1Lib_Java.Internal.Vector2;
+
+/*****************************************************************************
+ * This <code>ArchetypeRegistry</code> class holds every kind of Character a
+ * game can spawn, read from one descriptor file. Each line describes one
+ * archetype:
+ * <pre>
+ * # kind   name            texture            cols rows pad  rest  walk  S E N W  monster type
+ * Monster  Monster_Zombie  zombie_sprite.png  1    2    0    0 0   0 0   0 1 1 0  Zombie
+ * </pre>
+ * Lines starting with <code>#</code> are comments. A monster type of
+ * <code>-</code> means none.
+ *
+ * The registry cannot change once read. Spawning looks the archetype up and
+ * creates a plain <code>Hero</code>, <code>NPC</code> or <code>Monster</code>
+ * sharing it, so a new kind of Character is one more line, not a class.
+ * The default registry is read from <code>archetypes.txt</code> next to
+ * this class.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public final class ArchetypeRegistry
+{
+	/* Constant variables */
+	public static final String DEFAULT_FILE = "archetypes.txt";	// Built-in descriptor file
+	private static final int FIELDS = 15;						// Fields per line
+	private static final String NO_MONSTER_TYPE = "-";
+	
+	/* Registry built-in Characters use, read on first use */
+	private static ArchetypeRegistry sDefault;
+	
+	/* Local variables */
+	private final Map<String, Archetype> mArchetypes;	// Archetypes by name, in file order
+	
+	/**
+	 * Constructor.
+	 * @param archetypes Archetypes by name
+	 */
+	private ArchetypeRegistry(Map<String, Archetype> archetypes)
+	{
+		mArchetypes = Collections.unmodifiableMap(archetypes);
+	}
+	
+	/**
+	 * Read a descriptor file.
+	 * @param fileName Descriptor file name
+	 * @return Registry
+	 * @throws IOException if file cannot be read or a line is malformed
+	 */
+	public static ArchetypeRegistry Read(String fileName) throws IOException
+	{
+		InputStream in = new FileInputStream(fileName);
+		try
+		{
+			return Read(in);
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+	
+	/**
+	 * Read descriptors.
+	 * @param in Stream to read descriptors from
+	 * @return Registry
+	 * @throws IOException if descriptors cannot be read or a line is malformed
+	 */
+	public static ArchetypeRegistry Read(InputStream in) throws IOException
+	{
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+		Map<String, Archetype> archetypes = new LinkedHashMap<String, Archetype>();
+		int lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null)
+		{
+			lineNumber++;
+			line = line.trim();
+			if (line.length() == 0 || line.startsWith("#"))
+				continue;
+			
+			String[] fields = line.split("\\s+");
+			if (fields.length != FIELDS)
+				throw new IOException("Archetype line " + lineNumber + ": expected " + FIELDS + " fields, found " + fields.length);
+			
+			Archetype.Kind kind;
+			int[] numbers = new int[FIELDS - 4];
+			try
+			{
+				kind = Archetype.Kind.valueOf(fields[0]);
+				for (int i = 0; i < numbers.length; i++)
+					numbers[i] = Integer.parseInt(fields[3 + i]);
+			}
+			catch (IllegalArgumentException e)
+			{
+				throw new IOException("Archetype line " + lineNumber + ": " + e.getMessage());
+			}
+			
+			String name = fields[1];
+			if (archetypes.containsKey(name))
+				throw new IOException("Archetype line " + lineNumber + ": duplicate name " + name);
+			
+			int[] sprite = new int[CharacterStore.SPRITE_FIELDS];
+			System.arraycopy(numbers, 3, sprite, 0, sprite.length);
+			String monsterType = fields[FIELDS - 1].equals(NO_MONSTER_TYPE) ? "" : fields[FIELDS - 1];
+			archetypes.put(name, new Archetype(kind, name, fields[2], numbers[0], numbers[1], numbers[2], sprite, monsterType));
+		}
+		return new ArchetypeRegistry(archetypes);
+	}
+	
+	/**
+	 * @return Registry read from built-in descriptor file
+	 * @throws IllegalStateException if built-in descriptor file cannot be read
+	 */
+	public static synchronized ArchetypeRegistry GetDefault()
+	{
+		if (sDefault == null)
+		{
+			InputStream in = ArchetypeRegistry.class.getResourceAsStream(DEFAULT_FILE);
+			if (in == null)
+				throw new IllegalStateException("Missing " + DEFAULT_FILE);
+			try
+			{
+				try
+				{
+					sDefault = Read(in);
+				}
+				finally
+				{
+					in.close();
+				}
+			}
+			catch (IOException e)
+			{
+				throw new IllegalStateException("Cannot read " + DEFAULT_FILE, e);
+			}
+		}
+		return sDefault;
+	}
+	
+	/**
+	 * Set registry built-in Characters use, e.g. one with reskinned sprites.
+	 * @param registry Registry, must hold every built-in archetype
+	 */
+	public static synchronized void SetDefault(ArchetypeRegistry registry)
+	{
+		sDefault = registry;
+	}
+	
+	/**
+	 * @param name Archetype name
+	 * @return Archetype, null if none by that name
+	 */
+	public Archetype Get(String name)
+	{
+		return mArchetypes.get(name);
+	}
+	
+	/**
+	 * @return Archetype names, in file order
+	 */
+	public Collection<String> GetNames()
+	{
+		return mArchetypes.keySet();
+	}
+	
+	public int GetCount()
+	{
+		return mArchetypes.size();
+	}
+	
+	/**
+	 * Spawn a Character of given archetype.
+	 * @param name Archetype name
+	 * @param origin starting coordinate
+	 * @param radius size of Character
+	 * @return Hero, NPC or Monster, depending on archetype
+	 * @throws IllegalArgumentException if no archetype by that name
+	 */
+	public Character Spawn(String name, Vector2 origin, float radius)
+	{
+		Archetype archetype = mArchetypes.get(name);
+		if (archetype == null)
+			throw new IllegalArgumentException("Unknown archetype " + name);
+		
+		switch (archetype.GetKind())
+		{
+			case Hero:
+				return new Hero(origin, radius, archetype);
+			case NPC:
+				return new NPC(origin, radius, archetype);
+			default:
+				return new Monster(origin, radius, archetype);
+		}
+	}
+	
+	/**
+	 * Spawn a Character of given archetype.
+	 * @param name Archetype name
+	 * @param origin starting coordinate
+	 * @param radius size of Character
+	 * @param walkSpeed walk speed
+	 * @return Hero, NPC or Monster, depending on archetype
+	 * @throws IllegalArgumentException if no archetype by that name
+	 */
+	public Character Spawn(String name, Vector2 origin, float radius, float walkSpeed)
+	{
+		Character character = Spawn(name, origin, radius);
+		character.SetWalkSpeed(walkSpeed);
+		return character;
+	}
+}
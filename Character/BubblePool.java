@@ -0,0 +1,70 @@
+package Character;
+
+import java.util.ArrayList;
+
+import ExpressBubble.ButtonABubble;
+import ExpressBubble.SupriseBubble;
+import GTCS1Lib_Java.Internal.Vector2;
+
+/*****************************************************************************
+ * This <code>BubblePool</code> class holds Express Bubbles not shown by any
+ * Character. Characters take a bubble when they first show it and give it
+ * back when they hide it, so only Characters showing a bubble have one.
+ * Bubbles are only created while none is free.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+final class BubblePool
+{
+	/* Hidden bubbles */
+	private static final ArrayList<SupriseBubble> sSupriseBubbles = new ArrayList<SupriseBubble>();
+	private static final ArrayList<ButtonABubble> sButtonABubbles = new ArrayList<ButtonABubble>();
+	
+	private BubblePool()
+	{
+	}
+	
+	/**
+	 * @param position Coordinate to place bubble at
+	 * @return Hidden surprise bubble at position
+	 */
+	static SupriseBubble ObtainSupriseBubble(Vector2 position)
+	{
+		if (sSupriseBubbles.isEmpty())
+			return new SupriseBubble(position);
+		SupriseBubble bubble = sSupriseBubbles.remove(sSupriseBubbles.size() - 1);
+		bubble.Update(position);
+		return bubble;
+	}
+	
+	/**
+	 * @param bubble Hidden surprise bubble no longer used
+	 */
+	static void Release(SupriseBubble bubble)
+	{
+		sSupriseBubbles.add(bubble);
+	}
+	
+	/**
+	 * @param position Coordinate to place bubble at
+	 * @return Hidden button bubble at position
+	 */
+	static ButtonABubble ObtainButtonABubble(Vector2 position)
+	{
+		if (sButtonABubbles.isEmpty())
+			return new ButtonABubble(position);
+		ButtonABubble bubble = sButtonABubbles.remove(sButtonABubbles.size() - 1);
+		bubble.Update(position);
+		return bubble;
+	}
+	
+	/**
+	 * @param bubble Hidden button bubble no longer used
+	 */
+	static void Release(ButtonABubble bubble)
+	{
+		sButtonABubbles.add(bubble);
+	}
+}
@@ -0,0 +1,174 @@
+package Character;
+
+import java.util.Arrays;
+
+/*****************************************************************************
+ * This <code>CellMap</code> class maps grid cells, keyed by column and row
+ * (see <code>Key()</code>), to an int value, e.g. an index into arrays kept
+ * by the caller. Keys are kept in primitive arrays with open addressing, so
+ * looking up, adding and removing a cell allocates nothing, and
+ * <code>Clear()</code> costs the same however many cells were added.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class CellMap
+{
+	/* Constant variables */
+	public static final int NONE = -1;					// Value of a missing cell
+	private static final int DEFAULT_CAPACITY = 64;		// Starting number of slots, a power of two
+
+	/* Local variables */
+	private long[] mKeys;				// Cell key, by slot
+	private int[] mValues;				// Cell value, by slot
+	private int[] mStamps;				// Slot is used when equal to mStamp
+	private int mStamp;					// Stamp of current contents
+	private int mCount;					// Number of cells
+	private int mMask;					// Number of slots - 1
+
+	/** Default Constructor. */
+	public CellMap()
+	{
+		mStamp = 1;
+		mCount = 0;
+		Allocate(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param col Cell column
+	 * @param row Cell row
+	 * @return Key of cell
+	 */
+	public static long Key(int col, int row)
+	{
+		return ((long)col << 32) | (row & 0xffffffffL);
+	}
+
+	/**
+	 * @param key Cell key
+	 * @return Value of cell, <code>NONE</code> if missing
+	 */
+	public int Get(long key)
+	{
+		for (int slot = SlotOf(key); mStamps[slot] == mStamp; slot = (slot + 1) & mMask)
+		{
+			if (mKeys[slot] == key)
+				return mValues[slot];
+		}
+		return NONE;
+	}
+
+	/**
+	 * Add a cell, or replace its value.
+	 * @param key Cell key
+	 * @param value Value, not <code>NONE</code>
+	 */
+	public void Put(long key, int value)
+	{
+		int slot = SlotOf(key);
+		while (mStamps[slot] == mStamp)
+		{
+			if (mKeys[slot] == key)
+			{
+				mValues[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mMask;
+		}
+		mStamps[slot] = mStamp;
+		mKeys[slot] = key;
+		mValues[slot] = value;
+		mCount++;
+		if (mCount * 2 > mKeys.length)
+			Allocate(mKeys.length * 2);
+	}
+
+	/**
+	 * Remove a cell, if there.
+	 * @param key Cell key
+	 */
+	public void Remove(long key)
+	{
+		int hole = SlotOf(key);
+		while (mStamps[hole] == mStamp && mKeys[hole] != key)
+			hole = (hole + 1) & mMask;
+		if (mStamps[hole] != mStamp)
+			return;
+		mCount--;
+
+		/* Move later cells of the run back into the hole if their own slot
+		   is at or before it, so lookups never stop early at an empty slot */
+		for (int slot = (hole + 1) & mMask; mStamps[slot] == mStamp; slot = (slot + 1) & mMask)
+		{
+			int home = SlotOf(mKeys[slot]);
+			if (((slot - home) & mMask) >= ((slot - hole) & mMask))
+			{
+				mKeys[hole] = mKeys[slot];
+				mValues[hole] = mValues[slot];
+				hole = slot;
+			}
+		}
+		mStamps[hole] = 0;
+	}
+
+	/** Remove every cell. */
+	public void Clear()
+	{
+		if (mStamp == Integer.MAX_VALUE)
+		{
+			Arrays.fill(mStamps, 0);
+			mStamp = 0;
+		}
+		mStamp++;
+		mCount = 0;
+	}
+
+	/**
+	 * @return Number of cells
+	 */
+	public int GetCount()
+	{
+		return mCount;
+	}
+
+	/**
+	 * @param key Cell key
+	 * @return Slot to look for cell from
+	 */
+	private int SlotOf(long key)
+	{
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int)(hash ^ (hash >>> 32)) & mMask;
+	}
+
+	/**
+	 * Make given number of slots and add cells back into them. Only place
+	 * that allocates.
+	 * @param capacity Number of slots, a power of two
+	 */
+	private void Allocate(int capacity)
+	{
+		long[] keys = mKeys;
+		int[] values = mValues;
+		int[] stamps = mStamps;
+		mKeys = new long[capacity];
+		mValues = new int[capacity];
+		mStamps = new int[capacity];
+		mMask = capacity - 1;
+		if (keys == null)
+			return;
+
+		for (int i = 0; i < keys.length; i++)
+		{
+			if (stamps[i] != mStamp)
+				continue;
+			int slot = SlotOf(keys[i]);
+			while (mStamps[slot] == mStamp)
+				slot = (slot + 1) & mMask;
+			mStamps[slot] = mStamp;
+			mKeys[slot] = keys[i];
+			mValues[slot] = values[i];
+		}
+	}
+}
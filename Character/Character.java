@@ -1,10 +1,17 @@
 package Character;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
 import ExpressBubble.ButtonABubble;
 import ExpressBubble.SupriseBubble;
-import GTCS1Lib_Java.JavaGTCS1Base.SpriteAnimateMode;
 import GTCS1Lib_Java.Internal.Vector2;
 import MapObjects.FreeMovingMapObject;
+import path.PathFinder;
+import tween.Completion;
+import tween.TweenScheduler;
 
 /**************************************************************************************************
  * This Character class is the base class for Character, NPC, Monster, and etc.
@@ -25,6 +32,11 @@ public class Character extends FreeMovingMapObject
 		Auto
 	}
 	
+	/* Detail levels, see <code>ZoomLOD</code> */
+	public static final int DETAIL_FULL = 0;	// Animated sprite sheet
+	public static final int DETAIL_FROZEN = 1;	// Sprite sheet with animation frozen
+	public static final int DETAIL_LOW = 2;		// Low resolution sprite, no sprite sheet
+	
 	/* Character facing */
 	public enum CharacterFacing
 	{
@@ -38,27 +50,39 @@ public class Character extends FreeMovingMapObject
 	protected final float WALK_SPEED = 5f;		// walk speed
 	protected final int WALK_FRAME_RATE = 20;	// walk frame rate
 	
-	/* Local variables */
-	protected CharaterState mCurrentState;		// Current state
-	protected int mCurrDir;						// Direction: S=0, E=1, N=2, W=3
-	protected int mPrevDir;						// Previous direction
-	protected Vector2 mDirVector;				// Direction vector
-	protected Vector2 mMoveToCoord;				// Coordinate for auto-advancing
-	protected float mWalkSpeed;					// Character's walk speed
+	/* Local variables, see <code>CharacterStore</code> for the rest */
+	private static final CharaterState[] STATES = CharaterState.values();
+	private transient CharacterStore mStore;				// Store holding Character's data
+	private transient int mSlot = CharacterStore.NONE;	// Slot in store
+	private transient SpatialGrid mGrid;					// Grid Character is in, null if none
+	private transient int mGridCol;						// Cell Character is in
+	private transient int mGridRow;
 	
-	/* Express Bubble */
+	/* Express Bubble, from BubblePool while shown, null while hidden */
 	private SupriseBubble mSupriseBubble;
 	private ButtonABubble mButtonABubble;
+	private Vector2 mBubbleCenter;					// Reused for bubble placement, null until first shown
+	
+	/* Texture variables */
+	private String mTexture;						// Sprite sheet texture
+	private int mSheetColumns;						// Sprite sheet columns
+	private int mSheetRows;							// Sprite sheet rows
+	private int mSheetPadding;						// Sprite sheet padding
+	private String mLowDetailTexture;				// Low resolution texture, null if none
+	private int mDetailLevel = DETAIL_FULL;			// Current detail level
+	private transient SpriteAnimator mAnimator;		// Makes sprite sheet calls on transitions only
+	private Archetype mArchetype;					// Shared description of Character's kind, null if none
 	
-	/* Sprite variables */
-	protected int restBeginX = 0;					// Rest sprite: begin column
-	protected int restEndX = 0;						// Rest sprite: end column
-	protected int walkBeginX = 0;					// Walk sprite: begin column
-	protected int walkEndX = 0;						// Walk sprite: end column
-	protected int rowFacingSouth = 0;				// Sprite's row facing south
-	protected int rowFacingEast = 0;				// Sprite's row facing east
-	protected int rowFacingNorth = 0;				// Sprite's row facing north
-	protected int rowFacingWest = 0;				// Sprite's row facing west
+	/* Scripted move variables, see <code>TweenTo()</code>, not serialized */
+	private transient TweenScheduler mMoveTweens;				// Scheduler running move, null if walking
+	private transient int mMoveTween = TweenScheduler.NONE;	// Move progress (0 to 1)
+	private transient float mMoveFromX;						// Coordinate when move started
+	private transient float mMoveFromY;
+	private transient Completion mMoveCompletion;				// Completed when move is done, null if none
+	private transient float[] mPath;							// Coordinates walked to in turn, reused between moves
+	private transient int mPathLength;							// Floats of route in mPath, 0 if walking straight
+	private transient int mPathIndex;							// Coordinate walking to now
+	private static PathFinder sPathFinder;			// Finds routes for moves, null to walk straight
 	
 	/**
 	 * Default Constructor
@@ -74,27 +98,56 @@ public class Character extends FreeMovingMapObject
 	/** Initialize local variables. */
 	protected void Initialize(Vector2 origin)
 	{
-		mCurrentState = CharaterState.Rest;
-		mCurrDir = 0;							// Initial direction facing South
-		mPrevDir = mCurrDir;					// Set previous direction to current direction
-		mMoveToCoord = Vector2.Zero;			// Initialize to zero
-		mDirVector = Vector2.Zero;				// Initialize to zero
-		mWalkSpeed = WALK_SPEED;				// Set to default walk speed
-		
-		/* Instantiate Express Bubble */
-		mSupriseBubble = new SupriseBubble(origin);
-		mButtonABubble = new ButtonABubble(origin);
+		/* Take a slot, data starts zeroed: facing South, no direction */
+		mStore = CharacterStore.GetDefault();
+		mSlot = mStore.Add(this);
+		mStore.SetPosition(mSlot, GetCenterX(), GetCenterY());
+		SetStateIndex(CharaterState.Rest.ordinal());
+		mStore.SetWalkSpeed(mSlot, WALK_SPEED);	// Set to default walk speed
+		mAnimator = new SpriteAnimator(this);
 	}
 	
-	/** Reclaim memory space. */
-	public void Unload()
+	/**
+	 * Take Character out of the world but keep it for reuse, e.g. in a pool:
+	 * stops any move, hides bubbles, leaves the draw set and spatial grid. Keeps its store
+	 * slot, sprite sheet and walk speed. Inherited classes with more to stop
+	 * must override and call this.
+	 */
+	public void Deactivate()
 	{
+		CancelMove();
+		HideExpress(0);
+		HideExpress(1);
 		RemoveFromAutoDrawSet();
+		if (mGrid != null)
+			mGrid.Remove(this);
+	}
+	
+	/**
+	 * Reclaim memory space. Any move is cancelled and the store slot given back,
+	 * so Character is dead: using it afterwards throws IllegalStateException.
+	 * Use <code>Deactivate()</code> instead to keep it for reuse.
+	 */
+	public void Unload()
+	{
+		Deactivate();
+		
+		/* Give slot back to store */
+		if (mSlot != CharacterStore.NONE)
+		{
+			mStore.Remove(mSlot);
+			mSlot = CharacterStore.NONE;
+		}
 	}
 	
 	public void UpdateUserMovement(Tile.TileSet tiles)
 	{
 		super.UpdateUserMovement(tiles);
+		
+		/* Collisions may move center without SetCenter() */
+		mStore.SetPosition(Slot(), GetCenterX(), GetCenterY());
+		if (mGrid != null)
+			mGrid.Moved(this);
 		this.UpdateBubble();
 		this.Update();
 	}
@@ -103,7 +156,7 @@ public class Character extends FreeMovingMapObject
 	protected void Update() 
 	{
 		/* Check current state */
-		switch (mCurrentState)
+		switch (STATES[GetStateIndex()])
 		{
 			case Rest:
 				RestState();
@@ -114,11 +167,156 @@ public class Character extends FreeMovingMapObject
 		}
 	}
 	
-	/** Update Express Bubble */
+	/** Update Express Bubble, if any is shown */
 	protected void UpdateBubble()
 	{
-		mSupriseBubble.Update(new Vector2(GetCenterX(), GetCenterY() + GetRadius()/2 + mSupriseBubble.GetHeight()));
-		mButtonABubble.Update(new Vector2(GetCenterX(), GetCenterY() + GetRadius()/2 + mSupriseBubble.GetHeight()));
+		if (mSupriseBubble != null)
+			mSupriseBubble.Update(PlaceBubble(mSupriseBubble.GetHeight()));
+		if (mButtonABubble != null)
+			mButtonABubble.Update(PlaceBubble(mButtonABubble.GetHeight()));
+	}
+	
+	/**
+	 * Helper function to place Express Bubble above Character.
+	 * @param height Bubble height
+	 * @return Bubble coordinate, reused on every call
+	 */
+	private Vector2 PlaceBubble(float height)
+	{
+		if (mBubbleCenter == null)
+			mBubbleCenter = new Vector2();
+		mBubbleCenter.X = GetCenterX();
+		mBubbleCenter.Y = GetCenterY() + GetRadius()/2 + height;
+		return mBubbleCenter;
+	}
+	
+	/**
+	 * Set Character's sprite sheet texture and remember it for detail level changes.
+	 * @param texture Texture file name
+	 * @param columns Sprite sheet columns
+	 * @param rows Sprite sheet rows
+	 * @param padding Sprite sheet padding
+	 */
+	protected void SetSpriteSheet(String texture, int columns, int rows, int padding)
+	{
+		mTexture = texture;
+		mSheetColumns = columns;
+		mSheetRows = rows;
+		mSheetPadding = padding;
+		
+		if (mDetailLevel != DETAIL_LOW)
+		{
+			SetTexture(texture);
+			SetSpriteSheetTexture(columns, rows, padding);
+			SetSpriteSheetUsed(true);
+			mAnimator.Forget();
+		}
+	}
+	
+	/**
+	 * Set Character's archetype, its sprite sheet and sprite rows. Inherited
+	 * classes with more to set from it must override and call this.
+	 * @param archetype Archetype, see <code>ArchetypeRegistry</code>
+	 */
+	protected void SetArchetype(Archetype archetype)
+	{
+		mArchetype = archetype;
+		SetSpriteSheet(archetype.GetTexture(), archetype.GetColumns(), archetype.GetRows(), archetype.GetPadding());
+		SetSpriteRows(archetype.GetSprite(CharacterStore.REST_BEGIN), archetype.GetSprite(CharacterStore.REST_END),
+					  archetype.GetSprite(CharacterStore.WALK_BEGIN), archetype.GetSprite(CharacterStore.WALK_END),
+					  archetype.GetSprite(CharacterStore.ROW_SOUTH), archetype.GetSprite(CharacterStore.ROW_EAST),
+					  archetype.GetSprite(CharacterStore.ROW_NORTH), archetype.GetSprite(CharacterStore.ROW_WEST));
+	}
+	
+	/**
+	 * @return Character's archetype, null if none
+	 */
+	public Archetype GetArchetype()
+	{
+		return mArchetype;
+	}
+	
+	/**
+	 * Set low resolution texture, shown at <code>DETAIL_LOW</code>.
+	 * @param texture Texture file name, null for none (stays at <code>DETAIL_FROZEN</code>)
+	 */
+	public void SetLowDetailTexture(String texture)
+	{
+		mLowDetailTexture = texture;
+	}
+	
+	/**
+	 * Set Character's detail level. <code>DETAIL_FROZEN</code> stops sprite animation, 
+	 * <code>DETAIL_LOW</code> also swaps to the low resolution texture if there is one.
+	 * @param level DETAIL_FULL, DETAIL_FROZEN, or DETAIL_LOW
+	 */
+	public void SetDetailLevel(int level)
+	{
+		/* No low resolution texture, freeze instead */
+		if (level == DETAIL_LOW && mLowDetailTexture == null)
+			level = DETAIL_FROZEN;
+		if (level == mDetailLevel)
+			return;
+		
+		/* Leaving low detail, restore sprite sheet */
+		if (mDetailLevel == DETAIL_LOW && mTexture != null)
+		{
+			SetTexture(mTexture);
+			SetSpriteSheetTexture(mSheetColumns, mSheetRows, mSheetPadding);
+			SetSpriteSheetUsed(true);
+			mAnimator.Forget();
+		}
+		mDetailLevel = level;
+		
+		switch (level)
+		{
+			case DETAIL_FROZEN:
+				ShowRestFrame();
+				StopAnimation();
+				break;
+			case DETAIL_LOW:
+				StopAnimation();
+				SetSpriteSheetUsed(false);
+				SetTexture(mLowDetailTexture);
+				break;
+		}
+	}
+	
+	/**
+	 * @return Character's detail level
+	 */
+	public int GetDetailLevel()
+	{
+		return mDetailLevel;
+	}
+	
+	/**
+	 * Start walk sprite animation facing current direction, unless already animating
+	 * or animation is frozen by detail level.
+	 * @param frameRate Animation frame rate
+	 */
+	protected void StartWalkAnimation(int frameRate)
+	{
+		if (mDetailLevel != DETAIL_FULL || mAnimator.IsAnimating())
+			return;
+		mAnimator.Show(SpriteAnimator.CLIP_WALK, GetFacing(), frameRate);
+		mAnimator.SetAnimating(true);
+	}
+	
+	/**
+	 * Show rest sprite facing current direction, unless already shown.
+	 */
+	protected void ShowRestFrame()
+	{
+		mAnimator.Show(SpriteAnimator.CLIP_REST, GetFacing(), 1);
+	}
+	
+	/**
+	 * Stop sprite animation, unless already stopped.
+	 */
+	protected void StopAnimation()
+	{
+		mAnimator.SetAnimating(false);
 	}
 	
 	/**
@@ -127,8 +325,8 @@ public class Character extends FreeMovingMapObject
 	protected void RestState()
 	{
 		/* Set Rest sprite according to facing direction */
-		SetSpriteTextureAnimationFrames(restBeginX, mCurrDir, restEndX, mCurrDir, 1, SpriteAnimateMode.AnimateForward);
-		SetSpriteSheetIsUsingAnimation(false);
+		ShowRestFrame();
+		StopAnimation();
 	}
 	
 	/**
@@ -141,19 +339,41 @@ public class Character extends FreeMovingMapObject
 		CalcFacingDirection();
 		
 		/* Animate Character walk sprite */
-		if (!GetSpriteSheetIsUsingAnimation())
+		StartWalkAnimation(WALK_FRAME_RATE);
+		
+		/* Scripted move, follow tween until done */
+		if (mMoveTweens != null)
 		{
-			SetSpriteTextureAnimationFrames(walkBeginX, mCurrDir, walkEndX, mCurrDir, WALK_FRAME_RATE, SpriteAnimateMode.AnimateForward);
-			SetSpriteSheetIsUsingAnimation(true);
+			if (mMoveTweens.IsActive(mMoveTween))
+			{
+				float progress = mMoveTweens.GetValue(mMoveTween);
+				SetCenter(new Vector2(mMoveFromX + (GetMoveToX() - mMoveFromX) * progress, mMoveFromY + (GetMoveToY() - mMoveFromY) * progress));
+				return;
+			}
+			mMoveTweens = null;
+			SetCenter(new Vector2(GetMoveToX(), GetMoveToY()));
+			AutoStateSetEnd();
+			FinishMove();
+			return;
 		}
 		
 		/* Gradually move Character to given coordinate */
-		SetCenter(Vector2.add(GetCenter(), Vector2.multiply(mDirVector, mWalkSpeed)));
+		float walkSpeed = GetWalkSpeed();
+		StepAlongDirection(walkSpeed);
 		
 		/* Check if Character reached designated coordinate */
-		if (Math.abs(mMoveToCoord.X - GetCenterX()) < mWalkSpeed && Math.abs(mMoveToCoord.Y - GetCenterY()) < mWalkSpeed)
+		if (Math.abs(GetMoveToX() - GetCenterX()) < walkSpeed && Math.abs(GetMoveToY() - GetCenterY()) < walkSpeed)
 		{
+			/* Turn on route, head for next coordinate */
+			if (mPathIndex + 2 < mPathLength)
+			{
+				mPathIndex += 2;
+				SetMoveTo(mPath[mPathIndex], mPath[mPathIndex + 1]);
+				return;
+			}
+			mPathLength = 0;
 			AutoStateSetEnd();
+			FinishMove();
 		}
 	}
 	
@@ -162,7 +382,106 @@ public class Character extends FreeMovingMapObject
 	 */
 	protected void AutoStateSetEnd() 
 	{
-		mCurrentState = CharaterState.Rest;
+		SetStateIndex(CharaterState.Rest.ordinal());
+	}
+	
+	/**
+	 * Set Character to AUTO state. Inherited classes must override to set to its own state.
+	 */
+	protected void SetAutoState()
+	{
+		SetStateIndex(CharaterState.Auto.ordinal());
+	}
+	
+	/**
+	 * Scripted move. Character moves to given coordinate in a set number of steps along
+	 * an easing curve, instead of at walk speed. Steps follow the scheduler, e.g. 
+	 * <code>Camera.GetTweens()</code> to stay in step with camera effects.
+	 * @param tweens Tween scheduler to run move on
+	 * @param toCoord move to coordinate
+	 * @param steps Number of steps to reach coordinate
+	 * @param easing Easing curve, see <code>tween.Easing</code>
+	 * @return Completed on the update Character reaches coordinate
+	 */
+	public Completion TweenTo(TweenScheduler tweens, Vector2 toCoord, int steps, int easing)
+	{
+		/* Tweens go straight, no route needed */
+		Completion completion = BeginMove();
+		SetMoveTo(toCoord.X, toCoord.Y);
+		mMoveFromX = GetCenterX();
+		mMoveFromY = GetCenterY();
+		mMoveTweens = tweens;
+		mMoveTween = tweens.Start(0f, 1f, steps, easing, null);
+		StopAnimation();
+		SetAutoState();
+		return completion;
+	}
+	
+	/**
+	 * Set coordinate to auto-advance to, replacing any move in progress. With a
+	 * path finder set (see <code>SetPathFinder()</code>), Character walks around walls.
+	 * @param toCoord move to coordinate
+	 * @return Completed on the update Character reaches coordinate
+	 */
+	protected Completion StartMove(Vector2 toCoord)
+	{
+		Completion completion = BeginMove();
+		if (sPathFinder != null)
+		{
+			/* Route goes into Character's array, grown only if too small */
+			float[] path = sPathFinder.FindPath(GetCenterX(), GetCenterY(), toCoord.X, toCoord.Y, mPath);
+			if (path != null)
+				mPath = path;
+			mPathLength = sPathFinder.GetPathCount() * 2;
+		}
+		mPathIndex = 0;
+		if (mPathLength > 0)
+			SetMoveTo(mPath[0], mPath[1]);
+		else
+			SetMoveTo(toCoord.X, toCoord.Y);
+		return completion;
+	}
+	
+	/**
+	 * Replace any move in progress with a new one, without setting where to.
+	 * @return Completed on the update Character reaches coordinate
+	 */
+	private Completion BeginMove()
+	{
+		CancelMove();
+		mMoveCompletion = new Completion();
+		return mMoveCompletion;
+	}
+	
+	/**
+	 * Stop move in progress, if any, cancelling its completion.
+	 */
+	protected void CancelMove()
+	{
+		mPathLength = 0;
+		if (mMoveTweens != null)
+		{
+			mMoveTweens.Cancel(mMoveTween);
+			mMoveTweens = null;
+		}
+		if (mMoveCompletion != null)
+		{
+			mMoveCompletion.Cancel();
+			mMoveCompletion = null;
+		}
+	}
+	
+	/**
+	 * Complete move in progress. Called after <code>AutoStateSetEnd()</code>, so
+	 * listeners may start the next move right away.
+	 */
+	private void FinishMove()
+	{
+		if (mMoveCompletion == null)
+			return;
+		Completion completion = mMoveCompletion;
+		mMoveCompletion = null;
+		completion.Complete();
 	}
 	
 	/**
@@ -174,10 +493,12 @@ public class Character extends FreeMovingMapObject
 		CalcDirectionVector();
 		
 		/* Determine facing direction */
-		if (mDirVector.Y < -Math.abs(mDirVector.X)) mCurrDir = rowFacingSouth;	// South
-		if (mDirVector.X > Math.abs(mDirVector.Y)) mCurrDir = rowFacingEast;	// East
-		if (mDirVector.Y > Math.abs(mDirVector.X)) mCurrDir = rowFacingNorth;	// North
-		if (mDirVector.X < -Math.abs(mDirVector.Y)) mCurrDir = rowFacingWest;	// West
+		float dirX = GetDirX();
+		float dirY = GetDirY();
+		if (dirY < -Math.abs(dirX)) SetFacing(GetSprite(CharacterStore.ROW_SOUTH));	// South
+		if (dirX > Math.abs(dirY)) SetFacing(GetSprite(CharacterStore.ROW_EAST));		// East
+		if (dirY > Math.abs(dirX)) SetFacing(GetSprite(CharacterStore.ROW_NORTH));	// North
+		if (dirX < -Math.abs(dirY)) SetFacing(GetSprite(CharacterStore.ROW_WEST));	// West
 	}
 	
 	/**
@@ -186,7 +507,147 @@ public class Character extends FreeMovingMapObject
 	protected void CalcDirectionVector()
 	{
 		/* Calculate direction vector from "MoveTo" coordinate */
-		mDirVector = Vector2.Normalize(Vector2.subtract(mMoveToCoord, GetCenter()));
+		SetDirection(Vector2.Normalize(new Vector2(GetMoveToX() - GetCenterX(), GetMoveToY() - GetCenterY())));
+	}
+	
+	/**
+	 * Move Character along its direction vector.
+	 * @param speed Distance to move
+	 */
+	protected void StepAlongDirection(float speed)
+	{
+		SetCenter(new Vector2(GetCenterX() + GetDirX() * speed, GetCenterY() + GetDirY() * speed));
+	}
+	
+	/**
+	 * World origin moved (see <code>world.WorldOrigin</code>), shift Character and
+	 * coordinates it is heading to back by given amount. Inherited classes holding
+	 * more coordinates must override and call this.
+	 * @param dx Shift on x-axis
+	 * @param dy Shift on y-axis
+	 */
+	public void ShiftOrigin(float dx, float dy)
+	{
+		SetCenter(new Vector2(GetCenterX() - dx, GetCenterY() - dy));
+		SetMoveTo(GetMoveToX() - dx, GetMoveToY() - dy);
+		mMoveFromX -= dx;
+		mMoveFromY -= dy;
+		for (int i = 0; i < mPathLength; i += 2)
+		{
+			mPath[i] -= dx;
+			mPath[i + 1] -= dy;
+		}
+	}
+	
+	/**
+	 * Write Character's state for a world save, see <code>CharacterCodec</code>.
+	 * Inherited classes with more state must override and call this first.
+	 * @param out Buffer to write to
+	 */
+	protected void WriteState(ByteBuffer out)
+	{
+		out.putFloat(GetCenterX());
+		out.putFloat(GetCenterY());
+		out.putFloat(GetMoveToX());
+		out.putFloat(GetMoveToY());
+		out.putFloat(GetWalkSpeed());
+		out.put((byte)GetStateIndex());
+		out.put((byte)GetFacing());
+		out.put((byte)GetPrevFacing());
+	}
+	
+	/**
+	 * Read state written by <code>WriteState()</code>. Inherited classes with
+	 * more state must override and call this first.
+	 * @param in Buffer to read from
+	 * @param version Save version, see <code>CharacterCodec.VERSION</code>
+	 */
+	protected void ReadState(ByteBuffer in, int version)
+	{
+		float x = in.getFloat();
+		float y = in.getFloat();
+		SetCenter(new Vector2(x, y));
+		float moveToX = in.getFloat();
+		float moveToY = in.getFloat();
+		SetMoveTo(moveToX, moveToY);
+		SetWalkSpeed(in.getFloat());
+		SetStateIndex(in.get() & 0xff);
+		SetFacing(in.get() & 0xff);
+		SetPrevFacing(in.get() & 0xff);
+	}
+	
+	/**
+	 * Serialize Character. Its store data is written along, as the store is not
+	 * serialized. A move in progress and the spatial grid are not written.
+	 * @param out Stream to write to
+	 * @throws IOException if stream cannot be written
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+		out.writeFloat(GetDirX());
+		out.writeFloat(GetDirY());
+		out.writeFloat(GetMoveToX());
+		out.writeFloat(GetMoveToY());
+		out.writeFloat(GetWalkSpeed());
+		out.writeInt(GetStateIndex());
+		out.writeInt(GetFacing());
+		out.writeInt(GetPrevFacing());
+		for (int i = 0; i < CharacterStore.SPRITE_FIELDS; i++)
+			out.writeInt(GetSprite(i));
+	}
+	
+	/**
+	 * Deserialize Character into a new slot of the default store. It is in
+	 * no spatial grid and not moving.
+	 * @param in Stream to read from
+	 * @throws IOException if stream cannot be read
+	 * @throws ClassNotFoundException if a serialized class is missing
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		mStore = CharacterStore.GetDefault();
+		mSlot = mStore.Add(this);
+		mStore.SetPosition(mSlot, GetCenterX(), GetCenterY());
+		mAnimator = new SpriteAnimator(this);
+		mMoveTween = TweenScheduler.NONE;
+		
+		float dirX = in.readFloat();
+		float dirY = in.readFloat();
+		SetDirection(dirX, dirY);
+		float moveToX = in.readFloat();
+		float moveToY = in.readFloat();
+		SetMoveTo(moveToX, moveToY);
+		SetWalkSpeed(in.readFloat());
+		SetStateIndex(in.readInt());
+		SetFacing(in.readInt());
+		SetPrevFacing(in.readInt());
+		int[] sprite = new int[CharacterStore.SPRITE_FIELDS];
+		for (int i = 0; i < sprite.length; i++)
+			sprite[i] = in.readInt();
+		SetSpriteRows(sprite[CharacterStore.REST_BEGIN], sprite[CharacterStore.REST_END],
+					  sprite[CharacterStore.WALK_BEGIN], sprite[CharacterStore.WALK_END],
+					  sprite[CharacterStore.ROW_SOUTH], sprite[CharacterStore.ROW_EAST],
+					  sprite[CharacterStore.ROW_NORTH], sprite[CharacterStore.ROW_WEST]);
+	}
+	
+	/**
+	 * Set path finder for moves on current map, e.g. <code>MoveTo()</code>.
+	 * Moves started after this walk around walls. Tweened moves still go straight.
+	 * @param finder Path finder, null to walk straight to coordinates
+	 */
+	public static void SetPathFinder(PathFinder finder)
+	{
+		sPathFinder = finder;
+	}
+	
+	/**
+	 * @return Path finder for moves, null if walking straight
+	 */
+	public static PathFinder GetPathFinder()
+	{
+		return sPathFinder;
 	}
 	
 	/**
@@ -195,7 +656,16 @@ public class Character extends FreeMovingMapObject
 	 */
 	public void SetWalkSpeed(float speed)
 	{
-		mWalkSpeed = speed;
+		mStore.SetWalkSpeed(Slot(), speed);
+	}
+	
+	/**
+	 * Return Character's current walk speed.
+	 * @return walk speed
+	 */
+	public float GetWalkSpeed()
+	{
+		return mStore.GetWalkSpeed(Slot());
 	}
 	
 	/**
@@ -204,7 +674,7 @@ public class Character extends FreeMovingMapObject
 	 */
 	public void SetFacing(int direction)
 	{
-		mCurrDir = direction;
+		mStore.SetFacing(Slot(), direction);
 	}
 	
 	/**
@@ -214,13 +684,13 @@ public class Character extends FreeMovingMapObject
 	public void SetFacing(CharacterFacing facingDir)
 	{
 		if (facingDir == CharacterFacing.South)
-			mCurrDir = rowFacingSouth;
+			SetFacing(GetSprite(CharacterStore.ROW_SOUTH));
 		else if (facingDir == CharacterFacing.East)
-			mCurrDir = rowFacingEast;
+			SetFacing(GetSprite(CharacterStore.ROW_EAST));
 		else if (facingDir == CharacterFacing.North)
-			mCurrDir = rowFacingNorth;
+			SetFacing(GetSprite(CharacterStore.ROW_NORTH));
 		else if (facingDir == CharacterFacing.West)
-			mCurrDir = rowFacingWest;
+			SetFacing(GetSprite(CharacterStore.ROW_WEST));
 	}
 	
 	/**
@@ -229,7 +699,234 @@ public class Character extends FreeMovingMapObject
 	 */
 	public int GetFacing()
 	{
-		return mCurrDir;
+		return mStore.GetFacing(Slot());
+	}
+	
+	/**
+	 * @return Previous facing direction, to notice direction changes
+	 */
+	protected int GetPrevFacing()
+	{
+		return mStore.GetPrevFacing(Slot());
+	}
+	
+	protected void SetPrevFacing(int direction)
+	{
+		mStore.SetPrevFacing(Slot(), direction);
+	}
+	
+	/**
+	 * @return Ordinal of current state, in the state enum of the Character's class
+	 */
+	protected int GetStateIndex()
+	{
+		return mStore.GetState(Slot());
+	}
+	
+	protected void SetStateIndex(int state)
+	{
+		mStore.SetState(Slot(), state);
+	}
+	
+	/**
+	 * @return Number of states in the state enum of the Character's class.
+	 * Inherited classes with their own state enum must override this.
+	 */
+	protected int GetStateCount()
+	{
+		return STATES.length;
+	}
+	
+	/**
+	 * Check state and facing are ones Character can be in, e.g. after
+	 * <code>ReadState()</code> from a save that may be corrupt.
+	 * @return True = state is in range and both facings are sprite rows
+	 */
+	boolean IsStateValid()
+	{
+		return GetStateIndex() < GetStateCount() && IsFacing(GetFacing()) && IsFacing(GetPrevFacing());
+	}
+	
+	/**
+	 * @param facing Sprite row
+	 * @return True = one of Character's facing rows, or 0 as a new Character starts with
+	 */
+	private boolean IsFacing(int facing)
+	{
+		return facing == 0 ||
+			   facing == GetSprite(CharacterStore.ROW_SOUTH) || facing == GetSprite(CharacterStore.ROW_EAST) ||
+			   facing == GetSprite(CharacterStore.ROW_NORTH) || facing == GetSprite(CharacterStore.ROW_WEST);
+	}
+	
+	protected float GetDirX()
+	{
+		return mStore.GetDirX(Slot());
+	}
+	
+	protected float GetDirY()
+	{
+		return mStore.GetDirY(Slot());
+	}
+	
+	/**
+	 * Set direction vector.
+	 * @param direction direction vector
+	 */
+	protected void SetDirection(Vector2 direction)
+	{
+		mStore.SetDirection(Slot(), direction.X, direction.Y);
+	}
+	
+	/**
+	 * Set direction vector.
+	 * @param dirX x-component
+	 * @param dirY y-component
+	 */
+	protected void SetDirection(float dirX, float dirY)
+	{
+		mStore.SetDirection(Slot(), dirX, dirY);
+	}
+	
+	/**
+	 * @return x-coordinate Character is auto-advancing to
+	 */
+	public float GetMoveToX()
+	{
+		return mStore.GetMoveToX(Slot());
+	}
+	
+	/**
+	 * @return y-coordinate Character is auto-advancing to
+	 */
+	public float GetMoveToY()
+	{
+		return mStore.GetMoveToY(Slot());
+	}
+	
+	/**
+	 * Set coordinate for auto-advancing, without changing state.
+	 * @param coordX x-coordinate
+	 * @param coordY y-coordinate
+	 */
+	protected void SetMoveTo(float coordX, float coordY)
+	{
+		mStore.SetMoveTo(Slot(), coordX, coordY);
+	}
+	
+	/**
+	 * Set sprite sheet columns and rows used for resting, walking, and facing.
+	 * @param restBegin Rest sprite: begin column
+	 * @param restEnd Rest sprite: end column
+	 * @param walkBegin Walk sprite: begin column
+	 * @param walkEnd Walk sprite: end column
+	 * @param rowSouth Sprite's row facing south
+	 * @param rowEast Sprite's row facing east
+	 * @param rowNorth Sprite's row facing north
+	 * @param rowWest Sprite's row facing west
+	 */
+	protected void SetSpriteRows(int restBegin, int restEnd, int walkBegin, int walkEnd,
+								 int rowSouth, int rowEast, int rowNorth, int rowWest)
+	{
+		mStore.SetSprite(Slot(), CharacterStore.REST_BEGIN, restBegin);
+		mStore.SetSprite(Slot(), CharacterStore.REST_END, restEnd);
+		mStore.SetSprite(Slot(), CharacterStore.WALK_BEGIN, walkBegin);
+		mStore.SetSprite(Slot(), CharacterStore.WALK_END, walkEnd);
+		mStore.SetSprite(Slot(), CharacterStore.ROW_SOUTH, rowSouth);
+		mStore.SetSprite(Slot(), CharacterStore.ROW_EAST, rowEast);
+		mStore.SetSprite(Slot(), CharacterStore.ROW_NORTH, rowNorth);
+		mStore.SetSprite(Slot(), CharacterStore.ROW_WEST, rowWest);
+		mAnimator.SetFrames(restBegin, restEnd, walkBegin, walkEnd);
+	}
+	
+	/**
+	 * @param field Sprite field, e.g. <code>CharacterStore.REST_BEGIN</code>
+	 * @return Sprite column or row
+	 */
+	protected int GetSprite(int field)
+	{
+		return mStore.GetSprite(Slot(), field);
+	}
+	
+	/**
+	 * Set center, keeping store's copy and spatial grid cell in step.
+	 * @param center new center
+	 */
+	@Override
+	public void SetCenter(Vector2 center)
+	{
+		super.SetCenter(center);
+		if (mStore != null && mSlot != CharacterStore.NONE)
+			mStore.SetPosition(mSlot, GetCenterX(), GetCenterY());
+		if (mGrid != null)
+			mGrid.Moved(this);
+	}
+	
+	/**
+	 * @return Spatial grid Character is in, null if none
+	 */
+	public SpatialGrid GetSpatialGrid()
+	{
+		return mGrid;
+	}
+	
+	/**
+	 * Grid moved Character to another cell.
+	 * @param grid Grid, null when removed
+	 * @param col Cell column
+	 * @param row Cell row
+	 */
+	void SetGridCell(SpatialGrid grid, int col, int row)
+	{
+		mGrid = grid;
+		mGridCol = col;
+		mGridRow = row;
+	}
+	
+	int GetGridCol()
+	{
+		return mGridCol;
+	}
+	
+	int GetGridRow()
+	{
+		return mGridRow;
+	}
+	
+	/**
+	 * @return Store holding Character's data
+	 */
+	public CharacterStore GetStore()
+	{
+		return mStore;
+	}
+	
+	/**
+	 * @return Slot in store, valid until a Character is removed from it,
+	 * 		   <code>CharacterStore.NONE</code> once unloaded
+	 */
+	public int GetSlot()
+	{
+		return mSlot;
+	}
+	
+	/**
+	 * @return Slot in store
+	 * @throws IllegalStateException if Character was unloaded
+	 */
+	private int Slot()
+	{
+		if (mSlot == CharacterStore.NONE)
+			throw new IllegalStateException("Character was unloaded");
+		return mSlot;
+	}
+	
+	/**
+	 * Store moved Character to another slot.
+	 * @param slot New slot
+	 */
+	void SetSlot(int slot)
+	{
+		mSlot = slot;
 	}
 	
 	/**
@@ -240,7 +937,8 @@ public class Character extends FreeMovingMapObject
 	 */
 	public boolean HasReached(float coordX, float coordY)
 	{
-		if (Math.abs(GetCenterX() - coordX) < mWalkSpeed && Math.abs(GetCenterY() - coordY) < mWalkSpeed)
+		float walkSpeed = GetWalkSpeed();
+		if (Math.abs(GetCenterX() - coordX) < walkSpeed && Math.abs(GetCenterY() - coordY) < walkSpeed)
 		{
 			return true;
 		}
@@ -257,7 +955,8 @@ public class Character extends FreeMovingMapObject
 	 */
 	public boolean HasReached(Vector2 coord)
 	{
-		if (Math.abs(GetCenterX() - coord.X) < mWalkSpeed && Math.abs(GetCenterY() - coord.Y) < mWalkSpeed)
+		float walkSpeed = GetWalkSpeed();
+		if (Math.abs(GetCenterX() - coord.X) < walkSpeed && Math.abs(GetCenterY() - coord.Y) < walkSpeed)
 		{
 			return true;
 		}
@@ -268,33 +967,49 @@ public class Character extends FreeMovingMapObject
 	}
 	
 	/**
-	 * Show Express Bubble.
+	 * Show Express Bubble, taking it from the bubble pool.
 	 * @param i 0 = show surprise bubble, 1 = show button bubble
 	 */
 	public void ShowExpress(int i)
 	{
 		switch (i) {
 			case 0:
+				if (mSupriseBubble == null)
+					mSupriseBubble = BubblePool.ObtainSupriseBubble(PlaceBubble(0f));
+				mSupriseBubble.Update(PlaceBubble(mSupriseBubble.GetHeight()));
 				mSupriseBubble.Show();
 				break;
 			case 1:
+				if (mButtonABubble == null)
+					mButtonABubble = BubblePool.ObtainButtonABubble(PlaceBubble(0f));
+				mButtonABubble.Update(PlaceBubble(mButtonABubble.GetHeight()));
 				mButtonABubble.Show();
 				break;
 		}
 	}
 	
 	/**
-	 * Hide Express Bubble.
+	 * Hide Express Bubble, giving it back to the bubble pool.
 	 * @param i 0 = hide surprise bubble, 1 = hide button bubble
 	 */
 	public void HideExpress(int i)
 	{
 		switch (i) {
 			case 0:
-				mSupriseBubble.Hide();
+				if (mSupriseBubble != null)
+				{
+					mSupriseBubble.Hide();
+					BubblePool.Release(mSupriseBubble);
+					mSupriseBubble = null;
+				}
 				break;
 			case 1:
-				mButtonABubble.Hide();
+				if (mButtonABubble != null)
+				{
+					mButtonABubble.Hide();
+					BubblePool.Release(mButtonABubble);
+					mButtonABubble = null;
+				}
 				break;
 		}
 	}
@@ -0,0 +1,311 @@
+package Character;
+
+/*****************************************************************************
+ * This <code>CharacterStore</code> class keeps the per-frame data of many
+ * Characters in parallel primitive arrays, one slot per Character: position,
+ * direction, move-to coordinate, walk speed, state, facing, and sprite rows.
+ * A <code>Character</code> is a thin view over its slot, so the Character API
+ * is unchanged, while systems touching every Character (aggro checks, AI
+ * level of detail, and etc.) scan the arrays from slot 0 to
+ * <code>GetCount()</code> instead of chasing one object per Character.
+ *
+ * Slots stay packed: removing a Character moves the last slot into its
+ * place. Slots are therefore only valid until the next <code>Remove()</code>,
+ * use the Character itself to keep hold of one.
+ *
+ * Position is a copy of the Character's center, kept in step by
+ * <code>Character.SetCenter()</code> for the scans to read.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class CharacterStore
+{
+	/* Sprite fields, by slot */
+	public static final int REST_BEGIN = 0;		// Rest sprite: begin column
+	public static final int REST_END = 1;		// Rest sprite: end column
+	public static final int WALK_BEGIN = 2;		// Walk sprite: begin column
+	public static final int WALK_END = 3;		// Walk sprite: end column
+	public static final int ROW_SOUTH = 4;		// Sprite's row facing south
+	public static final int ROW_EAST = 5;		// Sprite's row facing east
+	public static final int ROW_NORTH = 6;		// Sprite's row facing north
+	public static final int ROW_WEST = 7;		// Sprite's row facing west
+	static final int SPRITE_FIELDS = 8;
+
+	/* Constant variables */
+	public static final int NONE = -1;				// Slot of no Character
+	private static final int DEFAULT_CAPACITY = 64;	// Starting number of slots
+
+	/* Store Characters are added to when created */
+	private static CharacterStore sDefault = new CharacterStore();
+
+	/* Character variables, by slot */
+	private float[] mX;					// Center
+	private float[] mY;
+	private float[] mDirX;				// Direction vector
+	private float[] mDirY;
+	private float[] mMoveToX;			// Coordinate for auto-advancing
+	private float[] mMoveToY;
+	private float[] mWalkSpeed;			// Walk speed
+	private int[] mState;				// State, ordinal of Character's state enum
+	private int[] mFacing;				// Direction: sprite row facing
+	private int[] mPrevFacing;			// Previous direction
+	private int[] mSprite;				// Sprite fields, SPRITE_FIELDS per slot
+	private Character[] mOwners;		// Character viewing slot
+
+	private int mCount;					// Number of slots used
+	private int mCapacity;				// Number of slots
+
+	/** Default Constructor. */
+	public CharacterStore()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor.
+	 * @param capacity Number of Characters to make room for
+	 */
+	public CharacterStore(int capacity)
+	{
+		mCount = 0;
+		mCapacity = 0;
+		Grow(Math.max(1, capacity));
+	}
+
+	/**
+	 * @return Store new Characters are added to
+	 */
+	public static CharacterStore GetDefault()
+	{
+		return sDefault;
+	}
+
+	/**
+	 * Set store new Characters are added to, e.g. one store per map.
+	 * @param store Store
+	 */
+	public static void SetDefault(CharacterStore store)
+	{
+		sDefault = store;
+	}
+
+	/**
+	 * Add a Character with zeroed data.
+	 * @param owner Character viewing slot
+	 * @return Slot of Character
+	 */
+	int Add(Character owner)
+	{
+		if (mCount == mCapacity)
+			Grow(mCapacity * 2);
+
+		int slot = mCount++;
+		mX[slot] = 0f;
+		mY[slot] = 0f;
+		mDirX[slot] = 0f;
+		mDirY[slot] = 0f;
+		mMoveToX[slot] = 0f;
+		mMoveToY[slot] = 0f;
+		mWalkSpeed[slot] = 0f;
+		mState[slot] = 0;
+		mFacing[slot] = 0;
+		mPrevFacing[slot] = 0;
+		for (int i = 0; i < SPRITE_FIELDS; i++)
+			mSprite[slot * SPRITE_FIELDS + i] = 0;
+		mOwners[slot] = owner;
+		return slot;
+	}
+
+	/**
+	 * Remove a Character, moving last slot into its place.
+	 * @param slot Slot of Character
+	 */
+	void Remove(int slot)
+	{
+		int last = --mCount;
+		if (slot != last)
+		{
+			mX[slot] = mX[last];
+			mY[slot] = mY[last];
+			mDirX[slot] = mDirX[last];
+			mDirY[slot] = mDirY[last];
+			mMoveToX[slot] = mMoveToX[last];
+			mMoveToY[slot] = mMoveToY[last];
+			mWalkSpeed[slot] = mWalkSpeed[last];
+			mState[slot] = mState[last];
+			mFacing[slot] = mFacing[last];
+			mPrevFacing[slot] = mPrevFacing[last];
+			System.arraycopy(mSprite, last * SPRITE_FIELDS, mSprite, slot * SPRITE_FIELDS, SPRITE_FIELDS);
+			mOwners[slot] = mOwners[last];
+			mOwners[slot].SetSlot(slot);
+		}
+		mOwners[last] = null;
+	}
+
+	/**
+	 * @return Number of Characters, slots 0 to count - 1 are used
+	 */
+	public int GetCount()
+	{
+		return mCount;
+	}
+
+	/**
+	 * @param slot Slot
+	 * @return Character viewing slot
+	 */
+	public Character GetCharacter(int slot)
+	{
+		return mOwners[slot];
+	}
+
+	public float GetX(int slot)
+	{
+		return mX[slot];
+	}
+
+	public float GetY(int slot)
+	{
+		return mY[slot];
+	}
+
+	void SetPosition(int slot, float x, float y)
+	{
+		mX[slot] = x;
+		mY[slot] = y;
+	}
+
+	public float GetDirX(int slot)
+	{
+		return mDirX[slot];
+	}
+
+	public float GetDirY(int slot)
+	{
+		return mDirY[slot];
+	}
+
+	void SetDirection(int slot, float x, float y)
+	{
+		mDirX[slot] = x;
+		mDirY[slot] = y;
+	}
+
+	public float GetMoveToX(int slot)
+	{
+		return mMoveToX[slot];
+	}
+
+	public float GetMoveToY(int slot)
+	{
+		return mMoveToY[slot];
+	}
+
+	void SetMoveTo(int slot, float x, float y)
+	{
+		mMoveToX[slot] = x;
+		mMoveToY[slot] = y;
+	}
+
+	public float GetWalkSpeed(int slot)
+	{
+		return mWalkSpeed[slot];
+	}
+
+	void SetWalkSpeed(int slot, float speed)
+	{
+		mWalkSpeed[slot] = speed;
+	}
+
+	/**
+	 * @param slot Slot
+	 * @return Ordinal of Character's state enum (e.g. <code>Monster.MonsterState</code>)
+	 */
+	public int GetState(int slot)
+	{
+		return mState[slot];
+	}
+
+	void SetState(int slot, int state)
+	{
+		mState[slot] = state;
+	}
+
+	public int GetFacing(int slot)
+	{
+		return mFacing[slot];
+	}
+
+	void SetFacing(int slot, int facing)
+	{
+		mFacing[slot] = facing;
+	}
+
+	int GetPrevFacing(int slot)
+	{
+		return mPrevFacing[slot];
+	}
+
+	void SetPrevFacing(int slot, int facing)
+	{
+		mPrevFacing[slot] = facing;
+	}
+
+	/**
+	 * @param slot Slot
+	 * @param field Sprite field, e.g. <code>REST_BEGIN</code>
+	 * @return Sprite column or row
+	 */
+	public int GetSprite(int slot, int field)
+	{
+		return mSprite[slot * SPRITE_FIELDS + field];
+	}
+
+	void SetSprite(int slot, int field, int value)
+	{
+		mSprite[slot * SPRITE_FIELDS + field] = value;
+	}
+
+	/**
+	 * Grow arrays to given number of slots. Only place that allocates.
+	 * @param capacity New number of slots
+	 */
+	private void Grow(int capacity)
+	{
+		mX = CopyOf(mX, capacity);
+		mY = CopyOf(mY, capacity);
+		mDirX = CopyOf(mDirX, capacity);
+		mDirY = CopyOf(mDirY, capacity);
+		mMoveToX = CopyOf(mMoveToX, capacity);
+		mMoveToY = CopyOf(mMoveToY, capacity);
+		mWalkSpeed = CopyOf(mWalkSpeed, capacity);
+		mState = CopyOf(mState, capacity, 1);
+		mFacing = CopyOf(mFacing, capacity, 1);
+		mPrevFacing = CopyOf(mPrevFacing, capacity, 1);
+		mSprite = CopyOf(mSprite, capacity, SPRITE_FIELDS);
+
+		Character[] owners = new Character[capacity];
+		if (mOwners != null)
+			System.arraycopy(mOwners, 0, owners, 0, mCount);
+		mOwners = owners;
+		mCapacity = capacity;
+	}
+
+	private float[] CopyOf(float[] array, int capacity)
+	{
+		float[] copy = new float[capacity];
+		if (array != null)
+			System.arraycopy(array, 0, copy, 0, mCount);
+		return copy;
+	}
+
+	private int[] CopyOf(int[] array, int capacity, int stride)
+	{
+		int[] copy = new int[capacity * stride];
+		if (array != null)
+			System.arraycopy(array, 0, copy, 0, mCount * stride);
+		return copy;
+	}
+}
@@ -1,10 +1,13 @@
 package Character.Hero;
 
+import java.nio.ByteBuffer;
+
 import screen_Manager.ScreenManager;
+import Character.Archetype;
 import Character.Character;
 import GTCS1Lib_Java.JavaGTCS1Base;
 import GTCS1Lib_Java.Internal.Vector2;
-import GTCS1Lib_Java.JavaGTCS1Base.SpriteAnimateMode;
+import tween.Completion;
 
 /**************************************************************************************************
  * This Hero class extends Hero class.
@@ -29,7 +32,7 @@ public class Hero extends Character
 	/* Constant variables */
 	
 	/* Local variables */
-	protected HeroState mCurrentState = HeroState.Rest;
+	private static final HeroState[] STATES = HeroState.values();
 	protected boolean isUserControl = true;
 	
 	/**
@@ -40,6 +43,7 @@ public class Hero extends Character
 	public Hero(Vector2 origin, float radius) 
 	{
 		super(origin, radius);
+		SetState(HeroState.Rest);
 	}
 	
 	/**
@@ -51,13 +55,50 @@ public class Hero extends Character
 	public Hero(Vector2 origin, float radius, float walkSpeed)
 	{
 		super(origin, radius);
-		mWalkSpeed = walkSpeed;
+		SetWalkSpeed(walkSpeed);
+		SetState(HeroState.Rest);
+	}
+	
+	/**
+	 * Constructor, from archetype. See <code>ArchetypeRegistry.Spawn()</code>.
+	 * @param origin starting coordinate
+	 * @param radius size of Hero
+	 * @param archetype sprite sheet and rows
+	 */
+	public Hero(Vector2 origin, float radius, Archetype archetype)
+	{
+		super(origin, radius);
+		SetState(HeroState.Rest);
+		SetArchetype(archetype);
 	}
 	
 	/** Reclaim memory space. */
 	public void Unload()
 	{
-		RemoveFromAutoDrawSet();
+		super.Unload();
+	}
+	
+	/**
+	 * Write Hero's state for a world save, including user control.
+	 * @param out Buffer to write to
+	 */
+	@Override
+	protected void WriteState(ByteBuffer out)
+	{
+		super.WriteState(out);
+		out.put((byte)(isUserControl ? 1 : 0));
+	}
+	
+	/**
+	 * Read state written by <code>WriteState()</code>.
+	 * @param in Buffer to read from
+	 * @param version Save version
+	 */
+	@Override
+	protected void ReadState(ByteBuffer in, int version)
+	{
+		super.ReadState(in, version);
+		isUserControl = in.get() != 0;
 	}
 	
 	/**
@@ -67,7 +108,7 @@ public class Hero extends Character
 	public void Update() 
 	{
 		/* Check Hero's current state */
-		switch (mCurrentState)
+		switch (GetState())
 		{
 			case Rest:
 				RestState();
@@ -81,7 +122,7 @@ public class Hero extends Character
 		}
 		
 //		JavaGTCS1Base.EchoToTopStatus("Hero: (" + (int)GetCenterX() + "," + (int)GetCenterY() + ")" +
-//									  " Speed: " + (int)mWalkSpeed);
+//									  " Speed: " + (int)GetWalkSpeed());
 	}
 	
 	/**
@@ -97,7 +138,7 @@ public class Hero extends Character
 		/* Check if Hero is moving and user has control of Hero */
 		if ((JavaGTCS1Base.LeftThumbstick().X != 0f || JavaGTCS1Base.LeftThumbstick().Y != 0f) && isUserControl)
 		{
-			mCurrentState = HeroState.Walk;
+			SetState(HeroState.Walk);
 		}
 	}
 	
@@ -110,28 +151,24 @@ public class Hero extends Character
 		CalcFacingDirection();
 		
 		/* Animate walk */
-		if (!GetSpriteSheetIsUsingAnimation())
-		{
-			SetSpriteTextureAnimationFrames(walkBeginX, mCurrDir, walkEndX, mCurrDir, WALK_FRAME_RATE, SpriteAnimateMode.AnimateForward);
-			SetSpriteSheetIsUsingAnimation(true);
-		}
+		StartWalkAnimation(WALK_FRAME_RATE);
 		
 		/* Check if moving direction changes */
-		if (mPrevDir != mCurrDir)
+		if (GetPrevFacing() != GetFacing())
 		{
-			SetSpriteSheetIsUsingAnimation(false);
-			mPrevDir = mCurrDir;
+			StopAnimation();
+			SetPrevFacing(GetFacing());
 		}
 		
 		/* Check if Hero stopped moving, go to Rest state */
 		if (JavaGTCS1Base.LeftThumbstick().X == 0f &&
 			JavaGTCS1Base.LeftThumbstick().Y == 0f)
 		{
-			mCurrentState = HeroState.Rest;
+			SetState(HeroState.Rest);
 		}
 
 		/* Update Hero's center */
-		SetCenter(Vector2.add(this.GetCenter(), Vector2.multiply(JavaGTCS1Base.LeftThumbstick(), mWalkSpeed)));
+		SetCenter(Vector2.add(this.GetCenter(), Vector2.multiply(JavaGTCS1Base.LeftThumbstick(), GetWalkSpeed())));
 	}
 	
 	/**
@@ -141,8 +178,8 @@ public class Hero extends Character
 	protected void NoInputState() 
 	{
 		/* Set Rest sprite */
-		SetSpriteTextureAnimationFrames(restBeginX, mCurrDir, restEndX, mCurrDir, 1, SpriteAnimateMode.AnimateForward);
-		SetSpriteSheetIsUsingAnimation(false);
+		ShowRestFrame();
+		StopAnimation();
 	}
 	
 	/**
@@ -152,7 +189,16 @@ public class Hero extends Character
 	protected void AutoStateSetEnd()
 	{
 		/* Set Hero to Rest state */
-		mCurrentState = HeroState.Rest;
+		SetState(HeroState.Rest);
+	}
+	
+	/**
+	 * Set Hero to <code>Auto</code> state, used by scripted moves.
+	 */
+	@Override
+	protected void SetAutoState()
+	{
+		SetState(HeroState.Auto);
 	}
 	
 	/**
@@ -161,15 +207,15 @@ public class Hero extends Character
 	@Override
 	protected void CalcDirectionVector()
 	{
-		if (mCurrentState == HeroState.Walk)
+		if (GetState() == HeroState.Walk)
 		{
 			/* Get input from left thumbstick */
-			mDirVector = JavaGTCS1Base.LeftThumbstick();
+			SetDirection(JavaGTCS1Base.LeftThumbstick());
 		}
 		else
 		{
 			/* Calculate direction vector from "MoveTo" coordinate */
-			mDirVector = Vector2.Normalize(Vector2.subtract(mMoveToCoord, GetCenter()));
+			super.CalcDirectionVector();
 		}
 	}
 	
@@ -179,7 +225,25 @@ public class Hero extends Character
 	 */
 	public void SetState(HeroState state)
 	{
-		mCurrentState = state;
+		SetStateIndex(state.ordinal());
+	}
+	
+	/**
+	 * Get Hero's current state.
+	 * @return current state
+	 */
+	public HeroState GetState()
+	{
+		return STATES[GetStateIndex()];
+	}
+	
+	/**
+	 * @return Number of Hero states
+	 */
+	@Override
+	protected int GetStateCount()
+	{
+		return STATES.length;
 	}
 
 	/**
@@ -187,7 +251,7 @@ public class Hero extends Character
 	 */
 	public void SetRestState()
 	{
-		mCurrentState = HeroState.Rest;
+		SetState(HeroState.Rest);
 		isUserControl = true;
 	}
 	
@@ -196,7 +260,7 @@ public class Hero extends Character
 	 */
 	public void Manual()
 	{
-		mCurrentState = HeroState.Rest;
+		SetState(HeroState.Rest);
 		isUserControl = true;
 	}
 	
@@ -213,7 +277,7 @@ public class Hero extends Character
 		else 
 		{
 			isUserControl = false;
-			mCurrentState = HeroState.Rest;
+			SetState(HeroState.Rest);
 		}
 	}
 	
@@ -245,12 +309,14 @@ public class Hero extends Character
 	 * Set Hero to <code>Auto</code> state. Hero will move to given coordinate.
 	 * This is the same as <code>SetAuto()</code>.
 	 * @param toCoord move to coordinate
+	 * @return Completed on the update Hero reaches coordinate
 	 */
-	public void MoveTo(Vector2 toCoord)
+	public Completion MoveTo(Vector2 toCoord)
 	{
-		mMoveToCoord = new Vector2(toCoord.X, toCoord.Y);
-		SetSpriteSheetIsUsingAnimation(false);
-		mCurrentState = HeroState.Auto;
+		Completion completion = StartMove(toCoord);
+		StopAnimation();
+		SetState(HeroState.Auto);
+		return completion;
 	}
 	
 	/**
@@ -258,20 +324,22 @@ public class Hero extends Character
 	 * This is the same as <code>SetAuto()</code>.
 	 * @param coordX x-coordinate
 	 * @param coordY y-coordinate
+	 * @return Completed on the update Hero reaches coordinate
 	 */
-	public void MoveTo(float coordX, float coordY)
+	public Completion MoveTo(float coordX, float coordY)
 	{
-		MoveTo(new Vector2(coordX, coordY));
+		return MoveTo(new Vector2(coordX, coordY));
 	}
 	
 	/**
 	 * Set Hero to <code>Auto</code> state. Hero will move to given coordinate.
 	 * This is the same as <code>MoveTo()</code>.
 	 * @param toCoord move to coordinate
+	 * @return Completed on the update Hero reaches coordinate
 	 */
-	public void SetAuto(Vector2 toCoord)
+	public Completion SetAuto(Vector2 toCoord)
 	{
-		MoveTo(toCoord);
+		return MoveTo(toCoord);
 	}
 	
 	/**
@@ -279,23 +347,15 @@ public class Hero extends Character
 	 * This is the same as <code>MoveTo()</code>.
 	 * @param coordX x-coordinate
 	 * @param coordY y-coordinate
+	 * @return Completed on the update Hero reaches coordinate
 	 */
-	public void SetAuto(float coordX, float coordY)
-	{
-		MoveTo(coordX, coordY);
-	}
-	
-	/**
-	 * Return Hero's current walk speed.
-	 * @return walk speed
-	 */
-	public float GetWalkSpeed()
+	public Completion SetAuto(float coordX, float coordY)
 	{
-		return mWalkSpeed;
+		return MoveTo(coordX, coordY);
 	}
 	
 	public Vector2 getMoveTo()
 	{
-		return mMoveToCoord;
+		return new Vector2(GetMoveToX(), GetMoveToY());
 	}
 }
@@ -1,5 +1,6 @@
 package Character.Hero;
 
+import Character.ArchetypeRegistry;
 import GTCS1Lib_Java.Internal.Vector2;
 
 /**************************************************************************************************
@@ -25,24 +26,13 @@ public class Hero_Chibi extends Hero
 	public Hero_Chibi(Vector2 origin, float radius, float walkSpeed) 
 	{
 		super(origin, radius, walkSpeed);
-		mWalkSpeed = walkSpeed;
+		SetWalkSpeed(walkSpeed);
 		SetSprite();
 	}
 
-	/** Sprite stuff */
+	/** Sprite stuff, see archetypes.txt */
 	private void SetSprite()
 	{
-		SetTexture("hero.png");
-		SetSpriteSheetTexture(4, 4, 0);
-		SetSpriteSheetUsed(true);
-		
-		restBeginX = 0;
-		restEndX = 0;
-		walkBeginX = 1;
-		walkEndX = 3;
-		rowFacingSouth = 2;
-		rowFacingEast = 0;
-		rowFacingNorth = 3;
-		rowFacingWest = 1;
+		SetArchetype(ArchetypeRegistry.GetDefault().Get("Hero_Chibi"));
 	}
 }
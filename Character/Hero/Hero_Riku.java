@@ -1,5 +1,6 @@
 package Character.Hero;
 
+import Character.ArchetypeRegistry;
 import GTCS1Lib_Java.Internal.Vector2;
 
 /**************************************************************************************************
@@ -25,24 +26,13 @@ public class Hero_Riku extends Hero
 	public Hero_Riku(Vector2 origin, float radius, float walkSpeed) 
 	{
 		super(origin, radius, walkSpeed);
-		mWalkSpeed = walkSpeed;
+		SetWalkSpeed(walkSpeed);
 		SetSprite();
 	}
 
-	/** Sprite stuff */
+	/** Sprite stuff, see archetypes.txt */
 	private void SetSprite()
 	{
-		SetTexture("Riku.png");
-		SetSpriteSheetTexture(14, 8, 0);
-		SetSpriteSheetUsed(true);
-		
-		restBeginX = 0;
-		restEndX = 0;
-		walkBeginX = 1;
-		walkEndX = 8;
-		rowFacingSouth = 0;
-		rowFacingEast = 2;
-		rowFacingNorth = 4;
-		rowFacingWest = 6;
+		SetArchetype(ArchetypeRegistry.GetDefault().Get("Hero_Riku"));
 	}
 }
@@ -1,11 +1,18 @@
 package Character.Monster;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import Character.Archetype;
 import Character.Character;
-import Character.Hero.Hero;
-import Character.Monster.Monster;
+import Character.CharacterCodec;
+import Character.CharacterStore;
 import GTCS1Lib_Java.Internal.Vector2;
-import GTCS1Lib_Java.JavaGTCS1Base.SpriteAnimateMode;
+import path.FlowField;
 import Tile.TileSet;
+import tween.Completion;
 
 /**************************************************************************************************
  * This Monster class extends Character class.
@@ -34,12 +41,12 @@ public class Monster extends Character
 	protected final int PATROL_TICKS = 100;			// patrol tick time
 	protected final int PATROL_FRAME_RATE = 5;		// patrol frame rate
 	
-	protected final float DIST_BEGIN_CHASE = 150f;	// distance to begin chase
+	protected static final float DIST_BEGIN_CHASE = 150f;	// distance to begin chase
 	protected final float CHASE_SPEED = 1f;			// chase speed
 	protected final int CHASE_FRAME_RATE = 10;		// chase frame rate
 	
 	/* Local variables */
-	protected MonsterState mCurrentState = MonsterState.Patrol;
+	private static final MonsterState[] STATES = MonsterState.values();
 	
 	protected Vector2 mPatrolVector;				// patrol movement
 	protected Vector2 mNewPatrolPt;					// new patrol point
@@ -48,6 +55,12 @@ public class Monster extends Character
 	protected int mPatrolTicks;						// patrol tick time
 
 	protected Vector2 mOrigCenter;					// original monster center
+	protected Random mRandom;						// picks patrol points
+	protected transient FlowField mFlowField;		// chase directions, null to chase in a straight line
+	private transient MonsterPlan mPlan;			// next update, see PlanUpdate()
+	int mLastUpdateFrame;							// frame of last update, see MonsterUpdater
+	int mNearTargetFrame;							// frame MonsterUpdater last found target near
+	boolean mPooled;								// released to a MonsterPool, see MonsterPool
 	protected String mMonsterType;					// type of monster
 	protected String mBattleScene;					// battle scenario
 	
@@ -71,28 +84,115 @@ public class Monster extends Character
 	public Monster(Vector2 origin, float radius, float walkSpeed)
 	{
 		super(origin, radius);
-		mWalkSpeed = walkSpeed;
+		SetWalkSpeed(walkSpeed);
 		InitializeMonster();
 	}
 	
+	/**
+	 * Constructor, from archetype. See <code>ArchetypeRegistry.Spawn()</code>.
+	 * @param origin starting coordinate
+	 * @param radius size of Monster
+	 * @param archetype sprite sheet and rows, monster type
+	 */
+	public Monster(Vector2 origin, float radius, Archetype archetype)
+	{
+		super(origin, radius);
+		InitializeMonster();
+		SetArchetype(archetype);
+	}
+	
 	/** Initialize Monster's local variables */
 	protected void InitializeMonster()
 	{
+		mRandom = new Random();
+		mFlowField = null;
+		mPlan = new MonsterPlan();
+		mMonsterType = "";
+		mBattleScene = "";
+		ResetPatrol();
+	}
+	
+	/** Set patrol variables to defaults, patrolling around current center. */
+	private void ResetPatrol()
+	{
+		SetState(MonsterState.Patrol);
 		mPatrolVector = Vector2.Zero;
 		mNewPatrolPt = Vector2.Zero;
 		mGetPatrolPt = true;
 		mHoldPatrol = false;
 		mPatrolTicks = 0;
-		
 		mOrigCenter = new Vector2(GetCenterX(), GetCenterY());
-		mMonsterType = "";
+		mLastUpdateFrame = 0;
+		mNearTargetFrame = -1;
+	}
+	
+	/**
+	 * Make Monster as good as new at given origin, for reuse after
+	 * <code>Deactivate()</code> (see <code>MonsterPool</code>). Patrol starts over
+	 * around the origin, and walk speed, flow field and battle scene go back to
+	 * the defaults of a new Monster. Archetype, sprite sheet and monster type
+	 * are kept. Does not add Monster to draw set.
+	 * @param origin starting coordinate
+	 */
+	public void Reset(Vector2 origin)
+	{
+		CancelMove();
+		SetCenter(origin);
+		SetMoveTo(origin.X, origin.Y);
+		SetDirection(0f, 0f);
+		SetWalkSpeed(WALK_SPEED);
+		mFlowField = null;
 		mBattleScene = "";
+		ResetPatrol();
+		HideExpress(0);
+		HideExpress(1);
+	}
+	
+	/**
+	 * Write Monster's state for a world save: patrol center, patrol and battle scene.
+	 * @param out Buffer to write to
+	 */
+	@Override
+	protected void WriteState(ByteBuffer out)
+	{
+		super.WriteState(out);
+		out.putFloat(mOrigCenter.X);
+		out.putFloat(mOrigCenter.Y);
+		out.putInt(mPatrolTicks);
+		out.put((byte)((mGetPatrolPt ? 1 : 0) | (mHoldPatrol ? 2 : 0)));
+		CharacterCodec.PutString(out, mBattleScene);
+	}
+	
+	/**
+	 * Read state written by <code>WriteState()</code>.
+	 * @param in Buffer to read from
+	 * @param version Save version
+	 */
+	@Override
+	protected void ReadState(ByteBuffer in, int version)
+	{
+		super.ReadState(in, version);
+		float origX = in.getFloat();
+		float origY = in.getFloat();
+		mOrigCenter = new Vector2(origX, origY);
+		mPatrolTicks = in.getInt();
+		int flags = in.get();
+		mGetPatrolPt = (flags & 1) != 0;
+		mHoldPatrol = (flags & 2) != 0;
+		mBattleScene = CharacterCodec.GetString(in);
 	}
 	
-	/** Reclaim memory space. */
-	public void Unload()
+	/**
+	 * Deserialize Monster. Its flow field is map data and is not serialized,
+	 * so it chases in a straight line until one is set again.
+	 * @param in Stream to read from
+	 * @throws IOException if stream cannot be read
+	 * @throws ClassNotFoundException if a serialized class is missing
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
 	{
-		RemoveFromAutoDrawSet();
+		in.defaultReadObject();
+		mPlan = new MonsterPlan();
 	}
 	
 	/**
@@ -107,215 +207,343 @@ public class Monster extends Character
 	}
 	
 	/**
-	 * Update Monster.
+	 * Base update, called by <code>UpdateUserMovement()</code>. Monster states are
+	 * run by <code>Update(Character)</code>, whose plan ops alone change animation,
+	 * so nothing to do.
+	 */
+	@Override
+	protected void Update()
+	{
+	}
+	
+	/**
+	 * Update Monster. Same as <code>PlanUpdate()</code> followed by <code>ApplyPlan()</code>.
 	 * @param target Targeted character
 	 */
 	public void Update(Character target) 
 	{
+		PlanUpdate(target, 1, false);
+		ApplyPlan();
+	}
+	
+	/**
+	 * First half of update. Work out Monster's next state and movement into its plan,
+	 * without changing the Monster or calling sprite functions. Only this Monster
+	 * and the target are read, so Monsters may plan on several threads at once as
+	 * long as nothing moves meanwhile (see <code>MonsterUpdater</code>).
+	 * @param target Targeted character
+	 * @param steps Number of updates to cover, more than 1 to catch up after skipping updates
+	 * @param queried True = <code>MonsterUpdater</code> queried target's spatial grid this
+	 * 				  frame, so only Monsters it found check chase range
+	 */
+	void PlanUpdate(Character target, int steps, boolean queried)
+	{
+		/* Start from current values */
+		MonsterPlan plan = mPlan;
+		plan.state = GetStateIndex();
+		plan.x = GetCenterX();
+		plan.y = GetCenterY();
+		plan.moved = false;
+		plan.moveToX = GetMoveToX();
+		plan.moveToY = GetMoveToY();
+		plan.dirX = GetDirX();
+		plan.dirY = GetDirY();
+		plan.facing = GetFacing();
+		plan.prevFacing = GetPrevFacing();
+		plan.getPatrolPt = mGetPatrolPt;
+		plan.holdPatrol = mHoldPatrol;
+		plan.patrolTicks = mPatrolTicks;
+		plan.origX = mOrigCenter.X;
+		plan.origY = mOrigCenter.Y;
+		plan.origMoved = false;
+		plan.queried = queried && GetSpatialGrid() != null && GetSpatialGrid() == target.GetSpatialGrid();
+		plan.nearTarget = mNearTargetFrame == mLastUpdateFrame;
+		plan.opCount = 0;
+		
 		/* Check Monster's current state */
-		switch (mCurrentState)
+		switch (STATES[plan.state])
 		{
 			case Rest:
-				RestState();
+				plan.AddOp(MonsterPlan.OP_REST, 0);
 				break;
 			case Patrol:
-				PatrolState(target);
+				PlanPatrol(plan, target, steps);
 				break;
 			case Chase:
-				ChaseState(target);
+				PlanChase(plan, target, steps);
 				break;
 			case Auto:
-				AutoState();
+				plan.AddOp(MonsterPlan.OP_AUTO, 0);
 				break;
 		}
 	}
 	
 	/**
-	 * Monster PATROL state. Monster moves free-form.
+	 * Second half of update. Apply plan made by <code>PlanUpdate()</code> and make its
+	 * sprite calls. Call on the game thread.
 	 */
-	protected void PatrolState(Hero target)
+	void ApplyPlan()
 	{
-		/* If not patrolling, create a new random patrol point */
-		if (mGetPatrolPt)
-		{
-			mMoveToCoord = new Vector2();
-			mMoveToCoord.X = mOrigCenter.X + ((float)(Math.random() * 2 - 1.0) * PATROL_LENGTH);
-			mMoveToCoord.Y = mOrigCenter.Y + ((float)(Math.random() * 2 - 1.0) * PATROL_LENGTH);
-			CalcFacingDirection();
-			mGetPatrolPt = false;
-		}
-
-		/* Keep moving until reaching patrolling point */
-		if (!mHoldPatrol)
+		MonsterPlan plan = mPlan;
+		SetStateIndex(plan.state);
+		if (plan.moved)
+			SetCenter(new Vector2(plan.x, plan.y));
+		SetMoveTo(plan.moveToX, plan.moveToY);
+		SetDirection(plan.dirX, plan.dirY);
+		SetFacing(plan.facing);
+		SetPrevFacing(plan.prevFacing);
+		mGetPatrolPt = plan.getPatrolPt;
+		mHoldPatrol = plan.holdPatrol;
+		mPatrolTicks = plan.patrolTicks;
+		if (plan.origMoved)
+			mOrigCenter = new Vector2(plan.origX, plan.origY);
+		
+		for (int i = 0; i < plan.opCount; i++)
 		{
-			if (!GetSpriteSheetIsUsingAnimation())
+			switch (plan.ops[i])
 			{
-				SetSpriteTextureAnimationFrames(walkBeginX, mCurrDir, walkEndX, mCurrDir, PATROL_FRAME_RATE, SpriteAnimateMode.AnimateForward);
-				SetSpriteSheetIsUsingAnimation(true);
+				case MonsterPlan.OP_WALK:
+					StartWalkAnimation(plan.opArgs[i]);
+					break;
+				case MonsterPlan.OP_REST_FRAME:
+					ShowRestFrame();
+					break;
+				case MonsterPlan.OP_STOP:
+					StopAnimation();
+					break;
+				case MonsterPlan.OP_REST:
+					RestState();
+					break;
+				case MonsterPlan.OP_AUTO:
+					AutoState();
+					break;
 			}
-			SetCenter(Vector2.add(GetCenter(), Vector2.multiply(mDirVector, PATROL_SPEED)));
-		}
-			
-		/* If reached new patrolling point, hold. */
-		if (Math.abs(mMoveToCoord.X - GetCenterX()) < 0.5f || Math.abs(mMoveToCoord.Y - GetCenterY()) < 0.5f)
-		{
-			/* Hold for given amount of time */
-			if (mPatrolTicks < PATROL_TICKS)
-			{
-				SetSpriteTextureAnimationFrames(restBeginX, mCurrDir, restEndX, mCurrDir, 1, SpriteAnimateMode.AnimateForward);
-				mHoldPatrol = true;
-				mPatrolTicks++;
-			}
-			/* Hold enough, start patrol again */
-			else 
-			{
-				SetSpriteSheetIsUsingAnimation(false);
-				mHoldPatrol = false;
-				mGetPatrolPt = true;
-				mPatrolTicks = 0;
-			}
-		}
-		
-		// Check if Monster is nearby
-		Vector2 toHero = Vector2.subtract(target.GetCenter(), GetCenter());
-		if (toHero.Length() < DIST_BEGIN_CHASE)
-		{
-			SetSpriteSheetIsUsingAnimation(false);
-			mCurrentState = MonsterState.Chase;
 		}
 	}
 	
-	protected void PatrolState(Character target)
+	/**
+	 * Monster PATROL state. Monster moves free-form.
+	 * @param plan Plan to fill in
+	 * @param target Targeted character
+	 * @param steps Number of updates to cover
+	 */
+	private void PlanPatrol(MonsterPlan plan, Character target, int steps)
 	{
 		/* If not patrolling, create a new random patrol point */
-		if (mGetPatrolPt)
+		if (plan.getPatrolPt)
 		{
-			mMoveToCoord = new Vector2();
-			mMoveToCoord.X = mOrigCenter.X + ((float)(Math.random() * 2 - 1.0) * PATROL_LENGTH);
-			mMoveToCoord.Y = mOrigCenter.Y + ((float)(Math.random() * 2 - 1.0) * PATROL_LENGTH);
-			CalcFacingDirection();
-			mGetPatrolPt = false;
+			plan.moveToX = plan.origX + ((float)(mRandom.nextDouble() * 2 - 1.0) * PATROL_LENGTH);
+			plan.moveToY = plan.origY + ((float)(mRandom.nextDouble() * 2 - 1.0) * PATROL_LENGTH);
+			PlanFacing(plan);
+			plan.getPatrolPt = false;
 		}
-
+		
 		/* Keep moving until reaching patrolling point */
-		if (!mHoldPatrol)
+		if (!plan.holdPatrol)
 		{
-			if (!GetSpriteSheetIsUsingAnimation())
-			{
-				SetSpriteTextureAnimationFrames(walkBeginX, mCurrDir, walkEndX, mCurrDir, PATROL_FRAME_RATE, SpriteAnimateMode.AnimateForward);
-				SetSpriteSheetIsUsingAnimation(true);
-			}
-			SetCenter(Vector2.add(GetCenter(), Vector2.multiply(mDirVector, PATROL_SPEED)));
+			plan.AddOp(MonsterPlan.OP_WALK, PATROL_FRAME_RATE);
+			PlanMove(plan, PATROL_SPEED, steps, false);
 		}
-			
+		
 		/* If reached new patrolling point, hold. */
-		if (Math.abs(mMoveToCoord.X - GetCenterX()) < 0.5f || Math.abs(mMoveToCoord.Y - GetCenterY()) < 0.5f)
+		if (Math.abs(plan.moveToX - plan.x) < 0.5f || Math.abs(plan.moveToY - plan.y) < 0.5f)
 		{
 			/* Hold for given amount of time */
-			if (mPatrolTicks < PATROL_TICKS)
+			if (plan.patrolTicks < PATROL_TICKS)
 			{
-				SetSpriteTextureAnimationFrames(restBeginX, mCurrDir, restEndX, mCurrDir, 1, SpriteAnimateMode.AnimateForward);
-				mHoldPatrol = true;
-				mPatrolTicks++;
+				plan.AddOp(MonsterPlan.OP_REST_FRAME, 0);
+				plan.holdPatrol = true;
+				plan.patrolTicks += steps;
 			}
 			/* Hold enough, start patrol again */
 			else 
 			{
-				SetSpriteSheetIsUsingAnimation(false);
-				mHoldPatrol = false;
-				mGetPatrolPt = true;
-				mPatrolTicks = 0;
+				plan.AddOp(MonsterPlan.OP_STOP, 0);
+				plan.holdPatrol = false;
+				plan.getPatrolPt = true;
+				plan.patrolTicks = 0;
 			}
 		}
 		
 		// Check if Monster is nearby
-		Vector2 toHero = Vector2.subtract(target.GetCenter(), GetCenter());
-		if (toHero.Length() < DIST_BEGIN_CHASE)
+		if (IsInChaseRange(plan, target))
 		{
-			SetSpriteSheetIsUsingAnimation(false);
-			mCurrentState = MonsterState.Chase;
+			plan.AddOp(MonsterPlan.OP_STOP, 0);
+			plan.state = MonsterState.Chase.ordinal();
 		}
 	}
 	
 	/**
 	 * Monster CHASE state. Monster chases target.
+	 * @param plan Plan to fill in
+	 * @param target Targeted character
+	 * @param steps Number of updates to cover
 	 */
-	protected void ChaseState(Hero target)
+	private void PlanChase(MonsterPlan plan, Character target, int steps)
 	{
-		Vector2 toHero = Vector2.subtract(target.GetCenter(), GetCenter());
-		
 		/* Verify if Monster is in chasing distance */
-		if (toHero.Length() < DIST_BEGIN_CHASE)
+		if (IsInChaseRange(plan, target))
 		{
-			mMoveToCoord = new Vector2(target.GetCenterX(), target.GetCenterY());
-			CalcFacingDirection();
+			plan.moveToX = target.GetCenterX();
+			plan.moveToY = target.GetCenterY();
+			PlanChaseDirection(plan);
 			
-			if (!GetSpriteSheetIsUsingAnimation())
-			{
-				SetSpriteTextureAnimationFrames(walkBeginX, mCurrDir, walkEndX, mCurrDir, CHASE_FRAME_RATE, SpriteAnimateMode.AnimateForward);
-				SetSpriteSheetIsUsingAnimation(true);
-			}
+			plan.AddOp(MonsterPlan.OP_WALK, CHASE_FRAME_RATE);
 			
 			/* Update monster movement */
-			SetCenter(Vector2.add(Vector2.multiply(mDirVector, mWalkSpeed), GetCenter()));
+			PlanMove(plan, GetWalkSpeed(), steps, true);
 			
 			/* Check for changing direction */
-			if (mPrevDir != mCurrDir)
+			if (plan.prevFacing != plan.facing)
 			{
-				mPrevDir = mCurrDir;
-				SetSpriteSheetIsUsingAnimation(false);
+				plan.prevFacing = plan.facing;
+				plan.AddOp(MonsterPlan.OP_STOP, 0);
 			}
 		}
 		/* Monster runs too fast, can't chase no more! */
 		else
 		{
-			mGetPatrolPt = true;
-			mHoldPatrol = false;
+			plan.getPatrolPt = true;
+			plan.holdPatrol = false;
 			
 			/* Get a new patrolling center and set Monster to patrolling state */
-			mOrigCenter = new Vector2(GetCenter().X, GetCenter().Y);
-			mCurrentState = MonsterState.Patrol;
+			plan.origX = plan.x;
+			plan.origY = plan.y;
+			plan.origMoved = true;
+			plan.state = MonsterState.Patrol.ordinal();
 		}
 	}
 	
-	protected void ChaseState(Character target)
+	/**
+	 * Walk toward plan's move-to coordinate, around walls if Monster has a flow field.
+	 * @param plan Plan to fill in
+	 */
+	private void PlanChaseDirection(MonsterPlan plan)
 	{
-		Vector2 toHero = Vector2.subtract(target.GetCenter(), GetCenter());
+		PlanFacing(plan);
 		
-		/* Verify if Monster is in chasing distance */
-		if (toHero.Length() < DIST_BEGIN_CHASE)
+		/* Walk around walls, unless already in target's tile */
+		if (mFlowField != null)
 		{
-			mMoveToCoord = new Vector2(target.GetCenterX(), target.GetCenterY());
-			CalcFacingDirection();
-			
-			if (!GetSpriteSheetIsUsingAnimation())
+			int direction = mFlowField.DirectionAt(plan.x, plan.y);
+			if (direction != FlowField.NONE)
 			{
-				SetSpriteTextureAnimationFrames(walkBeginX, mCurrDir, walkEndX, mCurrDir, CHASE_FRAME_RATE, SpriteAnimateMode.AnimateForward);
-				SetSpriteSheetIsUsingAnimation(true);
-			}
-			
-			/* Update monster movement */
-			SetCenter(Vector2.add(Vector2.multiply(mDirVector, mWalkSpeed), GetCenter()));
-			
-			/* Check for changing direction */
-			if (mPrevDir != mCurrDir)
-			{
-				mPrevDir = mCurrDir;
-				SetSpriteSheetIsUsingAnimation(false);
+				plan.dirX = FlowField.GetDirX(direction);
+				plan.dirY = FlowField.GetDirY(direction);
+				PlanFacingFromDirection(plan);
 			}
 		}
-		/* Monster runs too fast, can't chase no more! */
-		else
+	}
+	
+	/**
+	 * Move plan's center along its direction vector. Tile collision only runs
+	 * once per frame, so catching up moves one update at a time, turning with
+	 * the flow field and stopping before a blocked tile. Without a flow field
+	 * there are no tiles to check, and catching up moves one update only.
+	 * @param plan Plan to fill in
+	 * @param speed Distance per update
+	 * @param steps Number of updates to cover
+	 * @param steer True = turn toward move-to coordinate between updates, as chasing does
+	 */
+	private void PlanMove(MonsterPlan plan, float speed, int steps, boolean steer)
+	{
+		plan.moved = true;
+		if (mFlowField == null)
+			steps = 1;
+		
+		for (int step = 0; step < steps; step++)
 		{
-			mGetPatrolPt = true;
-			mHoldPatrol = false;
+			if (steps > 1)
+			{
+				/* Catching up, stop at move-to coordinate instead of overshooting it */
+				float dx = plan.moveToX - plan.x;
+				float dy = plan.moveToY - plan.y;
+				if (speed * speed >= dx * dx + dy * dy)
+				{
+					plan.x = plan.moveToX;
+					plan.y = plan.moveToY;
+					return;
+				}
+				if (step > 0 && steer)
+					PlanChaseDirection(plan);
+			}
 			
-			/* Get a new patrolling center and set Monster to patrolling state */
-			mOrigCenter = new Vector2(GetCenter().X, GetCenter().Y);
-			mCurrentState = MonsterState.Patrol;
+			float x = plan.x + plan.dirX * speed;
+			float y = plan.y + plan.dirY * speed;
+			if (step > 0 && !mFlowField.IsPassable(x, y))
+				return;
+			plan.x = x;
+			plan.y = y;
 		}
 	}
 	
+	/**
+	 * Work out direction vector and facing direction toward plan's move-to coordinate,
+	 * same as <code>CalcFacingDirection()</code>.
+	 * @param plan Plan to fill in
+	 */
+	private void PlanFacing(MonsterPlan plan)
+	{
+		Vector2 dir = Vector2.Normalize(new Vector2(plan.moveToX - plan.x, plan.moveToY - plan.y));
+		plan.dirX = dir.X;
+		plan.dirY = dir.Y;
+		PlanFacingFromDirection(plan);
+	}
+	
+	/**
+	 * Work out facing direction from plan's direction vector.
+	 * @param plan Plan to fill in
+	 */
+	private void PlanFacingFromDirection(MonsterPlan plan)
+	{
+		float dirX = plan.dirX;
+		float dirY = plan.dirY;
+		if (dirY < -Math.abs(dirX)) plan.facing = GetSprite(CharacterStore.ROW_SOUTH);	// South
+		if (dirX > Math.abs(dirY)) plan.facing = GetSprite(CharacterStore.ROW_EAST);		// East
+		if (dirY > Math.abs(dirX)) plan.facing = GetSprite(CharacterStore.ROW_NORTH);	// North
+		if (dirX < -Math.abs(dirY)) plan.facing = GetSprite(CharacterStore.ROW_WEST);	// West
+	}
+	
+	/**
+	 * Check if target is close enough to chase.
+	 * @param target Targeted character
+	 * @return True = target is within <code>DIST_BEGIN_CHASE</code>
+	 */
+	protected boolean IsInChaseRange(Character target)
+	{
+		return IsInChaseRange(target, GetCenterX(), GetCenterY());
+	}
+	
+	/**
+	 * Check if target is close enough to chase from plan's center. When
+	 * <code>MonsterUpdater</code> queried the target's spatial grid, only Monsters
+	 * it found near the target measure distance, the rest are out of range. A
+	 * Monster only coming into range during this update's move is found next update.
+	 * @param plan Plan being filled in
+	 * @param target Targeted character
+	 * @return True = target is within <code>DIST_BEGIN_CHASE</code>
+	 */
+	private boolean IsInChaseRange(MonsterPlan plan, Character target)
+	{
+		if (plan.queried && !plan.nearTarget)
+			return false;
+		return IsInChaseRange(target, plan.x, plan.y);
+	}
+	
+	/**
+	 * Check if target is close enough to chase from given coordinate.
+	 * @param target Targeted character
+	 * @param x x-coordinate to check from
+	 * @param y y-coordinate to check from
+	 * @return True = target is within <code>DIST_BEGIN_CHASE</code>
+	 */
+	private static boolean IsInChaseRange(Character target, float x, float y)
+	{
+		float dx = target.GetCenterX() - x;
+		float dy = target.GetCenterY() - y;
+		return dx * dx + dy * dy < DIST_BEGIN_CHASE * DIST_BEGIN_CHASE;
+	}
+	
 	/**
 	 * Helper function for AUTO state. Set end state to Patrol state.
 	 */
@@ -325,7 +553,60 @@ public class Monster extends Character
 		/* Set Monster to Patrol state */
 		mGetPatrolPt = true;
 		mHoldPatrol = false;
-		mCurrentState = MonsterState.Patrol;
+		SetState(MonsterState.Patrol);
+	}
+	
+	/**
+	 * Set Monster to <code>Auto</code> state, used by scripted moves.
+	 */
+	@Override
+	protected void SetAutoState()
+	{
+		SetState(MonsterState.Auto);
+	}
+	
+	/**
+	 * Set Monster's archetype, including its monster type.
+	 * @param archetype Archetype, see <code>ArchetypeRegistry</code>
+	 */
+	@Override
+	protected void SetArchetype(Archetype archetype)
+	{
+		super.SetArchetype(archetype);
+		mMonsterType = archetype.GetMonsterType();
+	}
+	
+	/**
+	 * World origin moved, shift Monster and its patrol points back by given amount.
+	 * @param dx Shift on x-axis
+	 * @param dy Shift on y-axis
+	 */
+	@Override
+	public void ShiftOrigin(float dx, float dy)
+	{
+		super.ShiftOrigin(dx, dy);
+		mNewPatrolPt = new Vector2(mNewPatrolPt.X - dx, mNewPatrolPt.Y - dy);
+		mOrigCenter = new Vector2(mOrigCenter.X - dx, mOrigCenter.Y - dy);
+	}
+	
+	/**
+	 * Chase along a flow field, walking around walls toward the field's target.
+	 * Monsters chasing the same target share one field. Its tiles also keep a
+	 * Monster out of walls when <code>MonsterUpdater</code> has it catch up.
+	 * @param flowField Flow field toward target, null to chase in a straight line
+	 */
+	public void SetFlowField(FlowField flowField)
+	{
+		mFlowField = flowField;
+	}
+	
+	/**
+	 * Seed patrol point picking, so a Monster patrols the same way every run.
+	 * @param seed Random seed
+	 */
+	public void SetRandomSeed(long seed)
+	{
+		mRandom.setSeed(seed);
 	}
 	
 	/**
@@ -334,7 +615,25 @@ public class Monster extends Character
 	 */
 	public void SetState(MonsterState state)
 	{
-		mCurrentState = state;
+		SetStateIndex(state.ordinal());
+	}
+	
+	/**
+	 * Get Monster's current state.
+	 * @return current state
+	 */
+	public MonsterState GetState()
+	{
+		return STATES[GetStateIndex()];
+	}
+	
+	/**
+	 * @return Number of Monster states
+	 */
+	@Override
+	protected int GetStateCount()
+	{
+		return STATES.length;
 	}
 	
 	/**
@@ -342,7 +641,7 @@ public class Monster extends Character
 	 */
 	public void SetRestState()
 	{
-		mCurrentState = MonsterState.Rest;
+		SetState(MonsterState.Rest);
 	}
 	
 	/**
@@ -350,7 +649,7 @@ public class Monster extends Character
 	 */
 	public void Rest()
 	{
-		mCurrentState = MonsterState.Rest;
+		SetState(MonsterState.Rest);
 	}
 	
 	/**
@@ -358,7 +657,7 @@ public class Monster extends Character
 	 */
 	public void SetPatrolState()
 	{
-		mCurrentState = MonsterState.Patrol;
+		SetState(MonsterState.Patrol);
 	}
 	
 	/**
@@ -366,19 +665,21 @@ public class Monster extends Character
 	 */
 	public void Patrol()
 	{
-		mCurrentState = MonsterState.Patrol;
+		SetState(MonsterState.Patrol);
 	}
 	
 	/**
 	 * Set Monster to <code>Auto</code> state. Monster will move to given coordinate.
 	 * This is the same as <code>SetAuto()</code>.
 	 * @param toCoord move to coordinate
+	 * @return Completed on the update Monster reaches coordinate
 	 */
-	public void MoveTo(Vector2 toCoord)
+	public Completion MoveTo(Vector2 toCoord)
 	{
-		mMoveToCoord = new Vector2(toCoord.X, toCoord.Y);
-		SetSpriteSheetIsUsingAnimation(false);
-		mCurrentState = MonsterState.Auto;
+		Completion completion = StartMove(toCoord);
+		StopAnimation();
+		SetState(MonsterState.Auto);
+		return completion;
 	}
 	
 	/**
@@ -386,20 +687,22 @@ public class Monster extends Character
 	 * This is the same as <code>SetAuto()</code>.
 	 * @param coordX x-coordinate
 	 * @param coordY y-coordinate
+	 * @return Completed on the update Monster reaches coordinate
 	 */
-	public void MoveTo(float coordX, float coordY)
+	public Completion MoveTo(float coordX, float coordY)
 	{
-		MoveTo(new Vector2(coordX, coordY));
+		return MoveTo(new Vector2(coordX, coordY));
 	}
 	
 	/**
 	 * Set Monster to <code>Auto</code> state. Monster will move to given coordinate.
 	 * This is the same as <code>MoveTo()</code>.
 	 * @param toCoord move to coordinate
+	 * @return Completed on the update Monster reaches coordinate
 	 */
-	public void SetAuto(Vector2 toCoord)
+	public Completion SetAuto(Vector2 toCoord)
 	{
-		MoveTo(toCoord);
+		return MoveTo(toCoord);
 	}
 	
 	/**
@@ -407,10 +710,11 @@ public class Monster extends Character
 	 * This is the same as <code>MoveTo()</code>.
 	 * @param coordX x-coordinate
 	 * @param coordY y-coordinate
+	 * @return Completed on the update Monster reaches coordinate
 	 */
-	public void SetAuto(float coordX, float coordY)
+	public Completion SetAuto(float coordX, float coordY)
 	{
-		MoveTo(coordX, coordY);
+		return MoveTo(coordX, coordY);
 	}
 	
 	public void setBattleScene(String incScene)
@@ -0,0 +1,60 @@
+package Character.Monster;
+
+/*****************************************************************************
+ * This <code>MonsterPlan</code> class holds what a Monster will do on its
+ * next update: its next state and movement, worked out by
+ * <code>Monster.PlanUpdate()</code>, and the sprite calls to make, in order,
+ * when <code>Monster.ApplyPlan()</code> applies it. Each Monster owns one
+ * plan, reused every update.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+class MonsterPlan
+{
+	/* Sprite calls, made in order when applied */
+	static final int OP_WALK = 0;			// StartWalkAnimation(arg)
+	static final int OP_REST_FRAME = 1;		// ShowRestFrame()
+	static final int OP_STOP = 2;			// StopAnimation()
+	static final int OP_REST = 3;			// RestState()
+	static final int OP_AUTO = 4;			// AutoState(), moves on game thread
+	private static final int MAX_OPS = 4;
+	
+	/* Next Monster variables */
+	int state;						// Ordinal of MonsterState
+	float x;						// Center
+	float y;
+	boolean moved;					// Center changed
+	float moveToX;					// Coordinate for auto-advancing
+	float moveToY;
+	float dirX;						// Direction vector
+	float dirY;
+	int facing;						// Direction: sprite row facing
+	int prevFacing;					// Previous direction
+	boolean getPatrolPt;			// Find new patrol point?
+	boolean holdPatrol;				// Holding at patrol point?
+	int patrolTicks;				// Patrol tick time
+	float origX;					// Patrol center
+	float origY;
+	boolean origMoved;				// Patrol center changed
+	boolean queried;				// Target's spatial grid was queried this update
+	boolean nearTarget;				// Query found Monster near target
+	
+	/* Sprite calls */
+	int[] ops = new int[MAX_OPS];
+	int[] opArgs = new int[MAX_OPS];
+	int opCount;
+	
+	/**
+	 * Add a sprite call.
+	 * @param op Sprite call, e.g. <code>OP_WALK</code>
+	 * @param arg Argument, frame rate for <code>OP_WALK</code>
+	 */
+	void AddOp(int op, int arg)
+	{
+		ops[opCount] = op;
+		opArgs[opCount] = arg;
+		opCount++;
+	}
+}
@@ -0,0 +1,173 @@
+package Character.Monster;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import Character.Archetype;
+import Character.ArchetypeRegistry;
+import GTCS1Lib_Java.Internal.Vector2;
+
+/*****************************************************************************
+ * This <code>MonsterPool</code> class keeps defeated or despawned Monsters
+ * for reuse, one pool per archetype (see <code>ArchetypeRegistry</code>).
+ * A new Monster allocates its plan, random and vectors and binds its
+ * texture; a reused one is only reset to a new origin. Wave spawns and
+ * respawns after a battle then cause no allocation spikes mid-fight.
+ *
+ * <code>Release()</code> takes a Monster out of the world: it leaves the
+ * draw set and spatial grid, and its move is cancelled. <code>Obtain()</code>
+ * hands it back with <code>Monster.Reset()</code> defaults and adds it to the
+ * draw set again. Add it to a spatial grid as with a new Monster.
+ * <code>Prewarm()</code> fills a pool ahead of time, e.g. on map load.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class MonsterPool
+{
+	/* Local variables */
+	private ArchetypeRegistry mRegistry;				// Archetypes spawned from
+	private Map<Archetype, ArrayList<Monster>> mFree;	// Released Monsters by archetype
+	private int mCreatedCount;							// Monsters created
+	private int mReusedCount;							// Monsters reused
+	
+	/** Default Constructor, spawning from default registry. */
+	public MonsterPool()
+	{
+		this(ArchetypeRegistry.GetDefault());
+	}
+	
+	/**
+	 * Constructor.
+	 * @param registry Archetypes spawned from
+	 */
+	public MonsterPool(ArchetypeRegistry registry)
+	{
+		mRegistry = registry;
+		mFree = new HashMap<Archetype, ArrayList<Monster>>();
+		mCreatedCount = 0;
+		mReusedCount = 0;
+	}
+	
+	/**
+	 * Get a Monster of given archetype, reused if one was released.
+	 * @param name Archetype name
+	 * @param origin starting coordinate
+	 * @param radius size of Monster, only used if a new one is created
+	 * @return Monster in draw set at origin
+	 * @throws IllegalArgumentException if no Monster archetype by that name
+	 */
+	public Monster Obtain(String name, Vector2 origin, float radius)
+	{
+		Archetype archetype = GetArchetype(name);
+		ArrayList<Monster> free = mFree.get(archetype);
+		if (free == null || free.isEmpty())
+		{
+			mCreatedCount++;
+			return new Monster(origin, radius, archetype);
+		}
+		
+		Monster monster = free.remove(free.size() - 1);
+		monster.mPooled = false;
+		monster.Reset(origin);
+		monster.AddToAutoDrawSet();
+		mReusedCount++;
+		return monster;
+	}
+	
+	/**
+	 * Take Monster out of the world and keep it for reuse. Do not use it
+	 * again until <code>Obtain()</code> hands it back. A Monster already
+	 * released is ignored, so it is never handed to two spawns.
+	 * @param monster Monster spawned from an archetype
+	 * @throws IllegalArgumentException if Monster has no archetype
+	 */
+	public void Release(Monster monster)
+	{
+		Archetype archetype = monster.GetArchetype();
+		if (archetype == null)
+			throw new IllegalArgumentException("Monster has no archetype to pool by");
+		if (monster.mPooled)
+			return;
+		
+		monster.mPooled = true;
+		monster.Deactivate();
+		ArrayList<Monster> free = mFree.get(archetype);
+		if (free == null)
+		{
+			free = new ArrayList<Monster>();
+			mFree.put(archetype, free);
+		}
+		free.add(monster);
+	}
+	
+	/**
+	 * Create Monsters ahead of time, so later spawns reuse them.
+	 * @param name Archetype name
+	 * @param count Number of released Monsters to have ready
+	 * @param radius size of Monsters
+	 * @throws IllegalArgumentException if no Monster archetype by that name
+	 */
+	public void Prewarm(String name, int count, float radius)
+	{
+		Archetype archetype = GetArchetype(name);
+		Vector2 origin = new Vector2();
+		for (int i = GetFreeCount(name); i < count; i++)
+		{
+			mCreatedCount++;
+			Release(new Monster(origin, radius, archetype));
+		}
+	}
+	
+	/**
+	 * @param name Archetype name
+	 * @return Number of released Monsters ready for reuse
+	 */
+	public int GetFreeCount(String name)
+	{
+		ArrayList<Monster> free = mFree.get(mRegistry.Get(name));
+		return free == null ? 0 : free.size();
+	}
+	
+	/**
+	 * @return Number of Monsters created, pooled or not
+	 */
+	public int GetCreatedCount()
+	{
+		return mCreatedCount;
+	}
+	
+	/**
+	 * @return Number of times a released Monster was reused
+	 */
+	public int GetReusedCount()
+	{
+		return mReusedCount;
+	}
+	
+	/** Reclaim memory space of released Monsters. */
+	public void Unload()
+	{
+		for (ArrayList<Monster> free : mFree.values())
+		{
+			for (int i = 0; i < free.size(); i++)
+				free.get(i).Unload();
+		}
+		mFree.clear();
+	}
+	
+	/**
+	 * @param name Archetype name
+	 * @return Monster archetype
+	 * @throws IllegalArgumentException if no Monster archetype by that name
+	 */
+	private Archetype GetArchetype(String name)
+	{
+		Archetype archetype = mRegistry.Get(name);
+		if (archetype == null || archetype.GetKind() != Archetype.Kind.Monster)
+			throw new IllegalArgumentException("Unknown Monster archetype " + name);
+		return archetype;
+	}
+}
@@ -0,0 +1,314 @@
+package Character.Monster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import Character.Character;
+import Character.SpatialGrid;
+import Tile.TileSet;
+import camera.Camera;
+
+/*****************************************************************************
+ * This <code>MonsterUpdater</code> class updates every Monster on a map,
+ * using all cores when there are many. A Monster's update only reads the
+ * target and changes the Monster itself, so it is split in two:
+ * <code>Monster.PlanUpdate()</code> works out each Monster's next state and
+ * movement in parallel, while nothing moves, then
+ * <code>Monster.ApplyPlan()</code> applies the plans one by one on the game
+ * thread, including every sprite call. Monsters end up exactly as if each
+ * had run <code>Monster.Update()</code> in turn.
+ *
+ * Monsters are planned in chunks of <code>CHUNK_SIZE</code>. With fewer
+ * Monsters than that, or with parallel updates turned off, each Monster is
+ * simply updated in turn.
+ *
+ * With <code>SetTiers()</code>, far Monsters cost less (AI level of detail):
+ * <ul>
+ * <li>Near the target or in view of the camera: updated every frame.</li>
+ * <li>Mid range: updated every few frames, covering the skipped frames in
+ * one update. Updates are spread so only a share of them run each frame.
+ * Only Monsters with a flow field (see <code>Monster.SetFlowField()</code>)
+ * catch up on the skipped frames, stopping at walls, the rest move one
+ * frame's distance per update.</li>
+ * <li>Far: dormant, not updated at all until the target comes closer.</li>
+ * </ul>
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class MonsterUpdater
+{
+	/** Plans a range of Monsters, splitting it while bigger than a chunk. */
+	private static class PlanTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private Monster[] mMonsters;
+		private int[] mSteps;
+		private int mBegin;
+		private int mEnd;
+		private Character mTarget;
+		private boolean mQueried;
+		
+		PlanTask(Monster[] monsters, int[] steps, int begin, int end, Character target, boolean queried)
+		{
+			mMonsters = monsters;
+			mSteps = steps;
+			mBegin = begin;
+			mEnd = end;
+			mTarget = target;
+			mQueried = queried;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			if (mEnd - mBegin <= CHUNK_SIZE)
+			{
+				for (int i = mBegin; i < mEnd; i++)
+					mMonsters[i].PlanUpdate(mTarget, mSteps[i], mQueried);
+				return;
+			}
+			
+			int middle = (mBegin + mEnd) >>> 1;
+			invokeAll(new PlanTask(mMonsters, mSteps, mBegin, middle, mTarget, mQueried),
+					  new PlanTask(mMonsters, mSteps, middle, mEnd, mTarget, mQueried));
+		}
+	}
+	
+	/* Constant variables */
+	private static final int CHUNK_SIZE = 64;	// Monsters planned per task
+	
+	/* Local variables */
+	private ForkJoinPool mPool;					// Planning threads
+	private boolean mParallel;					// False = update each Monster in turn
+	private Monster[] mMonsters;				// Monsters updated this frame
+	private int[] mSteps;						// Steps each covers
+	private int mUpdatedCount;					// Monsters updated last frame
+	private int mFrame;							// Frames updated
+	private ArrayList<Character> mNearby;		// Characters found near target, reused
+	
+	/* Level of detail variables */
+	private float mNearDistance;				// Updated every frame within this distance
+	private float mMidDistance;					// Updated every mMidInterval frames within this distance
+	private int mMidInterval;					// Frames between mid range updates
+	private Camera mCamera;						// Monsters in its view are near, null if none
+	
+	/** Default Constructor, one planning thread per core. */
+	public MonsterUpdater()
+	{
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Constructor.
+	 * @param threads Number of planning threads
+	 */
+	public MonsterUpdater(int threads)
+	{
+		mPool = new ForkJoinPool(Math.max(1, threads));
+		mParallel = true;
+		mMonsters = new Monster[CHUNK_SIZE];
+		mSteps = new int[CHUNK_SIZE];
+		mUpdatedCount = 0;
+		mFrame = 0;
+		mNearby = new ArrayList<Character>();
+		mNearDistance = Float.MAX_VALUE;
+		mMidDistance = Float.MAX_VALUE;
+		mMidInterval = 1;
+		mCamera = null;
+	}
+	
+	/**
+	 * Update Monsters with tiles and target, same as calling
+	 * <code>Monster.Update(tiles, target)</code> on each in turn.
+	 * @param monsters Monsters to update
+	 * @param tiles Map tiles, null to skip tile movement
+	 * @param target Targeted character, not moved until this returns
+	 */
+	public void Update(List<? extends Monster> monsters, TileSet tiles, Character target)
+	{
+		mFrame++;
+		
+		/* Pick Monsters to update this frame, and how many frames each covers */
+		int count = 0;
+		int size = monsters.size();
+		for (int i = 0; i < size; i++)
+		{
+			Monster monster = monsters.get(i);
+			int steps = StepsFor(monster, i, target);
+			if (steps == 0)
+				continue;
+			
+			if (count == mMonsters.length)
+				Grow(count * 2);
+			mMonsters[count] = monster;
+			mSteps[count] = steps;
+			count++;
+		}
+		mUpdatedCount = count;
+		
+		/* Tile movement only changes each Monster itself, do it up front */
+		if (tiles != null)
+		{
+			for (int i = 0; i < count; i++)
+				mMonsters[i].UpdateUserMovement(tiles);
+		}
+		
+		/* One grid query finds Monsters near target, only they check chase range */
+		boolean queried = FindNearTarget(target);
+		
+		/* Plan in parallel, then apply in order */
+		if (mParallel && count > CHUNK_SIZE)
+		{
+			mPool.invoke(new PlanTask(mMonsters, mSteps, 0, count, target, queried));
+			for (int i = 0; i < count; i++)
+				mMonsters[i].ApplyPlan();
+		}
+		else
+		{
+			for (int i = 0; i < count; i++)
+			{
+				mMonsters[i].PlanUpdate(target, mSteps[i], queried);
+				mMonsters[i].ApplyPlan();
+			}
+		}
+		
+		for (int i = 0; i < count; i++)
+			mMonsters[i] = null;
+	}
+	
+	/**
+	 * Set AI level of detail tiers. Distances are from the target.
+	 * @param nearDistance Monsters within are updated every frame
+	 * @param midDistance Monsters within are updated every <code>midInterval</code> frames,
+	 * 					  Monsters past it are dormant
+	 * @param midInterval Frames between mid range updates
+	 */
+	public void SetTiers(float nearDistance, float midDistance, int midInterval)
+	{
+		mNearDistance = nearDistance;
+		mMidDistance = Math.max(nearDistance, midDistance);
+		mMidInterval = Math.max(1, midInterval);
+	}
+	
+	/** Update every Monster every frame, no matter how far. */
+	public void ClearTiers()
+	{
+		SetTiers(Float.MAX_VALUE, Float.MAX_VALUE, 1);
+	}
+	
+	/**
+	 * Set camera whose view counts as near, so Monsters on screen are always
+	 * updated every frame.
+	 * @param camera Camera, null for none
+	 */
+	public void SetCamera(Camera camera)
+	{
+		mCamera = camera;
+	}
+	
+	/**
+	 * @return Number of Monsters updated last frame, the rest were skipped or dormant
+	 */
+	public int GetUpdatedCount()
+	{
+		return mUpdatedCount;
+	}
+	
+	/**
+	 * Turn parallel planning on or off. Off updates each Monster in turn.
+	 * @param parallel True = plan in parallel
+	 */
+	public void SetParallel(boolean parallel)
+	{
+		mParallel = parallel;
+	}
+	
+	public boolean IsParallel()
+	{
+		return mParallel;
+	}
+	
+	/** Stop planning threads. */
+	public void Unload()
+	{
+		mPool.shutdown();
+	}
+	
+	/**
+	 * Work out Monster's tier and whether it is updated this frame.
+	 * @param monster Monster
+	 * @param index Index in list, spreads mid range updates over frames
+	 * @param target Targeted character
+	 * @return Number of frames to cover, 0 = not updated this frame
+	 */
+	private int StepsFor(Monster monster, int index, Character target)
+	{
+		int elapsed = mFrame - monster.mLastUpdateFrame;
+		float dx = monster.GetCenterX() - target.GetCenterX();
+		float dy = monster.GetCenterY() - target.GetCenterY();
+		float distanceSq = dx * dx + dy * dy;
+		
+		/* Near, cover frames skipped while at mid range */
+		if (distanceSq < mNearDistance * mNearDistance ||
+			(mCamera != null && mCamera.IsInView(monster.GetCenterX(), monster.GetCenterY(), monster.GetRadius(), 0f)))
+		{
+			monster.mLastUpdateFrame = mFrame;
+			return Math.max(1, Math.min(elapsed, mMidInterval));
+		}
+		
+		/* Dormant, time does not pass */
+		if (distanceSq >= mMidDistance * mMidDistance)
+		{
+			monster.mLastUpdateFrame = mFrame;
+			return 0;
+		}
+		
+		/* Mid range, only on this Monster's turn */
+		if ((mFrame + index) % mMidInterval != 0)
+			return 0;
+		monster.mLastUpdateFrame = mFrame;
+		return Math.max(1, Math.min(elapsed, mMidInterval));
+	}
+	
+	/**
+	 * Mark Monsters within chase range of target, with one query of the
+	 * target's spatial grid.
+	 * @param target Targeted character
+	 * @return True = grid was queried, false if target is in no grid
+	 */
+	private boolean FindNearTarget(Character target)
+	{
+		SpatialGrid grid = target.GetSpatialGrid();
+		if (grid == null)
+			return false;
+		
+		grid.QueryRadius(target.GetCenterX(), target.GetCenterY(), Monster.DIST_BEGIN_CHASE, mNearby);
+		for (int i = 0; i < mNearby.size(); i++)
+		{
+			Character character = mNearby.get(i);
+			if (character instanceof Monster)
+				((Monster)character).mNearTargetFrame = mFrame;
+		}
+		mNearby.clear();
+		return true;
+	}
+	
+	/**
+	 * Grow arrays of Monsters updated this frame.
+	 * @param capacity New size
+	 */
+	private void Grow(int capacity)
+	{
+		Monster[] monsters = new Monster[capacity];
+		System.arraycopy(mMonsters, 0, monsters, 0, mMonsters.length);
+		mMonsters = monsters;
+		int[] steps = new int[capacity];
+		System.arraycopy(mSteps, 0, steps, 0, mSteps.length);
+		mSteps = steps;
+	}
+}
@@ -1,5 +1,6 @@
 package Character.Monster;
 
+import Character.ArchetypeRegistry;
 import GTCS1Lib_Java.Internal.Vector2;
 
 /**************************************************************************************************
@@ -25,24 +26,13 @@ public class Monster_Slime extends Monster
 	public Monster_Slime(Vector2 origin, float radius, float walkSpeed) 
 	{
 		super(origin, radius, walkSpeed);
-		mWalkSpeed = walkSpeed;
+		SetWalkSpeed(walkSpeed);
 		SetSprite();
 	}
 
-	/** Sprite stuff */
+	/** Sprite stuff, see archetypes.txt */
 	private void SetSprite()
 	{
-		SetTexture("Slime.png");
-		SetSpriteSheetTexture(14, 8, 0);
-		SetSpriteSheetUsed(true);
-		
-		restBeginX = 0;
-		restEndX = 0;
-		walkBeginX = 1;
-		walkEndX = 3;
-		rowFacingSouth = 0;
-		rowFacingEast = 2;
-		rowFacingNorth = 4;
-		rowFacingWest = 6;
+		SetArchetype(ArchetypeRegistry.GetDefault().Get("Monster_Slime"));
 	}
 }
@@ -1,5 +1,6 @@
 package Character.Monster;
 
+import Character.ArchetypeRegistry;
 import GTCS1Lib_Java.Internal.Vector2;
 
 /**************************************************************************************************
@@ -25,7 +26,7 @@ public class Monster_Wizard_Darkness extends Monster
 	public Monster_Wizard_Darkness(Vector2 origin, float radius, float walkSpeed) 
 	{
 		super(origin, radius, walkSpeed);
-		mWalkSpeed = walkSpeed;
+		SetWalkSpeed(walkSpeed);
 		Initialize();
 	}
 	
@@ -33,23 +34,11 @@ public class Monster_Wizard_Darkness extends Monster
 	private void Initialize()
 	{
 		SetSprite();
-		mMonsterType = "Wizard_Darkness";
 	}
 
-	/** Sprite stuff */
+	/** Sprite stuff, see archetypes.txt */
 	private void SetSprite()
 	{
-		SetTexture("wizard_darkness.png");
-		SetSpriteSheetTexture(1, 2, 0);
-		SetSpriteSheetUsed(true);
-		
-		restBeginX = 0;
-		restEndX = 0;
-		walkBeginX = 0;
-		walkEndX = 0;
-		rowFacingSouth = 0;
-		rowFacingEast = 1;
-		rowFacingNorth = 1;
-		rowFacingWest = 0;
+		SetArchetype(ArchetypeRegistry.GetDefault().Get("Monster_Wizard_Darkness"));
 	}
 }
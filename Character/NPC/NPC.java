@@ -1,8 +1,10 @@
 package Character.NPC;
 
+import Character.Archetype;
 import Character.Character;
 import Character.Monster.Monster.MonsterState;
 import GTCS1Lib_Java.Internal.Vector2;
+import tween.Completion;
 
 /**************************************************************************************************
  * This NPC class extends Character class.
@@ -27,7 +29,7 @@ public class NPC extends Character
 	/* Constant variables */
 	
 	/* Local variables */
-	protected NPCState mCurrentState = NPCState.Rest;
+	private static final NPCState[] STATES = NPCState.values();
 
 	/**
 	 * Default Constructor.
@@ -37,6 +39,7 @@ public class NPC extends Character
 	public NPC(Vector2 origin, float radius) 
 	{
 		super(origin, radius);
+		SetState(NPCState.Rest);
 	}
 	
 	/**
@@ -48,13 +51,27 @@ public class NPC extends Character
 	public NPC(Vector2 origin, float radius, float walkSpeed)
 	{
 		super(origin, radius);
-		mWalkSpeed = walkSpeed;
+		SetWalkSpeed(walkSpeed);
+		SetState(NPCState.Rest);
+	}
+	
+	/**
+	 * Constructor, from archetype. See <code>ArchetypeRegistry.Spawn()</code>.
+	 * @param origin starting coordinate
+	 * @param radius size of NPC
+	 * @param archetype sprite sheet and rows
+	 */
+	public NPC(Vector2 origin, float radius, Archetype archetype)
+	{
+		super(origin, radius);
+		SetState(NPCState.Rest);
+		SetArchetype(archetype);
 	}
 	
 	/** Reclaim memory space. */
 	public void Unload()
 	{
-		RemoveFromAutoDrawSet();
+		super.Unload();
 	}
 	
 	/**
@@ -64,7 +81,7 @@ public class NPC extends Character
 	public void Update() 
 	{
 		/* Check NPC's current state */
-		switch (mCurrentState)
+		switch (GetState())
 		{
 			case Rest:
 				RestState();
@@ -92,7 +109,25 @@ public class NPC extends Character
 	 */
 	public void SetState(NPCState state)
 	{
-		mCurrentState = state;
+		SetStateIndex(state.ordinal());
+	}
+	
+	/**
+	 * Get NPC's current state.
+	 * @return current state
+	 */
+	public NPCState GetState()
+	{
+		return STATES[GetStateIndex()];
+	}
+	
+	/**
+	 * @return Number of NPC states
+	 */
+	@Override
+	protected int GetStateCount()
+	{
+		return STATES.length;
 	}
 	
 	/**
@@ -101,7 +136,16 @@ public class NPC extends Character
 	@Override
 	protected void AutoStateSetEnd() 
 	{
-		mCurrentState = NPCState.Rest;
+		SetState(NPCState.Rest);
+	}
+	
+	/**
+	 * Set NPC to <code>Auto</code> state, used by scripted moves.
+	 */
+	@Override
+	protected void SetAutoState()
+	{
+		SetState(NPCState.Auto);
 	}
 	
 	/**
@@ -109,7 +153,7 @@ public class NPC extends Character
 	 */
 	public void SetRestState()
 	{
-		mCurrentState = NPCState.Rest;
+		SetState(NPCState.Rest);
 	}
 	
 	/**
@@ -117,19 +161,21 @@ public class NPC extends Character
 	 */
 	public void Rest()
 	{
-		mCurrentState = NPCState.Rest;
+		SetState(NPCState.Rest);
 	}
 	
 	/**
 	 * Set NPC to <code>Auto</code> state. NPC will move to given coordinate.
 	 * This is the same as <code>SetAuto()</code>.
 	 * @param toCoord move to coordinate
+	 * @return Completed on the update NPC reaches coordinate
 	 */
-	public void MoveTo(Vector2 toCoord)
+	public Completion MoveTo(Vector2 toCoord)
 	{
-		mMoveToCoord = new Vector2(toCoord.X, toCoord.Y);
-		SetSpriteSheetIsUsingAnimation(false);
-		mCurrentState = NPCState.Auto;
+		Completion completion = StartMove(toCoord);
+		StopAnimation();
+		SetState(NPCState.Auto);
+		return completion;
 	}
 	
 	/**
@@ -137,20 +183,22 @@ public class NPC extends Character
 	 * This is the same as <code>SetAuto()</code>.
 	 * @param coordX x-coordinate
 	 * @param coordY y-coordinate
+	 * @return Completed on the update NPC reaches coordinate
 	 */
-	public void MoveTo(float coordX, float coordY)
+	public Completion MoveTo(float coordX, float coordY)
 	{
-		MoveTo(new Vector2(coordX, coordY));
+		return MoveTo(new Vector2(coordX, coordY));
 	}
 	
 	/**
 	 * Set NPC to <code>Auto</code> state. NPC will move to given coordinate.
 	 * This is the same as <code>MoveTo()</code>.
 	 * @param toCoord move to coordinate
+	 * @return Completed on the update NPC reaches coordinate
 	 */
-	public void SetAuto(Vector2 toCoord)
+	public Completion SetAuto(Vector2 toCoord)
 	{
-		MoveTo(toCoord);
+		return MoveTo(toCoord);
 	}
 	
 	/**
@@ -158,9 +206,10 @@ public class NPC extends Character
 	 * This is the same as <code>MoveTo()</code>.
 	 * @param coordX x-coordinate
 	 * @param coordY y-coordinate
+	 * @return Completed on the update NPC reaches coordinate
 	 */
-	public void SetAuto(float coordX, float coordY)
+	public Completion SetAuto(float coordX, float coordY)
 	{
-		MoveTo(coordX, coordY);
+		return MoveTo(coordX, coordY);
 	}
 }
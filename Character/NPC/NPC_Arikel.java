@@ -1,5 +1,6 @@
 package Character.NPC;
 
+import Character.ArchetypeRegistry;
 import GTCS1Lib_Java.Internal.Vector2;
 
 /**************************************************************************************************
@@ -26,24 +27,13 @@ public class NPC_Arikel extends NPC
 	public NPC_Arikel(Vector2 origin, float radius, float walkSpeed) 
 	{
 		super(origin, radius, walkSpeed);
-		mWalkSpeed = walkSpeed;
+		SetWalkSpeed(walkSpeed);
 		SetSprite();
 	}
 
-	/** Sprite stuff */
+	/** Sprite stuff, see archetypes.txt */
 	private void SetSprite()
 	{
-		SetTexture("Arikel.png");
-		SetSpriteSheetTexture(8, 4, 0);
-		SetSpriteSheetUsed(true);
-		
-		restBeginX = 0;
-		restEndX = 0;
-		walkBeginX = 1;
-		walkEndX = 7;
-		rowFacingSouth = 0;
-		rowFacingEast = 3;
-		rowFacingNorth = 1;
-		rowFacingWest = 2;
+		SetArchetype(ArchetypeRegistry.GetDefault().Get("NPC_Arikel"));
 	}
 }
@@ -0,0 +1,241 @@
+package Character;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/*****************************************************************************
+ * This <code>SpatialGrid</code> class finds Characters near a coordinate
+ * without checking every Character. The world is split into square cells,
+ * and each cell lists the Characters whose center is inside it. A Character
+ * moves between cells only when <code>SetCenter()</code> takes it across a
+ * cell border, so keeping the grid up to date costs nothing while
+ * Characters stay inside their cells.
+ *
+ * Radius queries only visit the cells the circle touches and compare
+ * squared distances, so there is no square root. Cost depends on how
+ * crowded the area is, not on how many Characters there are.
+ * Use a cell size about the largest query radius. Cells are found by a
+ * primitive key (see <code>CellMap</code>) and emptied cell lists are
+ * reused, so moving and querying allocate nothing once cells exist.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class SpatialGrid
+{
+	/* Local variables */
+	private float mCellSize;								// Width and height of a cell
+	private CellMap mCells;									// Index in mCellLists, by cell
+	private ArrayList<ArrayList<Character>> mCellLists;		// Characters, by cell index
+	private int[] mFree;									// Indexes of empty cell lists
+	private int mFreeCount;
+	private int mCount;										// Number of Characters
+	
+	/**
+	 * Constructor.
+	 * @param cellSize Width and height of a cell, about the largest query radius
+	 */
+	public SpatialGrid(float cellSize)
+	{
+		mCellSize = cellSize;
+		mCells = new CellMap();
+		mCellLists = new ArrayList<ArrayList<Character>>();
+		mFree = new int[16];
+		mFreeCount = 0;
+		mCount = 0;
+	}
+	
+	/**
+	 * Add a Character, it is kept up to date as it moves. A Character is in
+	 * one grid at a time.
+	 * @param character Character
+	 */
+	public void Add(Character character)
+	{
+		if (character.GetSpatialGrid() == this)
+			return;
+		if (character.GetSpatialGrid() != null)
+			character.GetSpatialGrid().Remove(character);
+		
+		int col = ColOf(character.GetCenterX());
+		int row = RowOf(character.GetCenterY());
+		CellAt(col, row, true).add(character);
+		character.SetGridCell(this, col, row);
+		mCount++;
+	}
+	
+	/**
+	 * Remove a Character.
+	 * @param character Character
+	 */
+	public void Remove(Character character)
+	{
+		if (character.GetSpatialGrid() != this)
+			return;
+		
+		RemoveFromCell(character, character.GetGridCol(), character.GetGridRow());
+		character.SetGridCell(null, 0, 0);
+		mCount--;
+	}
+	
+	/**
+	 * Character's center changed, move it to its new cell if it crossed a border.
+	 * @param character Character in this grid
+	 */
+	void Moved(Character character)
+	{
+		int col = ColOf(character.GetCenterX());
+		int row = RowOf(character.GetCenterY());
+		if (col == character.GetGridCol() && row == character.GetGridRow())
+			return;
+		
+		RemoveFromCell(character, character.GetGridCol(), character.GetGridRow());
+		CellAt(col, row, true).add(character);
+		character.SetGridCell(this, col, row);
+	}
+	
+	/**
+	 * Find Characters within radius of a coordinate.
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @param radius Radius
+	 * @param out List found Characters are added to, it is not cleared
+	 * @return Number of Characters found
+	 */
+	public int QueryRadius(float x, float y, float radius, ArrayList<Character> out)
+	{
+		float radiusSq = radius * radius;
+		int found = 0;
+		int colEnd = ColOf(x + radius);
+		int rowEnd = RowOf(y + radius);
+		for (int col = ColOf(x - radius); col <= colEnd; col++)
+		{
+			for (int row = RowOf(y - radius); row <= rowEnd; row++)
+			{
+				ArrayList<Character> cell = CellAt(col, row, false);
+				if (cell == null)
+					continue;
+				for (int i = 0; i < cell.size(); i++)
+				{
+					Character character = cell.get(i);
+					float dx = character.GetCenterX() - x;
+					float dy = character.GetCenterY() - y;
+					if (dx * dx + dy * dy < radiusSq)
+					{
+						out.add(character);
+						found++;
+					}
+				}
+			}
+		}
+		return found;
+	}
+	
+	/**
+	 * @return Number of Characters in grid
+	 */
+	public int GetCount()
+	{
+		return mCount;
+	}
+	
+	public float GetCellSize()
+	{
+		return mCellSize;
+	}
+	
+	/** Remove every Character. */
+	public void Clear()
+	{
+		mFreeCount = 0;
+		for (int index = 0; index < mCellLists.size(); index++)
+		{
+			ArrayList<Character> cell = mCellLists.get(index);
+			for (int i = 0; i < cell.size(); i++)
+				cell.get(i).SetGridCell(null, 0, 0);
+			cell.clear();
+			Free(index);
+		}
+		mCells.Clear();
+		mCount = 0;
+	}
+	
+	/**
+	 * Remove Character from a cell, dropping the cell once empty.
+	 * @param character Character
+	 * @param col Cell column
+	 * @param row Cell row
+	 */
+	private void RemoveFromCell(Character character, int col, int row)
+	{
+		long key = CellMap.Key(col, row);
+		int cellIndex = mCells.Get(key);
+		if (cellIndex == CellMap.NONE)
+			return;
+		ArrayList<Character> cell = mCellLists.get(cellIndex);
+		
+		/* Order does not matter, move last into its place */
+		int index = cell.indexOf(character);
+		if (index < 0)
+			return;
+		int last = cell.size() - 1;
+		cell.set(index, cell.get(last));
+		cell.remove(last);
+		if (cell.isEmpty())
+		{
+			mCells.Remove(key);
+			Free(cellIndex);
+		}
+	}
+	
+	/**
+	 * Keep an empty cell list for reuse.
+	 * @param index Index in mCellLists
+	 */
+	private void Free(int index)
+	{
+		if (mFreeCount == mFree.length)
+			mFree = Arrays.copyOf(mFree, mFreeCount * 2);
+		mFree[mFreeCount++] = index;
+	}
+	
+	/**
+	 * @param col Cell column
+	 * @param row Cell row
+	 * @param create True = create cell if missing
+	 * @return Characters in cell, null if missing and not created
+	 */
+	private ArrayList<Character> CellAt(int col, int row, boolean create)
+	{
+		long key = CellMap.Key(col, row);
+		int index = mCells.Get(key);
+		if (index != CellMap.NONE)
+			return mCellLists.get(index);
+		if (!create)
+			return null;
+		
+		/* Reuse an emptied cell list if any */
+		if (mFreeCount > 0)
+		{
+			index = mFree[--mFreeCount];
+		}
+		else
+		{
+			index = mCellLists.size();
+			mCellLists.add(new ArrayList<Character>(4));
+		}
+		mCells.Put(key, index);
+		return mCellLists.get(index);
+	}
+	
+	private int ColOf(float x)
+	{
+		return (int)Math.floor(x / mCellSize);
+	}
+	
+	private int RowOf(float y)
+	{
+		return (int)Math.floor(y / mCellSize);
+	}
+}
@@ -0,0 +1,168 @@
+package Character;
+
+import GTCS1Lib_Java.JavaGTCS1Base.SpriteAnimateMode;
+
+/*****************************************************************************
+ * This <code>SpriteAnimator</code> class makes a Character's sprite sheet
+ * calls, and only on real transitions. States such as Rest ask for the same
+ * rest frame and stopped animation every frame; the animator remembers what
+ * the sprite sheet shows and skips calls that would change nothing.
+ *
+ * Frame ranges of each clip (rest, walk) are worked out once when the
+ * Character's sprite rows are set. A clip shown facing a direction is keyed
+ * by the sprite row of that direction, which is what Characters keep as
+ * their facing.
+ *
+ * Calls made and skipped are counted over all Characters. Call
+ * <code>NextFrame()</code> once per frame, then read last frame's counts.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class SpriteAnimator
+{
+	/* Clips */
+	static final int CLIP_NONE = -1;		// Not known, next clip shown is always applied
+	static final int CLIP_REST = 0;
+	static final int CLIP_WALK = 1;
+	private static final int CLIPS = 2;
+	
+	/* Animation flag */
+	private static final int UNKNOWN = -1;
+	private static final int STOPPED = 0;
+	private static final int ANIMATING = 1;
+	
+	/* Counters, over all Characters */
+	private static int sCalls;				// Sprite calls made this frame
+	private static int sSkipped;			// Sprite calls skipped this frame
+	private static int sLastCalls;			// Sprite calls made last frame
+	private static int sLastSkipped;		// Sprite calls skipped last frame
+	
+	/* Local variables */
+	private Character mOwner;				// Character whose sprite sheet is animated
+	private int[] mBegin;					// Begin column by clip
+	private int[] mEnd;						// End column by clip
+	
+	/* Shown on sprite sheet */
+	private int mClip;
+	private int mRow;
+	private int mFrameRate;
+	private int mAnimating;
+	
+	/**
+	 * Constructor.
+	 * @param owner Character whose sprite sheet is animated
+	 */
+	SpriteAnimator(Character owner)
+	{
+		mOwner = owner;
+		mBegin = new int[CLIPS];
+		mEnd = new int[CLIPS];
+		Forget();
+	}
+	
+	/**
+	 * Set frame ranges of clips.
+	 * @param restBegin Rest sprite: begin column
+	 * @param restEnd Rest sprite: end column
+	 * @param walkBegin Walk sprite: begin column
+	 * @param walkEnd Walk sprite: end column
+	 */
+	void SetFrames(int restBegin, int restEnd, int walkBegin, int walkEnd)
+	{
+		mBegin[CLIP_REST] = restBegin;
+		mEnd[CLIP_REST] = restEnd;
+		mBegin[CLIP_WALK] = walkBegin;
+		mEnd[CLIP_WALK] = walkEnd;
+		Forget();
+	}
+	
+	/**
+	 * Show clip, unless already shown.
+	 * @param clip CLIP_REST or CLIP_WALK
+	 * @param row Sprite row facing direction
+	 * @param frameRate Animation frame rate
+	 */
+	void Show(int clip, int row, int frameRate)
+	{
+		if (clip == mClip && row == mRow && frameRate == mFrameRate)
+		{
+			sSkipped++;
+			return;
+		}
+		
+		mClip = clip;
+		mRow = row;
+		mFrameRate = frameRate;
+		mOwner.SetSpriteTextureAnimationFrames(mBegin[clip], row, mEnd[clip], row, frameRate, SpriteAnimateMode.AnimateForward);
+		sCalls++;
+	}
+	
+	/**
+	 * Start or stop animation, unless already so.
+	 * @param animating True = animate
+	 */
+	void SetAnimating(boolean animating)
+	{
+		int flag = animating ? ANIMATING : STOPPED;
+		if (flag == mAnimating)
+		{
+			sSkipped++;
+			return;
+		}
+		
+		mAnimating = flag;
+		mOwner.SetSpriteSheetIsUsingAnimation(animating);
+		sCalls++;
+	}
+	
+	/**
+	 * @return True = sprite sheet is animating
+	 */
+	boolean IsAnimating()
+	{
+		if (mAnimating == UNKNOWN)
+			return mOwner.GetSpriteSheetIsUsingAnimation();
+		return mAnimating == ANIMATING;
+	}
+	
+	/**
+	 * Sprite sheet was changed without the animator (e.g. texture swapped),
+	 * apply the next calls whatever they are.
+	 */
+	void Forget()
+	{
+		mClip = CLIP_NONE;
+		mRow = -1;
+		mFrameRate = 0;
+		mAnimating = UNKNOWN;
+	}
+	
+	/**
+	 * Start counting a new frame. Call once per frame.
+	 */
+	public static void NextFrame()
+	{
+		sLastCalls = sCalls;
+		sLastSkipped = sSkipped;
+		sCalls = 0;
+		sSkipped = 0;
+	}
+	
+	/**
+	 * @return Sprite calls made last frame
+	 */
+	public static int GetCallCount()
+	{
+		return sLastCalls;
+	}
+	
+	/**
+	 * @return Redundant sprite calls skipped last frame
+	 */
+	public static int GetSkippedCount()
+	{
+		return sLastSkipped;
+	}
+}
@@ -0,0 +1,280 @@
+package path;
+
+import java.util.Arrays;
+
+/*****************************************************************************
+ * This <code>FlowField</code> class shows every Monster chasing the same
+ * target which way to walk, around walls. It runs one Dijkstra search out
+ * from the target's tile and keeps, for each tile reached, the direction to
+ * the next tile on a shortest path. A chaser looks up its tile's direction,
+ * so chasing costs the same for one Monster or a hundred.
+ *
+ * The search only runs again when the target enters another tile, or after
+ * <code>Invalidate()</code> when the map changes. With
+ * <code>SetMaxCost()</code> it stops that many tiles out, so a big map only
+ * pays for the area around the target.
+ *
+ * Call <code>Update()</code> on the game thread before Monsters update.
+ * Lookups only read, so Monsters planning on several threads may share the
+ * field (see <code>MonsterUpdater</code>).
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class FlowField
+{
+	/* Constant variables */
+	public static final int NONE = -1;					// No direction
+	private static final float DIAGONAL_COST = 1.4142135f;
+	private static final float DIAGONAL = 0.70710677f;	// Diagonal unit vector component
+	
+	/* Directions: E, NE, N, NW, W, SW, S, SE */
+	private static final int[] DIR_COL = { 1, 1, 0, -1, -1, -1, 0, 1 };
+	private static final int[] DIR_ROW = { 0, 1, 1, 1, 0, -1, -1, -1 };
+	private static final float[] DIR_X = { 1f, DIAGONAL, 0f, -DIAGONAL, -1f, -DIAGONAL, 0f, DIAGONAL };
+	private static final float[] DIR_Y = { 0f, DIAGONAL, 1f, DIAGONAL, 0f, -DIAGONAL, -1f, -DIAGONAL };
+	
+	/* Local variables */
+	private Passability mGrid;				// Tiles to search
+	private int mColumns;					// Size of arrays
+	private int mRows;
+	private float mMaxCost;					// Search stops past this many tiles
+	private int mTargetCol;					// Tile searched from
+	private int mTargetRow;
+	private boolean mDirty;					// Search again on next update
+	private int mSearchCount;				// Number of searches run
+	
+	/* Tile variables, by tile (row * columns + col) */
+	private float[] mCost;					// Distance to target, in tiles
+	private byte[] mDir;					// Direction to next tile
+	private int[] mStamp;					// Search that reached tile
+	private int mSearch;					// Current search
+	
+	private MinHeap mQueue;					// Search queue
+	
+	/**
+	 * Constructor.
+	 * @param grid Tiles to search
+	 */
+	public FlowField(Passability grid)
+	{
+		mGrid = grid;
+		mMaxCost = Float.MAX_VALUE;
+		mTargetCol = Integer.MIN_VALUE;
+		mTargetRow = Integer.MIN_VALUE;
+		mDirty = true;
+		mSearchCount = 0;
+		mSearch = 0;
+		mQueue = new MinHeap();
+		Allocate();
+	}
+	
+	/**
+	 * Search again if target entered another tile, or the map changed.
+	 * @param targetX x-coordinate of target
+	 * @param targetY y-coordinate of target
+	 * @return True = searched again
+	 */
+	public boolean Update(float targetX, float targetY)
+	{
+		int col = ColOf(targetX);
+		int row = RowOf(targetY);
+		if (!mDirty && col == mTargetCol && row == mTargetRow)
+			return false;
+		
+		mTargetCol = col;
+		mTargetRow = row;
+		mDirty = false;
+		Search();
+		return true;
+	}
+	
+	/**
+	 * Map changed (e.g. a door opened), search again on next update.
+	 */
+	public void Invalidate()
+	{
+		mDirty = true;
+		if (mGrid.GetColumns() != mColumns || mGrid.GetRows() != mRows)
+			Allocate();
+	}
+	
+	/**
+	 * Set how far out search goes. Tiles further away get no direction.
+	 * @param tiles Distance in tiles, Float.MAX_VALUE for no limit
+	 */
+	public void SetMaxCost(float tiles)
+	{
+		mMaxCost = tiles;
+		mDirty = true;
+	}
+	
+	/**
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return Direction to walk toward target, NONE if in target's tile or not reached
+	 */
+	public int DirectionAt(float x, float y)
+	{
+		int tile = TileAt(x, y);
+		if (tile < 0 || mStamp[tile] != mSearch)
+			return NONE;
+		return mDir[tile];
+	}
+	
+	/**
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return Walking distance to target in tiles, -1 if not reached
+	 */
+	public float CostAt(float x, float y)
+	{
+		int tile = TileAt(x, y);
+		if (tile < 0 || mStamp[tile] != mSearch)
+			return -1f;
+		return mCost[tile];
+	}
+	
+	/**
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return True = tile at coordinate can be walked on, false if blocked or outside the map
+	 */
+	public boolean IsPassable(float x, float y)
+	{
+		int col = ColOf(x);
+		int row = RowOf(y);
+		return col >= 0 && col < mGrid.GetColumns() && row >= 0 && row < mGrid.GetRows() && mGrid.IsPassable(col, row);
+	}
+	
+	/**
+	 * @param direction Direction from <code>DirectionAt()</code>
+	 * @return x-component of direction's unit vector
+	 */
+	public static float GetDirX(int direction)
+	{
+		return DIR_X[direction];
+	}
+	
+	/**
+	 * @param direction Direction from <code>DirectionAt()</code>
+	 * @return y-component of direction's unit vector
+	 */
+	public static float GetDirY(int direction)
+	{
+		return DIR_Y[direction];
+	}
+	
+	/**
+	 * @return Number of searches run, to check the field is not rebuilt every frame
+	 */
+	public int GetSearchCount()
+	{
+		return mSearchCount;
+	}
+	
+	/**
+	 * Dijkstra search out from target tile. Each tile reached points back
+	 * to the tile it was reached from.
+	 */
+	private void Search()
+	{
+		mSearchCount++;
+		if (mSearch == Integer.MAX_VALUE)
+		{
+			Arrays.fill(mStamp, 0);
+			mSearch = 0;
+		}
+		mSearch++;
+		mQueue.Clear();
+		
+		if (mTargetCol < 0 || mTargetCol >= mColumns || mTargetRow < 0 || mTargetRow >= mRows ||
+			!mGrid.IsPassable(mTargetCol, mTargetRow))
+		{
+			return;
+		}
+		
+		int start = mTargetRow * mColumns + mTargetCol;
+		mStamp[start] = mSearch;
+		mCost[start] = 0f;
+		mDir[start] = NONE;
+		mQueue.Push(start, 0f);
+		
+		while (!mQueue.IsEmpty())
+		{
+			float cost = mQueue.PeekCost();
+			int tile = mQueue.Pop();
+			
+			/* Already reached for less */
+			if (cost > mCost[tile])
+				continue;
+			
+			int col = tile % mColumns;
+			int row = tile / mColumns;
+			for (int d = 0; d < 8; d++)
+			{
+				int nextCol = col + DIR_COL[d];
+				int nextRow = row + DIR_ROW[d];
+				if (nextCol < 0 || nextCol >= mColumns || nextRow < 0 || nextRow >= mRows ||
+					!mGrid.IsPassable(nextCol, nextRow))
+				{
+					continue;
+				}
+				
+				/* Diagonal, do not cut wall corners */
+				boolean diagonal = (d & 1) != 0;
+				if (diagonal && (!mGrid.IsPassable(nextCol, row) || !mGrid.IsPassable(col, nextRow)))
+					continue;
+				
+				float nextCost = cost + (diagonal ? DIAGONAL_COST : 1f);
+				if (nextCost > mMaxCost)
+					continue;
+				
+				int next = nextRow * mColumns + nextCol;
+				if (mStamp[next] == mSearch && mCost[next] <= nextCost)
+					continue;
+				
+				mStamp[next] = mSearch;
+				mCost[next] = nextCost;
+				mDir[next] = (byte)((d + 4) & 7);	// Back toward this tile
+				mQueue.Push(next, nextCost);
+			}
+		}
+	}
+	
+	/** Size tile arrays to map. */
+	private void Allocate()
+	{
+		mColumns = mGrid.GetColumns();
+		mRows = mGrid.GetRows();
+		mCost = new float[mColumns * mRows];
+		mDir = new byte[mColumns * mRows];
+		mStamp = new int[mColumns * mRows];
+		mSearch = 0;
+	}
+	
+	/**
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return Tile at coordinate, -1 if outside map
+	 */
+	private int TileAt(float x, float y)
+	{
+		int col = ColOf(x);
+		int row = RowOf(y);
+		if (col < 0 || col >= mColumns || row < 0 || row >= mRows)
+			return -1;
+		return row * mColumns + col;
+	}
+	
+	private int ColOf(float x)
+	{
+		return (int)Math.floor((x - mGrid.GetLeft()) / mGrid.GetTileSize());
+	}
+	
+	private int RowOf(float y)
+	{
+		return (int)Math.floor((y - mGrid.GetBottom()) / mGrid.GetTileSize());
+	}
+}
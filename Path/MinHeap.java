@@ -0,0 +1,108 @@
+package path;
+
+import java.util.Arrays;
+
+/*****************************************************************************
+ * This <code>MinHeap</code> class is the search queue of path finding: a
+ * binary heap of int nodes (tiles or regions) ordered by float cost, in
+ * primitive arrays. A node may be pushed again with a lower cost, callers
+ * skip stale entries when they pop them.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+class MinHeap
+{
+	/* Constant variables */
+	private static final int DEFAULT_CAPACITY = 64;
+	
+	/* Local variables */
+	private int[] mNodes;
+	private float[] mCosts;
+	private int mSize;
+	
+	/** Default Constructor. */
+	MinHeap()
+	{
+		mNodes = new int[DEFAULT_CAPACITY];
+		mCosts = new float[DEFAULT_CAPACITY];
+		mSize = 0;
+	}
+	
+	/**
+	 * Add node.
+	 * @param node Node
+	 * @param cost Cost to order by
+	 */
+	void Push(int node, float cost)
+	{
+		if (mSize == mNodes.length)
+		{
+			mNodes = Arrays.copyOf(mNodes, mSize * 2);
+			mCosts = Arrays.copyOf(mCosts, mSize * 2);
+		}
+		
+		/* Sift up */
+		int i = mSize++;
+		while (i > 0)
+		{
+			int parent = (i - 1) >> 1;
+			if (mCosts[parent] <= cost)
+				break;
+			mNodes[i] = mNodes[parent];
+			mCosts[i] = mCosts[parent];
+			i = parent;
+		}
+		mNodes[i] = node;
+		mCosts[i] = cost;
+	}
+	
+	/**
+	 * Remove lowest cost node. Read its cost with <code>PeekCost()</code> first.
+	 * @return Node
+	 */
+	int Pop()
+	{
+		int top = mNodes[0];
+		int node = mNodes[--mSize];
+		float cost = mCosts[mSize];
+		
+		/* Sift down */
+		int i = 0;
+		while (true)
+		{
+			int child = 2 * i + 1;
+			if (child >= mSize)
+				break;
+			if (child + 1 < mSize && mCosts[child + 1] < mCosts[child])
+				child++;
+			if (cost <= mCosts[child])
+				break;
+			mNodes[i] = mNodes[child];
+			mCosts[i] = mCosts[child];
+			i = child;
+		}
+		mNodes[i] = node;
+		mCosts[i] = cost;
+		return top;
+	}
+	
+	/**
+	 * @return Cost of lowest cost node
+	 */
+	float PeekCost()
+	{
+		return mCosts[0];
+	}
+	
+	boolean IsEmpty()
+	{
+		return mSize == 0;
+	}
+	
+	void Clear()
+	{
+		mSize = 0;
+	}
+}
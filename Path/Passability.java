@@ -0,0 +1,46 @@
+package path;
+
+/*****************************************************************************
+ * This <code>Passability</code> interface tells path finding which tiles
+ * of a map can be walked on. Wrap the map's <code>Tile.TileSet</code> in
+ * it. Tile (0, 0) is the lower left tile, its lower left corner at
+ * (<code>GetLeft()</code>, <code>GetBottom()</code>).
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public interface Passability
+{
+	/**
+	 * @return Number of tile columns
+	 */
+	public int GetColumns();
+	
+	/**
+	 * @return Number of tile rows
+	 */
+	public int GetRows();
+	
+	/**
+	 * @return Width and height of a tile
+	 */
+	public float GetTileSize();
+	
+	/**
+	 * @return x-coordinate of left edge of tile column 0
+	 */
+	public float GetLeft();
+	
+	/**
+	 * @return y-coordinate of bottom edge of tile row 0
+	 */
+	public float GetBottom();
+	
+	/**
+	 * @param col Tile column, inside the map
+	 * @param row Tile row, inside the map
+	 * @return True = tile can be walked on
+	 */
+	public boolean IsPassable(int col, int row);
+}
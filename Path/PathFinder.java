@@ -0,0 +1,639 @@
+package path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*****************************************************************************
+ * This <code>PathFinder</code> class finds walking routes around walls for
+ * scripted moves (see <code>Character.SetPathFinder()</code>).
+ *
+ * The map is cut into square clusters of tiles. Inside each cluster, tiles
+ * connected without leaving it form a region, and regions touching across
+ * a cluster border are linked. A route is first searched over regions,
+ * which are few, then over tiles, only inside the regions on that route.
+ * Long routes stay cheap since the tile search never wanders across the
+ * rest of the map.
+ *
+ * Routes are cached by start and goal tile, least recently used dropped
+ * first, so a scripted scene run again costs nothing after the first run.
+ * Goals that cannot be reached are cached too.
+ * Call <code>Invalidate()</code> when the map changes (e.g. a door opens),
+ * it rebuilds the regions and empties the cache.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class PathFinder
+{
+	/* Constant variables */
+	public static final int DEFAULT_CLUSTER_SIZE = 8;		// Tiles per cluster side
+	public static final int DEFAULT_CACHE_SIZE = 64;		// Routes cached
+	private static final float DIAGONAL_COST = 1.4142135f;
+	private static final float SAMPLE_STEP = 0.25f;		// Straight line check step, in tiles
+	private static final float MARGIN = 0.3f;			// Straight line check room from walls, in tiles
+	private static final int[] NO_ROUTE = new int[0];	// Cached for goals with no route
+	
+	/* Directions: E, NE, N, NW, W, SW, S, SE */
+	private static final int[] DIR_COL = { 1, 1, 0, -1, -1, -1, 0, 1 };
+	private static final int[] DIR_ROW = { 0, 1, 1, 1, 0, -1, -1, -1 };
+	
+	/* Local variables */
+	private Passability mGrid;				// Tiles to search
+	private int mColumns;					// Size of tile arrays
+	private int mRows;
+	private int mClusterSize;				// Tiles per cluster side
+	private boolean mDirty;					// Rebuild regions before next search
+	private Map<Long, int[]> mCache;		// Turning tiles of route, by start and goal tile
+	private int mCacheHits;					// Routes found in cache
+	private int mSearchCount;				// Routes searched
+	private int mPathCount;					// Coordinates in route last found
+	
+	/* Region variables, by region */
+	private int[] mTileRegion;				// Region of each tile, -1 if blocked
+	private int mRegionCount;
+	private float[] mRegionCol;				// Middle of region, in tiles
+	private float[] mRegionRow;
+	private int[][] mRegionLinks;			// Regions linked across cluster borders
+	private float[] mRegionCost;			// Search cost
+	private int[] mRegionParent;			// Region reached from
+	private int[] mRegionStamp;				// Search that reached region
+	private MinHeap mRegionQueue;
+	
+	/* Tile variables, by tile (row * columns + col) */
+	private float[] mCost;					// Search cost
+	private int[] mParent;					// Tile reached from
+	private int[] mStamp;					// Search that reached tile
+	private int mSearch;					// Current search
+	private MinHeap mQueue;
+	
+	/**
+	 * Constructor, with default cluster and cache size.
+	 * @param grid Tiles to search
+	 */
+	public PathFinder(Passability grid)
+	{
+		this(grid, DEFAULT_CLUSTER_SIZE, DEFAULT_CACHE_SIZE);
+	}
+	
+	/**
+	 * Constructor.
+	 * @param grid Tiles to search
+	 * @param clusterSize Tiles per cluster side
+	 * @param cacheSize Number of routes cached
+	 */
+	public PathFinder(Passability grid, int clusterSize, final int cacheSize)
+	{
+		mGrid = grid;
+		mClusterSize = Math.max(1, clusterSize);
+		mDirty = true;
+		mCacheHits = 0;
+		mSearchCount = 0;
+		mPathCount = 0;
+		mSearch = 0;
+		mRegionQueue = new MinHeap();
+		mQueue = new MinHeap();
+		
+		/* Access ordered, so eldest entry is the least recently used */
+		mCache = new LinkedHashMap<Long, int[]>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest)
+			{
+				return size() > cacheSize;
+			}
+		};
+	}
+	
+	/**
+	 * Find walking route between two coordinates.
+	 * @param fromX x-coordinate to start from
+	 * @param fromY y-coordinate to start from
+	 * @param toX x-coordinate to go to
+	 * @param toY y-coordinate to go to
+	 * @return Coordinates to walk to in turn, as x, y pairs ending with (toX, toY).
+	 * 		   Null if either end is outside the map or blocked, or no route joins them.
+	 */
+	public float[] FindPath(float fromX, float fromY, float toX, float toY)
+	{
+		return FindPath(fromX, fromY, toX, toY, null);
+	}
+	
+	/**
+	 * Find walking route between two coordinates, into given array so moving
+	 * again allocates nothing. A route found in cache is only copied.
+	 * @param fromX x-coordinate to start from
+	 * @param fromY y-coordinate to start from
+	 * @param toX x-coordinate to go to
+	 * @param toY y-coordinate to go to
+	 * @param path Array to write coordinates to walk to in turn into, as x, y pairs ending
+	 * 			   with (toX, toY). A new array is used if route does not fit, or if null.
+	 * @return Array route was written into, null if either end is outside the map or
+	 * 		   blocked, or no route joins them. <code>GetPathCount()</code> is the number
+	 * 		   of coordinates written.
+	 */
+	public float[] FindPath(float fromX, float fromY, float toX, float toY, float[] path)
+	{
+		mPathCount = 0;
+		if (mDirty)
+			Build();
+		
+		int start = TileAt(fromX, fromY);
+		int goal = TileAt(toX, toY);
+		if (start < 0 || goal < 0 || mTileRegion[start] < 0 || mTileRegion[goal] < 0)
+			return null;
+		
+		Long key = Long.valueOf(((long)start << 32) | (goal & 0xffffffffL));
+		int[] turns = mCache.get(key);
+		if (turns != null)
+		{
+			mCacheHits++;
+		}
+		else
+		{
+			turns = Search(start, goal);
+			if (turns == null)
+				turns = NO_ROUTE;
+			mCache.put(key, turns);
+		}
+		if (turns == NO_ROUTE)
+			return null;
+		
+		/* Route was smoothed between tile centers, also walk through the start and
+		   goal tile centers where the exact coordinates cannot see the route */
+		float size = mGrid.GetTileSize();
+		float fromCol = (fromX - mGrid.GetLeft()) / size;
+		float fromRow = (fromY - mGrid.GetBottom()) / size;
+		int first = turns.length > 0 ? turns[0] : goal;
+		boolean viaStart = !IsClear(fromCol, fromRow, first % mColumns + 0.5f, first / mColumns + 0.5f);
+		
+		float lastCol = fromCol;
+		float lastRow = fromRow;
+		if (turns.length > 0 || viaStart)
+		{
+			int last = turns.length > 0 ? turns[turns.length - 1] : start;
+			lastCol = last % mColumns + 0.5f;
+			lastRow = last / mColumns + 0.5f;
+		}
+		boolean viaGoal = !IsClear(lastCol, lastRow, (toX - mGrid.GetLeft()) / size, (toY - mGrid.GetBottom()) / size);
+		
+		int count = turns.length + 1 + (viaStart ? 1 : 0) + (viaGoal ? 1 : 0);
+		if (path == null || path.length < count * 2)
+			path = new float[count * 2];
+		
+		/* Tile centers, then exact goal */
+		int index = 0;
+		if (viaStart)
+			index = PutCenter(path, index, start);
+		for (int i = 0; i < turns.length; i++)
+			index = PutCenter(path, index, turns[i]);
+		if (viaGoal)
+			index = PutCenter(path, index, goal);
+		path[index] = toX;
+		path[index + 1] = toY;
+		mPathCount = count;
+		return path;
+	}
+	
+	/**
+	 * @return Number of coordinates in route last found, 0 if it was not found
+	 */
+	public int GetPathCount()
+	{
+		return mPathCount;
+	}
+	
+	/**
+	 * Map changed, rebuild regions and forget cached routes.
+	 */
+	public void Invalidate()
+	{
+		mDirty = true;
+		mCache.clear();
+	}
+	
+	/**
+	 * @return Number of routes found in cache
+	 */
+	public int GetCacheHits()
+	{
+		return mCacheHits;
+	}
+	
+	/**
+	 * @return Number of routes searched, not found in cache
+	 */
+	public int GetSearchCount()
+	{
+		return mSearchCount;
+	}
+	
+	/**
+	 * @return Number of regions, the nodes of the coarse search
+	 */
+	public int GetRegionCount()
+	{
+		if (mDirty)
+			Build();
+		return mRegionCount;
+	}
+	
+	/**
+	 * Search route over regions, then over tiles in those regions.
+	 * @param start Start tile
+	 * @param goal Goal tile
+	 * @return Tiles where route turns, after start up to goal tile (exclusive),
+	 * 		   null if no route
+	 */
+	private int[] Search(int start, int goal)
+	{
+		mSearchCount++;
+		if (mSearch == Integer.MAX_VALUE)
+		{
+			Arrays.fill(mStamp, 0);
+			Arrays.fill(mRegionStamp, 0);
+			mSearch = 0;
+		}
+		mSearch++;
+		
+		/* Regions on route are marked with this search */
+		if (!SearchRegions(mTileRegion[start], mTileRegion[goal]))
+			return null;
+		
+		/* A* over tiles, only in marked regions */
+		int goalCol = goal % mColumns;
+		int goalRow = goal / mColumns;
+		mQueue.Clear();
+		mStamp[start] = mSearch;
+		mCost[start] = 0f;
+		mParent[start] = -1;
+		mQueue.Push(start, Heuristic(start % mColumns, start / mColumns, goalCol, goalRow));
+		
+		boolean found = false;
+		while (!mQueue.IsEmpty())
+		{
+			float estimate = mQueue.PeekCost();
+			int tile = mQueue.Pop();
+			int col = tile % mColumns;
+			int row = tile / mColumns;
+			float cost = mCost[tile];
+			
+			/* Already reached for less */
+			if (estimate > cost + Heuristic(col, row, goalCol, goalRow) + 0.001f)
+				continue;
+			if (tile == goal)
+			{
+				found = true;
+				break;
+			}
+			
+			for (int d = 0; d < 8; d++)
+			{
+				int nextCol = col + DIR_COL[d];
+				int nextRow = row + DIR_ROW[d];
+				if (nextCol < 0 || nextCol >= mColumns || nextRow < 0 || nextRow >= mRows)
+					continue;
+				int next = nextRow * mColumns + nextCol;
+				if (!IsOnRoute(next))
+					continue;
+				
+				/* Diagonal, do not cut wall corners */
+				boolean diagonal = (d & 1) != 0;
+				if (diagonal && (!IsOnRoute(row * mColumns + nextCol) || !IsOnRoute(nextRow * mColumns + col)))
+					continue;
+				
+				float nextCost = cost + (diagonal ? DIAGONAL_COST : 1f);
+				if (mStamp[next] == mSearch && mCost[next] <= nextCost)
+					continue;
+				
+				mStamp[next] = mSearch;
+				mCost[next] = nextCost;
+				mParent[next] = tile;
+				mQueue.Push(next, nextCost + Heuristic(nextCol, nextRow, goalCol, goalRow));
+			}
+		}
+		if (!found)
+			return null;
+		
+		/* Walk back from goal, keeping tiles where direction changes */
+		ArrayList<Integer> turns = new ArrayList<Integer>();
+		int tile = goal;
+		int lastStep = 0;						// Steps are never (0, 0)
+		while (mParent[tile] != -1)
+		{
+			int parent = mParent[tile];
+			int step = (tile % mColumns - parent % mColumns) * 3 + (tile / mColumns - parent / mColumns);
+			if (tile != goal && step != lastStep)
+				turns.add(Integer.valueOf(tile));
+			lastStep = step;
+			tile = parent;
+		}
+		
+		/* Skip turns seen in a straight line from the last one kept, goal is never kept */
+		turns.add(0, Integer.valueOf(goal));
+		turns.add(Integer.valueOf(start));
+		ArrayList<Integer> kept = new ArrayList<Integer>();
+		int from = turns.size() - 1;
+		while (from > 0)
+		{
+			int to = from - 1;
+			while (to > 0 && IsClear(turns.get(from).intValue(), turns.get(to - 1).intValue()))
+				to--;
+			if (to > 0)
+				kept.add(turns.get(to));
+			from = to;
+		}
+		
+		int[] result = new int[kept.size()];
+		for (int i = 0; i < result.length; i++)
+			result[i] = kept.get(i).intValue();
+		return result;
+	}
+	
+	/**
+	 * Write tile center into route.
+	 * @param path Route
+	 * @param index Index to write x-coordinate at
+	 * @param tile Tile
+	 * @return Index after coordinate
+	 */
+	private int PutCenter(float[] path, int index, int tile)
+	{
+		float size = mGrid.GetTileSize();
+		path[index] = mGrid.GetLeft() + (tile % mColumns + 0.5f) * size;
+		path[index + 1] = mGrid.GetBottom() + (tile / mColumns + 0.5f) * size;
+		return index + 2;
+	}
+	
+	/**
+	 * Check straight walk between tile centers, keeping a margin from walls
+	 * so corners are not cut.
+	 * @param from Tile
+	 * @param to Tile
+	 * @return True = every tile near the line is walkable
+	 */
+	private boolean IsClear(int from, int to)
+	{
+		return IsClear(from % mColumns + 0.5f, from / mColumns + 0.5f, to % mColumns + 0.5f, to / mColumns + 0.5f);
+	}
+	
+	/**
+	 * Check straight walk between two points, keeping a margin from walls.
+	 * @param fromCol Column to start from, in tiles with fraction
+	 * @param fromRow Row to start from
+	 * @param toCol Column to go to
+	 * @param toRow Row to go to
+	 * @return True = every tile near the line is walkable
+	 */
+	private boolean IsClear(float fromCol, float fromRow, float toCol, float toRow)
+	{
+		float dx = toCol - fromCol;
+		float dy = toRow - fromRow;
+		int samples = (int)Math.ceil(Math.max(Math.abs(dx), Math.abs(dy)) / SAMPLE_STEP);
+		for (int i = 1; i < samples; i++)
+		{
+			float col = fromCol + dx * i / samples;
+			float row = fromRow + dy * i / samples;
+			int left = (int)Math.floor(col - MARGIN);
+			int right = (int)Math.floor(col + MARGIN);
+			int bottom = (int)Math.floor(row - MARGIN);
+			int top = (int)Math.floor(row + MARGIN);
+			if (!IsWalkable(left, bottom) || !IsWalkable(right, bottom) || !IsWalkable(left, top) || !IsWalkable(right, top))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private boolean IsWalkable(int col, int row)
+	{
+		return col >= 0 && col < mColumns && row >= 0 && row < mRows && mTileRegion[row * mColumns + col] >= 0;
+	}
+	
+	/**
+	 * A* over regions. Marks regions on route with current search.
+	 * @param start Start region
+	 * @param goal Goal region
+	 * @return True = route found
+	 */
+	private boolean SearchRegions(int start, int goal)
+	{
+		mRegionQueue.Clear();
+		mRegionStamp[start] = mSearch;
+		mRegionCost[start] = 0f;
+		mRegionParent[start] = -1;
+		mRegionQueue.Push(start, RegionHeuristic(start, goal));
+		
+		boolean found = false;
+		while (!mRegionQueue.IsEmpty())
+		{
+			float estimate = mRegionQueue.PeekCost();
+			int region = mRegionQueue.Pop();
+			float cost = mRegionCost[region];
+			if (estimate > cost + RegionHeuristic(region, goal) + 0.001f)
+				continue;
+			if (region == goal)
+			{
+				found = true;
+				break;
+			}
+			
+			int[] links = mRegionLinks[region];
+			for (int i = 0; i < links.length; i++)
+			{
+				int next = links[i];
+				float nextCost = cost + RegionHeuristic(region, next);
+				if (mRegionStamp[next] == mSearch && mRegionCost[next] <= nextCost)
+					continue;
+				
+				mRegionStamp[next] = mSearch;
+				mRegionCost[next] = nextCost;
+				mRegionParent[next] = region;
+				mRegionQueue.Push(next, nextCost + RegionHeuristic(next, goal));
+			}
+		}
+		if (!found)
+			return false;
+		
+		/* Mark route, other regions reached are unmarked */
+		for (int region = 0; region < mRegionCount; region++)
+		{
+			if (mRegionStamp[region] == mSearch)
+				mRegionStamp[region] = mSearch - 1;
+		}
+		for (int region = goal; region != -1; region = mRegionParent[region])
+			mRegionStamp[region] = mSearch;
+		return true;
+	}
+	
+	/**
+	 * Cut map into regions: tiles in a cluster connected without leaving it.
+	 */
+	private void Build()
+	{
+		mDirty = false;
+		mColumns = mGrid.GetColumns();
+		mRows = mGrid.GetRows();
+		int tiles = mColumns * mRows;
+		mCost = new float[tiles];
+		mParent = new int[tiles];
+		mStamp = new int[tiles];
+		mTileRegion = new int[tiles];
+		Arrays.fill(mTileRegion, -1);
+		mSearch = 0;
+		
+		/* Flood fill each cluster */
+		ArrayList<float[]> middles = new ArrayList<float[]>();
+		int[] stack = new int[mClusterSize * mClusterSize];
+		for (int clusterRow = 0; clusterRow < mRows; clusterRow += mClusterSize)
+		{
+			for (int clusterCol = 0; clusterCol < mColumns; clusterCol += mClusterSize)
+			{
+				int endCol = Math.min(clusterCol + mClusterSize, mColumns);
+				int endRow = Math.min(clusterRow + mClusterSize, mRows);
+				for (int row = clusterRow; row < endRow; row++)
+				{
+					for (int col = clusterCol; col < endCol; col++)
+					{
+						int tile = row * mColumns + col;
+						if (mTileRegion[tile] >= 0 || !mGrid.IsPassable(col, row))
+							continue;
+						
+						int region = middles.size();
+						float sumCol = 0f;
+						float sumRow = 0f;
+						int count = 0;
+						int top = 0;
+						stack[top++] = tile;
+						mTileRegion[tile] = region;
+						while (top > 0)
+						{
+							int current = stack[--top];
+							int c = current % mColumns;
+							int r = current / mColumns;
+							sumCol += c;
+							sumRow += r;
+							count++;
+							
+							/* Straight neighbors only, diagonal steps need both anyway */
+							for (int d = 0; d < 8; d += 2)
+							{
+								int nextCol = c + DIR_COL[d];
+								int nextRow = r + DIR_ROW[d];
+								if (nextCol < clusterCol || nextCol >= endCol || nextRow < clusterRow || nextRow >= endRow)
+									continue;
+								int next = nextRow * mColumns + nextCol;
+								if (mTileRegion[next] >= 0 || !mGrid.IsPassable(nextCol, nextRow))
+									continue;
+								mTileRegion[next] = region;
+								stack[top++] = next;
+							}
+						}
+						middles.add(new float[] { sumCol / count, sumRow / count });
+					}
+				}
+			}
+		}
+		
+		mRegionCount = middles.size();
+		mRegionCol = new float[mRegionCount];
+		mRegionRow = new float[mRegionCount];
+		for (int region = 0; region < mRegionCount; region++)
+		{
+			mRegionCol[region] = middles.get(region)[0];
+			mRegionRow[region] = middles.get(region)[1];
+		}
+		mRegionCost = new float[mRegionCount];
+		mRegionParent = new int[mRegionCount];
+		mRegionStamp = new int[mRegionCount];
+		
+		/* Link regions meeting across a cluster border */
+		ArrayList<ArrayList<Integer>> links = new ArrayList<ArrayList<Integer>>(mRegionCount);
+		for (int region = 0; region < mRegionCount; region++)
+			links.add(new ArrayList<Integer>(4));
+		for (int row = 0; row < mRows; row++)
+		{
+			for (int col = 0; col < mColumns; col++)
+			{
+				int region = mTileRegion[row * mColumns + col];
+				if (region < 0)
+					continue;
+				if (col + 1 < mColumns)
+					Link(links, region, mTileRegion[row * mColumns + col + 1]);
+				if (row + 1 < mRows)
+					Link(links, region, mTileRegion[(row + 1) * mColumns + col]);
+			}
+		}
+		mRegionLinks = new int[mRegionCount][];
+		for (int region = 0; region < mRegionCount; region++)
+		{
+			ArrayList<Integer> list = links.get(region);
+			mRegionLinks[region] = new int[list.size()];
+			for (int i = 0; i < list.size(); i++)
+				mRegionLinks[region][i] = list.get(i).intValue();
+		}
+	}
+	
+	/**
+	 * Link two regions both ways, if they differ and are not linked yet.
+	 * @param links Links by region
+	 * @param a Region
+	 * @param b Neighboring tile's region, -1 if blocked
+	 */
+	private static void Link(ArrayList<ArrayList<Integer>> links, int a, int b)
+	{
+		if (b < 0 || a == b)
+			return;
+		Integer other = Integer.valueOf(b);
+		if (links.get(a).contains(other))
+			return;
+		links.get(a).add(other);
+		links.get(b).add(Integer.valueOf(a));
+	}
+	
+	/**
+	 * @param tile Tile
+	 * @return True = tile is walkable and in a region on current route
+	 */
+	private boolean IsOnRoute(int tile)
+	{
+		int region = mTileRegion[tile];
+		return region >= 0 && mRegionStamp[region] == mSearch;
+	}
+	
+	/**
+	 * Octile distance, the cost of walking straight there around no walls.
+	 */
+	private static float Heuristic(int col, int row, int goalCol, int goalRow)
+	{
+		int dx = Math.abs(goalCol - col);
+		int dy = Math.abs(goalRow - row);
+		return Math.max(dx, dy) + (DIAGONAL_COST - 1f) * Math.min(dx, dy);
+	}
+	
+	private float RegionHeuristic(int region, int goal)
+	{
+		float dx = mRegionCol[goal] - mRegionCol[region];
+		float dy = mRegionRow[goal] - mRegionRow[region];
+		return (float)Math.sqrt(dx * dx + dy * dy);
+	}
+	
+	/**
+	 * @param x x-coordinate
+	 * @param y y-coordinate
+	 * @return Tile at coordinate, -1 if outside map
+	 */
+	private int TileAt(float x, float y)
+	{
+		int col = (int)Math.floor((x - mGrid.GetLeft()) / mGrid.GetTileSize());
+		int row = (int)Math.floor((y - mGrid.GetBottom()) / mGrid.GetTileSize());
+		if (col < 0 || col >= mColumns || row < 0 || row >= mRows)
+			return -1;
+		return row * mColumns + col;
+	}
+}
@@ -0,0 +1,120 @@
+package tween;
+
+import java.util.ArrayList;
+
+/*****************************************************************************
+ * This <code>Completion</code> class is a handle to a running action, such
+ * as a camera effect or a Character move. It is completed on the step the
+ * action finishes, calling its listeners right then, so chained steps start
+ * without polling and without an extra frame in between.
+ *
+ * A completion is cancelled instead when its action is replaced before
+ * finishing (e.g. a new <code>MoveTo()</code>). Listeners are not called
+ * for cancelled completions.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class Completion
+{
+	/**
+	 * Told when a completion completes.
+	 */
+	public interface Listener
+	{
+		/**
+		 * Called on the step the action finishes.
+		 * @param completion Completed handle
+		 */
+		public void OnComplete(Completion completion);
+	}
+	
+	/* Completion states */
+	private static final int PENDING = 0;
+	private static final int DONE = 1;
+	private static final int CANCELLED = 2;
+	
+	/* Local variables */
+	private int mState;							// PENDING, DONE, or CANCELLED
+	private ArrayList<Listener> mListeners;		// Listeners to call, null if none
+	
+	/** Default Constructor, pending. */
+	public Completion()
+	{
+		mState = PENDING;
+		mListeners = null;
+	}
+	
+	/**
+	 * Call listener once action finishes, or right away if it already has.
+	 * @param listener Listener
+	 * @return This completion, to add more listeners
+	 */
+	public Completion Then(Listener listener)
+	{
+		if (mState == DONE)
+		{
+			listener.OnComplete(this);
+		}
+		else if (mState == PENDING)
+		{
+			if (mListeners == null)
+				mListeners = new ArrayList<Listener>(2);
+			mListeners.add(listener);
+		}
+		return this;
+	}
+	
+	/**
+	 * Mark action finished and call listeners. Does nothing if already settled.
+	 */
+	public void Complete()
+	{
+		if (mState != PENDING)
+			return;
+		mState = DONE;
+		
+		if (mListeners == null)
+			return;
+		ArrayList<Listener> listeners = mListeners;
+		mListeners = null;
+		for (int i = 0; i < listeners.size(); i++)
+			listeners.get(i).OnComplete(this);
+	}
+	
+	/**
+	 * Mark action replaced before finishing. Listeners are dropped.
+	 */
+	public void Cancel()
+	{
+		if (mState != PENDING)
+			return;
+		mState = CANCELLED;
+		mListeners = null;
+	}
+	
+	/**
+	 * @return True = action finished
+	 */
+	public boolean IsDone()
+	{
+		return mState == DONE;
+	}
+	
+	/**
+	 * @return True = action was replaced before finishing
+	 */
+	public boolean IsCancelled()
+	{
+		return mState == CANCELLED;
+	}
+	
+	/**
+	 * @return True = neither finished nor cancelled yet
+	 */
+	public boolean IsPending()
+	{
+		return mState == PENDING;
+	}
+}
@@ -0,0 +1,44 @@
+package tween;
+
+/*****************************************************************************
+ * This <code>Easing</code> class holds the easing curves used by
+ * <code>TweenScheduler</code>. Curves are plain int constants so tweens can
+ * keep them in a primitive array.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public final class Easing
+{
+	/* Easing curves */
+	public static final int LINEAR = 0;			// Constant speed
+	public static final int EASE_IN = 1;		// Starts slow, ends fast
+	public static final int EASE_OUT = 2;		// Starts fast, ends slow
+	public static final int EASE_IN_OUT = 3;	// Starts and ends slow
+	
+	private Easing()
+	{
+	}
+	
+	/**
+	 * Apply easing curve to linear progress.
+	 * @param easing LINEAR, EASE_IN, EASE_OUT, or EASE_IN_OUT
+	 * @param t Linear progress (0 to 1)
+	 * @return Eased progress (0 to 1)
+	 */
+	public static float Apply(int easing, float t)
+	{
+		switch (easing)
+		{
+			case EASE_IN:
+				return t * t;
+			case EASE_OUT:
+				return t * (2 - t);
+			case EASE_IN_OUT:
+				return t * t * (3 - 2 * t);
+			default:
+				return t;
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package tween;
+
+/*****************************************************************************
+ * This <code>TweenListener</code> interface is told when a tween started
+ * by <code>TweenScheduler</code> reaches its end value.
+ * 
+ * @version	10/17/2026
+ * @since	10/17/2026
+ * 
+ *****************************************************************************/
+public interface TweenListener
+{
+	/**
+	 * Called on the step the tween finishes, after every tween has been stepped.
+	 * Starting new tweens from here is fine.
+	 * @param tween Handle of finished tween
+	 */
+	public void OnTweenDone(int tween);
+}
@@ -0,0 +1,261 @@
+package tween;
+
+/*****************************************************************************
+ * This <code>TweenScheduler</code> class runs tweens: a float going from a
+ * start value to an end value over a number of steps, along an easing
+ * curve (see <code>Easing</code>). Every active tween is advanced by one
+ * <code>Step()</code> in a single loop over primitive arrays. Tween slots are
+ * pooled, so starting a tween does not allocate unless the pool has to grow.
+ *
+ * A tween is referred to by the int handle <code>Start()</code> returns.
+ * Handles of finished or cancelled tweens go stale once their slot is reused,
+ * so <code>IsActive()</code> and <code>Cancel()</code> are safe to call on
+ * old handles. A finished tween's value can still be read through the step
+ * it finished on.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class TweenScheduler
+{
+	/* Constant variables */
+	public static final int NONE = -1;				// Handle of no tween
+	private static final int DEFAULT_CAPACITY = 16;	// Starting pool size
+	private static final int SLOT_BITS = 16;		// Handle bits used by slot
+	private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+	private static final int MAX_CAPACITY = 1 << SLOT_BITS;
+	
+	/* Tween variables, by slot */
+	private float[] mFrom;				// Start value
+	private float[] mTo;				// End value
+	private float[] mValue;				// Current value
+	private int[] mDuration;			// Number of steps
+	private int[] mElapsed;				// Steps done
+	private int[] mEasing;				// Easing curve
+	private int[] mGeneration;			// Increases every time slot is reused
+	private int[] mActiveIndex;			// Index in mActive, -1 when not active
+	private TweenListener[] mListeners;	// Told when done, may be null
+	
+	/* Pool variables */
+	private int[] mActive;				// Active slots
+	private int mActiveCount;
+	private int[] mFree;				// Free slots
+	private int mFreeCount;
+	private int[] mDone;				// Slots finished last step, freed on next step
+	private int mDoneCount;
+	private int mCapacity;				// Number of slots
+	
+	/** Default Constructor. */
+	public TweenScheduler()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Constructor.
+	 * @param capacity Number of tweens to make room for
+	 */
+	public TweenScheduler(int capacity)
+	{
+		mCapacity = 0;
+		mActiveCount = 0;
+		mFreeCount = 0;
+		mDoneCount = 0;
+		Grow(Math.max(1, Math.min(capacity, MAX_CAPACITY)));
+	}
+	
+	/**
+	 * Start a tween.
+	 * @param from Start value
+	 * @param to End value
+	 * @param steps Number of steps to reach end value (at least 1)
+	 * @param easing Easing curve, see <code>Easing</code>
+	 * @param listener Told when tween is done, null for none
+	 * @return Tween handle
+	 */
+	public int Start(float from, float to, int steps, int easing, TweenListener listener)
+	{
+		if (mFreeCount == 0)
+		{
+			if (mCapacity == MAX_CAPACITY)
+				throw new IllegalStateException("Too many tweens running");
+			Grow(Math.min(mCapacity * 2, MAX_CAPACITY));
+		}
+		
+		int slot = mFree[--mFreeCount];
+		mGeneration[slot] = (mGeneration[slot] + 1) & (Integer.MAX_VALUE >> SLOT_BITS);
+		mFrom[slot] = from;
+		mTo[slot] = to;
+		mValue[slot] = from;
+		mDuration[slot] = Math.max(1, steps);
+		mElapsed[slot] = 0;
+		mEasing[slot] = easing;
+		mListeners[slot] = listener;
+		
+		mActiveIndex[slot] = mActiveCount;
+		mActive[mActiveCount++] = slot;
+		return (mGeneration[slot] << SLOT_BITS) | slot;
+	}
+	
+	/**
+	 * Advance every active tween by one step. Tweens reaching their end value
+	 * are done, and their listeners are told once all tweens have stepped.
+	 */
+	public void Step()
+	{
+		/* Free slots of tweens done last step */
+		for (int i = 0; i < mDoneCount; i++)
+			mFree[mFreeCount++] = mDone[i];
+		mDoneCount = 0;
+		
+		int i = 0;
+		while (i < mActiveCount)
+		{
+			int slot = mActive[i];
+			int elapsed = ++mElapsed[slot];
+			
+			/* Still running */
+			if (elapsed < mDuration[slot])
+			{
+				float t = Easing.Apply(mEasing[slot], (float)elapsed / mDuration[slot]);
+				mValue[slot] = mFrom[slot] + (mTo[slot] - mFrom[slot]) * t;
+				i++;
+				continue;
+			}
+			
+			/* Done, move last active tween into this index */
+			mValue[slot] = mTo[slot];
+			Deactivate(slot);
+			mDone[mDoneCount++] = slot;
+		}
+		
+		/* Tell listeners, they may start new tweens */
+		int doneCount = mDoneCount;
+		for (int d = 0; d < doneCount; d++)
+		{
+			int slot = mDone[d];
+			TweenListener listener = mListeners[slot];
+			if (listener != null)
+			{
+				mListeners[slot] = null;
+				listener.OnTweenDone((mGeneration[slot] << SLOT_BITS) | slot);
+			}
+		}
+	}
+	
+	/**
+	 * Stop a tween where it is. Its listener is not told.
+	 * @param tween Tween handle, stale handles are ignored
+	 */
+	public void Cancel(int tween)
+	{
+		if (!IsActive(tween))
+			return;
+		
+		int slot = tween & SLOT_MASK;
+		mListeners[slot] = null;
+		Deactivate(slot);
+		mDone[mDoneCount++] = slot;
+	}
+	
+	/**
+	 * @param tween Tween handle
+	 * @return True = tween is still running
+	 */
+	public boolean IsActive(int tween)
+	{
+		if (tween < 0)
+			return false;
+		int slot = tween & SLOT_MASK;
+		return slot < mCapacity && mActiveIndex[slot] >= 0 && ((mGeneration[slot] << SLOT_BITS) | slot) == tween;
+	}
+	
+	/**
+	 * @param tween Tween handle, running or finished this step
+	 * @return Current value of tween
+	 */
+	public float GetValue(int tween)
+	{
+		return mValue[tween & SLOT_MASK];
+	}
+	
+	/**
+	 * @return Number of running tweens
+	 */
+	public int GetActiveCount()
+	{
+		return mActiveCount;
+	}
+	
+	/** Cancel every running tween. */
+	public void Clear()
+	{
+		while (mActiveCount > 0)
+		{
+			int slot = mActive[mActiveCount - 1];
+			Cancel((mGeneration[slot] << SLOT_BITS) | slot);
+		}
+	}
+	
+	/**
+	 * Remove slot from active list, moving last active slot into its index.
+	 * @param slot Tween slot
+	 */
+	private void Deactivate(int slot)
+	{
+		int index = mActiveIndex[slot];
+		int last = mActive[--mActiveCount];
+		mActive[index] = last;
+		mActiveIndex[last] = index;
+		mActiveIndex[slot] = -1;
+	}
+	
+	/**
+	 * Grow pool to given number of slots. Only place that allocates.
+	 * @param capacity New number of slots
+	 */
+	private void Grow(int capacity)
+	{
+		mFrom = CopyOf(mFrom, capacity);
+		mTo = CopyOf(mTo, capacity);
+		mValue = CopyOf(mValue, capacity);
+		mDuration = CopyOf(mDuration, capacity);
+		mElapsed = CopyOf(mElapsed, capacity);
+		mEasing = CopyOf(mEasing, capacity);
+		mGeneration = CopyOf(mGeneration, capacity);
+		mActiveIndex = CopyOf(mActiveIndex, capacity);
+		mActive = CopyOf(mActive, capacity);
+		mFree = CopyOf(mFree, capacity);
+		mDone = CopyOf(mDone, capacity);
+		
+		TweenListener[] listeners = new TweenListener[capacity];
+		if (mListeners != null)
+			System.arraycopy(mListeners, 0, listeners, 0, mCapacity);
+		mListeners = listeners;
+		
+		/* New slots are free, lowest slot handed out first */
+		for (int slot = capacity - 1; slot >= mCapacity; slot--)
+		{
+			mActiveIndex[slot] = -1;
+			mFree[mFreeCount++] = slot;
+		}
+		mCapacity = capacity;
+	}
+	
+	private float[] CopyOf(float[] array, int capacity)
+	{
+		float[] copy = new float[capacity];
+		if (array != null)
+			System.arraycopy(array, 0, copy, 0, mCapacity);
+		return copy;
+	}
+	
+	private int[] CopyOf(int[] array, int capacity)
+	{
+		int[] copy = new int[capacity];
+		if (array != null)
+			System.arraycopy(array, 0, copy, 0, mCapacity);
+		return copy;
+	}
+}
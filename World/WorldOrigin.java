@@ -0,0 +1,221 @@
+package world;
+
+import java.util.ArrayList;
+
+import Character.Character;
+import camera.Camera;
+
+/*****************************************************************************
+ * This <code>WorldOrigin</code> class keeps game coordinates small on very
+ * large maps. A position is a whole chunk (long) plus a float offset from
+ * the origin chunk. All Characters, cameras, and etc. keep using plain float
+ * <code>Vector2</code> coordinates, which are offsets from the origin chunk.
+ * When the focus wanders past the rebase distance, the origin moves to the
+ * chunk under the focus, and every registered object is shifted back by the
+ * same amount. Floats near the focus then keep full precision however far
+ * the world reaches.
+ *
+ * Use <code>ToGlobalX()</code> and <code>ToGlobalY()</code> (doubles) to
+ * store or compare positions across rebases, e.g. in save games.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class WorldOrigin
+{
+	/**
+	 * Told when the origin moves, to shift coordinates kept outside of cameras
+	 * and Characters (e.g. <code>AssetPrefetcher</code>). A camera already shifts
+	 * its own <code>MapChunkCache</code>, so do not register that too.
+	 */
+	public interface Listener
+	{
+		/**
+		 * Origin moved by given amount, subtract it from every coordinate held.
+		 * @param dx Shift on x-axis
+		 * @param dy Shift on y-axis
+		 */
+		public void OnOriginShift(float dx, float dy);
+	}
+	
+	/* Local variables */
+	private float mChunkSize;						// Width and height of a chunk
+	private float mRebaseDistance;					// Focus distance from origin to rebase at
+	private long mChunkX;							// Origin chunk column
+	private long mChunkY;							// Origin chunk row
+	private ArrayList<Camera> mCameras;				// Cameras to shift
+	private ArrayList<Character> mCharacters;		// Characters to shift
+	private ArrayList<Listener> mListeners;			// Others to shift
+	
+	/**
+	 * Constructor, origin at chunk (0, 0).
+	 * @param chunkSize Width and height of a chunk, rebasing moves by whole chunks
+	 * @param rebaseDistance Focus distance from origin to rebase at
+	 */
+	public WorldOrigin(float chunkSize, float rebaseDistance)
+	{
+		mChunkSize = chunkSize;
+		mRebaseDistance = rebaseDistance;
+		mChunkX = 0;
+		mChunkY = 0;
+		mCameras = new ArrayList<Camera>();
+		mCharacters = new ArrayList<Character>();
+		mListeners = new ArrayList<Listener>();
+	}
+	
+	/**
+	 * Shift camera when origin moves, including its map chunk cache.
+	 * @param camera Camera
+	 */
+	public void Add(Camera camera)
+	{
+		if (!mCameras.contains(camera))
+			mCameras.add(camera);
+	}
+	
+	/**
+	 * Stop shifting camera.
+	 * @param camera Camera
+	 */
+	public void Remove(Camera camera)
+	{
+		mCameras.remove(camera);
+	}
+	
+	/**
+	 * Shift Character when origin moves, including where it is heading.
+	 * @param character Character
+	 */
+	public void Add(Character character)
+	{
+		if (!mCharacters.contains(character))
+			mCharacters.add(character);
+	}
+	
+	/**
+	 * Stop shifting Character.
+	 * @param character Character
+	 */
+	public void Remove(Character character)
+	{
+		mCharacters.remove(character);
+	}
+	
+	/**
+	 * Tell listener when origin moves.
+	 * @param listener Listener
+	 */
+	public void Add(Listener listener)
+	{
+		if (!mListeners.contains(listener))
+			mListeners.add(listener);
+	}
+	
+	/**
+	 * Stop telling listener.
+	 * @param listener Listener
+	 */
+	public void Remove(Listener listener)
+	{
+		mListeners.remove(listener);
+	}
+	
+	/**
+	 * Rebase if focus is past the rebase distance. Call once per frame, before
+	 * moving Characters and updating cameras.
+	 * @param focusX x-coordinate of focus
+	 * @param focusY y-coordinate of focus
+	 * @return True = origin moved
+	 */
+	public boolean Update(float focusX, float focusY)
+	{
+		if (Math.abs(focusX) < mRebaseDistance && Math.abs(focusY) < mRebaseDistance)
+			return false;
+		
+		Shift(Math.round(focusX / mChunkSize), Math.round(focusY / mChunkSize));
+		return true;
+	}
+	
+	/**
+	 * Move origin by whole chunks and shift every registered object back.
+	 * @param chunksX Chunks to move on x-axis
+	 * @param chunksY Chunks to move on y-axis
+	 */
+	public void Shift(long chunksX, long chunksY)
+	{
+		if (chunksX == 0 && chunksY == 0)
+			return;
+		
+		mChunkX += chunksX;
+		mChunkY += chunksY;
+		float dx = chunksX * mChunkSize;
+		float dy = chunksY * mChunkSize;
+		for (int i = 0; i < mCameras.size(); i++)
+			mCameras.get(i).ShiftOrigin(dx, dy);
+		for (int i = 0; i < mCharacters.size(); i++)
+			mCharacters.get(i).ShiftOrigin(dx, dy);
+		for (int i = 0; i < mListeners.size(); i++)
+			mListeners.get(i).OnOriginShift(dx, dy);
+	}
+	
+	/**
+	 * @param localX x-coordinate, offset from origin
+	 * @return Global x-coordinate
+	 */
+	public double ToGlobalX(float localX)
+	{
+		return mChunkX * (double)mChunkSize + localX;
+	}
+	
+	/**
+	 * @param localY y-coordinate, offset from origin
+	 * @return Global y-coordinate
+	 */
+	public double ToGlobalY(float localY)
+	{
+		return mChunkY * (double)mChunkSize + localY;
+	}
+	
+	/**
+	 * @param globalX Global x-coordinate
+	 * @return x-coordinate as offset from origin
+	 */
+	public float ToLocalX(double globalX)
+	{
+		return (float)(globalX - mChunkX * (double)mChunkSize);
+	}
+	
+	/**
+	 * @param globalY Global y-coordinate
+	 * @return y-coordinate as offset from origin
+	 */
+	public float ToLocalY(double globalY)
+	{
+		return (float)(globalY - mChunkY * (double)mChunkSize);
+	}
+	
+	/**
+	 * @return Origin chunk column
+	 */
+	public long GetChunkX()
+	{
+		return mChunkX;
+	}
+	
+	/**
+	 * @return Origin chunk row
+	 */
+	public long GetChunkY()
+	{
+		return mChunkY;
+	}
+	
+	/**
+	 * @return Width and height of a chunk
+	 */
+	public float GetChunkSize()
+	{
+		return mChunkSize;
+	}
+}
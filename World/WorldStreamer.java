@@ -0,0 +1,487 @@
+package world;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import camera.Camera;
+
+/*****************************************************************************
+ * This <code>WorldStreamer</code> class turns a grid of same-sized maps into
+ * one seamless world. Map (col, row) covers world coordinates from
+ * (col * mapWidth, row * mapHeight) to the next map over. Maps within
+ * <code>radius</code> maps of the focus are loaded on a background thread
+ * and attached on the game thread, at most a few per update so there is no
+ * frame spike. Maps more than <code>radius + 1</code> maps away are detached,
+ * the extra map keeps maps from loading and unloading at a border.
+ *
+ * The camera is kept inside the loaded maps around the focus map, so it
+ * never shows a map that has not arrived yet. Walking between maps needs no
+ * <code>FadeOut()</code> and load screen.
+ *
+ * @version	10/17/2026
+ * @since	10/17/2026
+ *
+ *****************************************************************************/
+public class WorldStreamer<T>
+{
+	/**
+	 * Loads, attaches, and detaches maps. T is the game's map type.
+	 */
+	public interface MapLoader<T>
+	{
+		/**
+		 * Load a map. Called on the background thread.
+		 * @param col Map column
+		 * @param row Map row
+		 * @return Loaded map, null if there is no map there
+		 */
+		public T Load(int col, int row);
+		
+		/**
+		 * Add a loaded map to the game (tiles, Characters, and etc.). Called on the game thread.
+		 * @param col Map column
+		 * @param row Map row
+		 * @param map Loaded map
+		 */
+		public void Attach(int col, int row, T map);
+		
+		/**
+		 * Remove a map from the game. Called on the game thread.
+		 * @param col Map column
+		 * @param row Map row
+		 * @param map Attached map
+		 */
+		public void Detach(int col, int row, T map);
+		
+		/**
+		 * Free a loaded map that is never attached: it went out of range while
+		 * loading, or <code>Start()</code> loaded it again meanwhile. Called on the
+		 * game thread.
+		 * @param col Map column
+		 * @param row Map row
+		 * @param map Loaded map
+		 */
+		public void Release(int col, int row, T map);
+	}
+	
+	/** A map loaded on the background thread, waiting to be attached. */
+	private static class Loaded<T>
+	{
+		Long key;
+		int col;
+		int row;
+		T map;
+		boolean failed;		// Load threw, map is requested again later
+	}
+	
+	/* Constant variables */
+	private static final int MAX_ATTACH_PER_UPDATE = 1;	// Maps attached per update
+	
+	/* Map states */
+	private static final int LOADING = 0;		// Sent to background thread
+	private static final int ATTACHED = 1;		// Added to game
+	private static final int EMPTY = 2;			// No map there
+	
+	/* Local variables */
+	private MapLoader<T> mLoader;				// Loads maps
+	private float mMapWidth;					// Width of every map
+	private float mMapHeight;					// Height of every map
+	private int mRadius;						// Maps to keep loaded around focus map
+	private int mMaxAttachPerUpdate;			// Maps attached per update
+	private HashMap<Long, Integer> mStates;		// Map states, by map
+	private HashMap<Long, T> mMaps;				// Attached maps, by map
+	private ConcurrentLinkedQueue<Loaded<T>> mArrived;	// Loaded maps to attach
+	private ExecutorService mExecutor;			// Background loading thread
+	private int mFocusCol;						// Map focus is on
+	private int mFocusRow;
+	private boolean mBoundsDirty;				// Camera bounds need to be set
+	private WorldOrigin mOrigin;				// Floating origin, null if none
+	
+	/**
+	 * Constructor.
+	 * @param loader Loads, attaches, and detaches maps
+	 * @param mapWidth Width of every map
+	 * @param mapHeight Height of every map
+	 * @param radius Number of maps to keep loaded around focus map (1 = neighbors)
+	 */
+	public WorldStreamer(MapLoader<T> loader, float mapWidth, float mapHeight, int radius)
+	{
+		mLoader = loader;
+		mMapWidth = mapWidth;
+		mMapHeight = mapHeight;
+		mRadius = radius;
+		mMaxAttachPerUpdate = MAX_ATTACH_PER_UPDATE;
+		mStates = new HashMap<Long, Integer>();
+		mMaps = new HashMap<Long, T>();
+		mArrived = new ConcurrentLinkedQueue<Loaded<T>>();
+		mExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			public Thread newThread(Runnable r)
+			{
+				Thread thread = new Thread(r, "WorldStreamer");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		mFocusCol = Integer.MIN_VALUE;
+		mFocusRow = Integer.MIN_VALUE;
+		mBoundsDirty = true;
+		mOrigin = null;
+	}
+	
+	/**
+	 * Use a floating origin. Coordinates passed in are then offsets from the origin,
+	 * and maps stay on the same global grid as the origin moves.
+	 * @param origin Floating origin, null for none
+	 */
+	public void SetOrigin(WorldOrigin origin)
+	{
+		mOrigin = origin;
+		mBoundsDirty = true;
+	}
+	
+	/**
+	 * Load and attach the map at given coordinate right away, e.g. when the game
+	 * starts or after teleporting. Neighbors stream in on following updates.
+	 * @param camera Camera to keep inside loaded maps
+	 * @param x x-coordinate of focus
+	 * @param y y-coordinate of focus
+	 */
+	public void Start(Camera camera, float x, float y)
+	{
+		int col = ColOf(x);
+		int row = RowOf(y);
+		Long key = MapKey(col, row);
+		Integer state = mStates.get(key);
+		if (state == null || state.intValue() == LOADING)
+			Attach(key, col, row, mLoader.Load(col, row));
+		Update(camera, x, y);
+	}
+	
+	/**
+	 * Stream maps around focus and keep camera inside loaded maps. Call once per
+	 * frame, before <code>Camera.UpdateCamera()</code>.
+	 * @param camera Camera to keep inside loaded maps
+	 * @param x x-coordinate of focus
+	 * @param y y-coordinate of focus
+	 */
+	public void Update(Camera camera, float x, float y)
+	{
+		/* Attach a few maps that finished loading */
+		for (int i = 0; i < mMaxAttachPerUpdate; i++)
+		{
+			Loaded<T> loaded = mArrived.poll();
+			if (loaded == null)
+				break;
+			
+			/* Map went out of range while loading, or was loaded again by Start() */
+			Integer state = mStates.get(loaded.key);
+			if (state == null || state.intValue() != LOADING)
+			{
+				if (loaded.map != null)
+					mLoader.Release(loaded.col, loaded.row, loaded.map);
+				continue;
+			}
+			
+			/* Load failed, forget map so it is requested again */
+			if (loaded.failed)
+			{
+				mStates.remove(loaded.key);
+				continue;
+			}
+			Attach(loaded.key, loaded.col, loaded.row, loaded.map);
+		}
+		
+		/* Focus moved to another map, request new maps and drop far ones */
+		int col = ColOf(x);
+		int row = RowOf(y);
+		if (col != mFocusCol || row != mFocusRow)
+		{
+			mFocusCol = col;
+			mFocusRow = row;
+			mBoundsDirty = true;
+			RequestAround(col, row);
+			DetachFar(col, row);
+		}
+		
+		if (mBoundsDirty)
+		{
+			mBoundsDirty = false;
+			SetCameraBounds(camera);
+		}
+	}
+	
+	/**
+	 * Set number of maps attached per update. More empties the queue faster, fewer
+	 * spreads attaching over more frames.
+	 * @param count Maps attached per update (at least 1)
+	 */
+	public void SetMaxAttachPerUpdate(int count)
+	{
+		mMaxAttachPerUpdate = Math.max(1, count);
+	}
+	
+	/**
+	 * @param col Map column
+	 * @param row Map row
+	 * @return Attached map, or null if not loaded (or no map there)
+	 */
+	public T GetMap(int col, int row)
+	{
+		return mMaps.get(MapKey(col, row));
+	}
+	
+	/**
+	 * @param col Map column
+	 * @param row Map row
+	 * @return True = map is attached
+	 */
+	public boolean IsAttached(int col, int row)
+	{
+		return mMaps.containsKey(MapKey(col, row));
+	}
+	
+	/**
+	 * @return Number of attached maps
+	 */
+	public int GetAttachedCount()
+	{
+		return mMaps.size();
+	}
+	
+	/**
+	 * @param x x-coordinate
+	 * @return Column of map at coordinate
+	 */
+	public int ColOf(float x)
+	{
+		if (mOrigin != null)
+			return (int)Math.floor(mOrigin.ToGlobalX(x) / mMapWidth);
+		return (int)Math.floor(x / mMapWidth);
+	}
+	
+	/**
+	 * @param y y-coordinate
+	 * @return Row of map at coordinate
+	 */
+	public int RowOf(float y)
+	{
+		if (mOrigin != null)
+			return (int)Math.floor(mOrigin.ToGlobalY(y) / mMapHeight);
+		return (int)Math.floor(y / mMapHeight);
+	}
+	
+	/** Detach every map, release maps not attached yet, and stop background thread. */
+	public void Unload()
+	{
+		mExecutor.shutdownNow();
+		for (Map.Entry<Long, T> entry : mMaps.entrySet())
+		{
+			long key = entry.getKey().longValue();
+			mLoader.Detach((int)(key >> 32), (int)key, entry.getValue());
+		}
+		mMaps.clear();
+		mStates.clear();
+		
+		/* Free maps loaded but not attached yet */
+		Loaded<T> loaded;
+		while ((loaded = mArrived.poll()) != null)
+		{
+			if (loaded.map != null)
+				mLoader.Release(loaded.col, loaded.row, loaded.map);
+		}
+	}
+	
+	/**
+	 * Request maps within radius of given map that are not loaded or loading.
+	 * @param col Map column
+	 * @param row Map row
+	 */
+	private void RequestAround(int col, int row)
+	{
+		for (int c = col - mRadius; c <= col + mRadius; c++)
+		{
+			for (int r = row - mRadius; r <= row + mRadius; r++)
+			{
+				final Long key = MapKey(c, r);
+				if (mStates.containsKey(key))
+					continue;
+				mStates.put(key, Integer.valueOf(LOADING));
+				
+				final int loadCol = c;
+				final int loadRow = r;
+				mExecutor.execute(new Runnable() {
+					public void run()
+					{
+						Loaded<T> loaded = new Loaded<T>();
+						loaded.key = key;
+						loaded.col = loadCol;
+						loaded.row = loadRow;
+						try
+						{
+							loaded.map = mLoader.Load(loadCol, loadRow);
+						}
+						catch (RuntimeException e)
+						{
+							loaded.failed = true;
+						}
+						mArrived.add(loaded);
+					}
+				});
+			}
+		}
+	}
+	
+	/**
+	 * Detach maps more than radius + 1 maps away from given map. Maps still loading
+	 * that far away are released when they arrive.
+	 * @param col Map column
+	 * @param row Map row
+	 */
+	private void DetachFar(int col, int row)
+	{
+		int keep = mRadius + 1;
+		Iterator<Map.Entry<Long, Integer>> it = mStates.entrySet().iterator();
+		while (it.hasNext())
+		{
+			Map.Entry<Long, Integer> entry = it.next();
+			long key = entry.getKey().longValue();
+			int c = (int)(key >> 32);
+			int r = (int)key;
+			if (Math.abs(c - col) <= keep && Math.abs(r - row) <= keep)
+				continue;
+			
+			it.remove();
+			T map = mMaps.remove(entry.getKey());
+			if (map != null)
+				mLoader.Detach(c, r, map);
+		}
+	}
+	
+	/**
+	 * Attach a loaded map.
+	 * @param key Map key
+	 * @param col Map column
+	 * @param row Map row
+	 * @param map Loaded map, null if there is no map there
+	 */
+	private void Attach(Long key, int col, int row, T map)
+	{
+		if (map == null)
+		{
+			mStates.put(key, Integer.valueOf(EMPTY));
+			return;
+		}
+		mStates.put(key, Integer.valueOf(ATTACHED));
+		mMaps.put(key, map);
+		mLoader.Attach(col, row, map);
+		
+		/* A map near focus arrived, camera may go further */
+		if (Math.abs(col - mFocusCol) <= mRadius && Math.abs(row - mFocusRow) <= mRadius)
+			mBoundsDirty = true;
+	}
+	
+	/**
+	 * Keep camera inside a rectangle of attached maps around focus map. The
+	 * rectangle grows one side at a time, only by a whole column or row of
+	 * attached maps, so a corner map is only inside once it is attached too.
+	 * Nothing changes while focus map itself is not attached.
+	 * @param camera Camera
+	 */
+	private void SetCameraBounds(Camera camera)
+	{
+		if (!IsAttached(mFocusCol, mFocusRow))
+			return;
+		
+		int left = mFocusCol;
+		int right = mFocusCol;
+		int bottom = mFocusRow;
+		int top = mFocusRow;
+		boolean grown = true;
+		while (grown)
+		{
+			grown = false;
+			if (left > mFocusCol - mRadius && IsColumnAttached(left - 1, bottom, top))
+			{
+				left--;
+				grown = true;
+			}
+			if (right < mFocusCol + mRadius && IsColumnAttached(right + 1, bottom, top))
+			{
+				right++;
+				grown = true;
+			}
+			if (bottom > mFocusRow - mRadius && IsRowAttached(bottom - 1, left, right))
+			{
+				bottom--;
+				grown = true;
+			}
+			if (top < mFocusRow + mRadius && IsRowAttached(top + 1, left, right))
+			{
+				top++;
+				grown = true;
+			}
+		}
+		
+		float boundsLeft = left * mMapWidth;
+		float boundsBottom = bottom * mMapHeight;
+		if (mOrigin != null)
+		{
+			boundsLeft = mOrigin.ToLocalX(left * (double)mMapWidth);
+			boundsBottom = mOrigin.ToLocalY(bottom * (double)mMapHeight);
+		}
+		float boundsWidth = (right - left + 1) * mMapWidth;
+		float boundsHeight = (top - bottom + 1) * mMapHeight;
+		if (boundsLeft != camera.GetMapLeft() || boundsBottom != camera.GetMapBottom() ||
+			boundsWidth != camera.GetMapWidth() || boundsHeight != camera.GetMapHeight())
+		{
+			camera.SetMapBounds(boundsLeft, boundsBottom, boundsWidth, boundsHeight);
+		}
+	}
+	
+	/**
+	 * @param col Map column
+	 * @param bottom First map row
+	 * @param top Last map row
+	 * @return True = every map in column from bottom to top is attached
+	 */
+	private boolean IsColumnAttached(int col, int bottom, int top)
+	{
+		for (int row = bottom; row <= top; row++)
+		{
+			if (!IsAttached(col, row))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * @param row Map row
+	 * @param left First map column
+	 * @param right Last map column
+	 * @return True = every map in row from left to right is attached
+	 */
+	private boolean IsRowAttached(int row, int left, int right)
+	{
+		for (int col = left; col <= right; col++)
+		{
+			if (!IsAttached(col, row))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * @param col Map column
+	 * @param row Map row
+	 * @return Key of map
+	 */
+	private static Long MapKey(int col, int row)
+	{
+		return Long.valueOf(((long)col << 32) | (row & 0xffffffffL));
+	}
+}